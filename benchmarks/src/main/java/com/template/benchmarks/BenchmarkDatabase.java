@@ -0,0 +1,111 @@
+package com.template.benchmarks;
+
+import com.template.Domain.Student;
+import com.template.repository.Repositories;
+import com.template.repository.sqlite.SQLiteStudentRepository;
+import com.template.util.DatabaseInitializer;
+import com.template.util.DatabaseUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Points the app (sms.db.path) at a benchmark database.
+// The student cache is off unless -Dsms.cache.students.enabled=true is passed, so services measure SQL.
+// Populated databases are built once per (rows, seed) and reused by later runs;
+// a ".complete" marker tells a finished build from an interrupted one.
+// Location: -Dbench.dataDir=... (default ./bench-data)
+public class BenchmarkDatabase {
+
+    private static final int BUILD_BATCH = 10_000;
+
+    private BenchmarkDatabase() {}
+
+    public static Path dataDir() throws Exception {
+        Path dir = Path.of(System.getProperty("bench.dataDir", "bench-data"));
+        Files.createDirectories(dir);
+        return dir;
+    }
+
+    // Database holding exactly `rows` synthetic students
+    public static Path populated(int rows) throws Exception {
+        Path db = dataDir().resolve("students_" + rows + "_" + SyntheticData.DEFAULT_SEED + ".db");
+        Path marker = Path.of(db + ".complete");
+
+        if (!Files.exists(marker)) {
+            deleteDatabase(db);
+        }
+
+        use(db);
+
+        if (!Files.exists(marker)) {
+            SQLiteStudentRepository repo = new SQLiteStudentRepository();
+            List<Student> batch = new ArrayList<>(BUILD_BATCH);
+
+            SyntheticData.forEachStudent(rows, SyntheticData.DEFAULT_SEED, s -> {
+                batch.add(s);
+                if (batch.size() == BUILD_BATCH) {
+                    save(repo, batch);
+                }
+            });
+            save(repo, batch);
+
+            // planner statistics for the real row counts
+            try (Connection conn = DatabaseUtil.connectWriter();
+                 Statement st = conn.createStatement()) {
+                st.execute("ANALYZE");
+            }
+            Files.createFile(marker);
+        }
+
+        return db;
+    }
+
+    // Fresh, empty database (schema only), e.g. as an import target
+    public static Path empty(String name) throws Exception {
+        Path db = dataDir().resolve(name + ".db");
+        deleteDatabase(db);
+        use(db);
+        return db;
+    }
+
+    public static void clearStudents() throws Exception {
+        try (Connection conn = DatabaseUtil.connectWriter();
+             Statement st = conn.createStatement()) {
+            st.execute("DELETE FROM students");
+        }
+    }
+
+    public static void close() {
+        DatabaseUtil.shutdown();
+    }
+
+    private static void use(Path db) {
+        DatabaseUtil.shutdown();   // drop a pool opened for another file
+        System.setProperty("sms.db.path", db.toString());
+        if (System.getProperty("sms.cache.students.enabled") == null) {
+            System.setProperty("sms.cache.students.enabled", "false");
+        }
+        Repositories.reset();      // shared repositories were built for the previous file
+        DatabaseInitializer.initialize();
+    }
+
+    private static void save(SQLiteStudentRepository repo, List<Student> batch) {
+        Map<Integer, String> failures = repo.saveAll(batch, BUILD_BATCH);
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Synthetic rows rejected: " + failures.values().iterator().next());
+        }
+        batch.clear();
+    }
+
+    private static void deleteDatabase(Path db) throws Exception {
+        DatabaseUtil.shutdown();
+        for (String suffix : new String[]{"", "-wal", "-shm", ".complete"}) {
+            Files.deleteIfExists(Path.of(db + suffix));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.template.benchmarks;
+
+import com.template.service.ImportExportService;
+import com.template.util.CsvRecordReader;
+import com.template.util.GzipUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Plain CSV against gzip (levels 1 / 6 / 9), both ways:
+//   exportFullStudentList - ImportExportService export from the 100k / 1M database
+//   readAllFields         - every field of a synthetic import file of the same size
+//                           (CsvRecordReader: memory-mapped file vs decompressed stream)
+// File sizes are printed after each iteration, so the speed/size trade-off is in one run.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    // "plain" or a gzip level
+    @Param({"plain", "1", "6", "9"})
+    public String compression;
+
+    private boolean gzip;
+    private Path importFile;
+    private ImportExportService service;
+    private final List<Path> exported = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        gzip = !compression.equals("plain");
+
+        Path csv = BenchmarkDatabase.dataDir().resolve("import_" + rows + "_" + SyntheticData.DEFAULT_SEED + ".csv");
+        if (!Files.exists(csv)) {
+            SyntheticData.writeCsv(csv, rows, SyntheticData.DEFAULT_SEED);
+        }
+
+        importFile = csv;
+        if (gzip) {
+            importFile = BenchmarkDatabase.dataDir().resolve(
+                    "import_" + rows + "_" + SyntheticData.DEFAULT_SEED + "_level" + compression + ".csv.gz");
+            if (!Files.exists(importFile)) {
+                try (Reader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+                     Writer out = GzipUtil.newWriter(importFile, Integer.parseInt(compression))) {
+                    in.transferTo(out);
+                }
+            }
+        }
+
+        // read when the service is created
+        System.setProperty("sms.export.gzipLevel", gzip ? compression : "1");
+
+        BenchmarkDatabase.populated(rows);
+        service = new ImportExportService();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteExports() throws Exception {
+        for (Path p : exported) {
+            System.out.println("export " + p.getFileName() + ": " + Files.size(p) + " bytes, import file: "
+                    + Files.size(importFile) + " bytes");
+            Files.deleteIfExists(p);
+        }
+        exported.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.close();
+    }
+
+    @Benchmark
+    public Path exportFullStudentList() {
+        Path out = service.exportFullStudentListCsv(gzip);
+        exported.add(out);
+        return out;
+    }
+
+    @Benchmark
+    public void readAllFields(Blackhole bh) throws Exception {
+        try (CsvRecordReader reader = CsvRecordReader.open(importFile)) {
+            while (reader.next()) {
+                for (int i = 0; i < reader.fieldCount(); i++) {
+                    bh.consume(reader.field(i));
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
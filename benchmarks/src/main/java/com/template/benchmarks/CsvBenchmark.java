@@ -0,0 +1,89 @@
+package com.template.benchmarks;
+
+import com.template.util.CsvUtil;
+import com.template.util.CsvWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// CSV encode/decode of a single student row (no I/O: output goes to a discarding Writer)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CsvBenchmark {
+
+    private static final String PLAIN_LINE =
+            "BS0000042,Ama Mensah,Computer Science,300,3.45,ama.mensah42@students.example.edu,0241234567,2023-05-14,Active";
+
+    private static final String QUOTED_LINE =
+            "BS0000043,\"Mensah, Ama \"\"Junior\"\"\",Computer Science,300,3.45,ama.mensah43@students.example.edu,0241234567,2023-05-14,Active";
+
+    private final List<String> row = List.of(
+            "BS0000042", "Mensah, Ama", "Computer Science", "300", "3.45",
+            "ama.mensah42@students.example.edu", "0241234567", "2023-05-14", "Active");
+
+    private BufferedWriter bufferedWriter;
+    private CsvWriter csvWriter;
+
+    @Setup
+    public void setup() {
+        bufferedWriter = new BufferedWriter(new NullWriter(), 64 * 1024);
+        csvWriter = new CsvWriter(new NullWriter());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        bufferedWriter.close();
+        csvWriter.close();
+    }
+
+    @Benchmark
+    public List<String> parseLinePlain() {
+        return CsvUtil.parseLine(PLAIN_LINE);
+    }
+
+    @Benchmark
+    public List<String> parseLineQuoted() {
+        return CsvUtil.parseLine(QUOTED_LINE);
+    }
+
+    @Benchmark
+    public void writeRow() throws Exception {
+        CsvUtil.writeRow(bufferedWriter, row);
+    }
+
+    @Benchmark
+    public void csvWriterRow() throws Exception {
+        csvWriter.field(row.get(0))
+                 .field(row.get(1))
+                 .field(row.get(2))
+                 .field(300)
+                 .field(3.45)
+                 .field(row.get(5))
+                 .field(row.get(6))
+                 .field(row.get(7))
+                 .field(row.get(8))
+                 .endRow();
+    }
+
+    @Benchmark
+    public void escape(Blackhole bh) {
+        for (int i = 0; i < row.size(); i++) {
+            bh.consume(CsvUtil.escape(row.get(i)));
+        }
+    }
+
+    // Accepts and drops everything
+    static class NullWriter extends Writer {
+        @Override public void write(char[] cbuf, int off, int len) {}
+        @Override public void flush() {}
+        @Override public void close() {}
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.template.benchmarks;
+
+import com.template.util.CsvRecordReader;
+import com.template.util.CsvUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Reading a whole synthetic import file: readLine + CsvUtil.parseLine (the old import path)
+// against CsvRecordReader, with every field decoded, boundaries only, and split over 4 threads.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvFileBenchmark {
+
+    private static final int THREADS = 4;
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private Path csv;
+    private ExecutorService pool;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        csv = BenchmarkDatabase.dataDir().resolve("import_" + rows + "_" + SyntheticData.DEFAULT_SEED + ".csv");
+        if (!Files.exists(csv)) {
+            SyntheticData.writeCsv(csv, rows, SyntheticData.DEFAULT_SEED);
+        }
+        pool = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public void readLineParseLine(Blackhole bh) throws Exception {
+        try (BufferedReader br = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                bh.consume(CsvUtil.parseLine(line));
+            }
+        }
+    }
+
+    @Benchmark
+    public void recordReaderAllFields(Blackhole bh) throws Exception {
+        try (CsvRecordReader reader = CsvRecordReader.open(csv)) {
+            decodeAll(reader, bh);
+        }
+    }
+
+    @Benchmark
+    public long recordReaderBoundaries() throws Exception {
+        long fields = 0;
+        try (CsvRecordReader reader = CsvRecordReader.open(csv)) {
+            while (reader.next()) {
+                fields += reader.fieldCount();
+            }
+        }
+        return fields;
+    }
+
+    @Benchmark
+    public void recordReaderSplit(Blackhole bh) throws Exception {
+        List<Future<?>> parts = new ArrayList<>();
+        for (CsvRecordReader reader : CsvRecordReader.split(csv, THREADS)) {
+            parts.add(pool.submit(() -> {
+                try (reader) {
+                    decodeAll(reader, bh);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : parts) {
+            f.get();
+        }
+    }
+
+    private static void decodeAll(CsvRecordReader reader, Blackhole bh) throws Exception {
+        while (reader.next()) {
+            for (int i = 0; i < reader.fieldCount(); i++) {
+                bh.consume(reader.field(i));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.template.benchmarks;
+
+import com.template.service.ImportExportService;
+import com.template.service.ImportResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Full CSV import (parse, validate, batch insert) into an empty students table.
+// One import per iteration; the table is emptied between iterations (not timed).
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private Path csv;
+    private ImportExportService service;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        csv = BenchmarkDatabase.dataDir().resolve("import_" + rows + "_" + SyntheticData.DEFAULT_SEED + ".csv");
+        if (!Files.exists(csv)) {
+            SyntheticData.writeCsv(csv, rows, SyntheticData.DEFAULT_SEED);
+        }
+        BenchmarkDatabase.empty("import_target_" + rows);
+        service = new ImportExportService();
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTable() throws Exception {
+        BenchmarkDatabase.clearStudents();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.close();
+    }
+
+    @Benchmark
+    public ImportResult importStudentsFromCsv() {
+        ImportResult r = service.importStudentsFromCsv(csv);
+        if (r.getImportedCount() != rows) {
+            throw new IllegalStateException("Imported " + r.getImportedCount() + " of " + rows);
+        }
+        return r;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.template.benchmarks;
+
+import com.template.Domain.ProgrammeSummaryRow;
+import com.template.Domain.Student;
+import com.template.Domain.TopPerformerRow;
+import com.template.service.ReportService;
+import com.template.service.ReportSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Every ReportService entry point against 1k / 100k / 1M student databases
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+
+    private static final double THRESHOLD = 2.0;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ReportService service;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        BenchmarkDatabase.populated(rows);
+        service = new ReportService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.close();
+    }
+
+    @Benchmark
+    public List<Student> getAllStudents() {
+        return service.getAllStudents();
+    }
+
+    @Benchmark
+    public int getTotalStudents() {
+        return service.getTotalStudents();
+    }
+
+    @Benchmark
+    public double getAverageGpa() {
+        return service.getAverageGpa();
+    }
+
+    @Benchmark
+    public List<TopPerformerRow> getTopPerformers() {
+        return service.getTopPerformers(null, null, 10);
+    }
+
+    @Benchmark
+    public List<TopPerformerRow> getTopPerformersFiltered() {
+        return service.getTopPerformers("Computer Science", 300, 10);
+    }
+
+    @Benchmark
+    public List<Student> getAtRiskStudents() {
+        return service.getAtRiskStudents(THRESHOLD);
+    }
+
+    @Benchmark
+    public Map<String, Long> getGpaDistribution() {
+        return service.getGpaDistribution();
+    }
+
+    @Benchmark
+    public List<ProgrammeSummaryRow> getProgrammeSummary() {
+        return service.getProgrammeSummary();
+    }
+
+    @Benchmark
+    public ReportSnapshot getSnapshot() {
+        return service.getSnapshot(null, null, 10, THRESHOLD);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.template.benchmarks;
+
+import com.template.Domain.Student;
+import com.template.repository.sqlite.SQLiteStudentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// SQLiteStudentRepository reads against 1k / 100k / 1M student databases
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private SQLiteStudentRepository repo;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        BenchmarkDatabase.populated(rows);
+        repo = new SQLiteStudentRepository();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.close();
+    }
+
+    @Benchmark
+    public List<Student> findAll() {
+        return repo.findAll();
+    }
+
+    @Benchmark
+    public List<Student> searchKeyword() {
+        return repo.search("Mensah", null, null, null);
+    }
+
+    @Benchmark
+    public List<Student> searchIdFragment() {
+        return repo.search("00042", null, null, null);
+    }
+
+    @Benchmark
+    public List<Student> searchProgrammeLevel() {
+        return repo.search(null, "Computer Science", 300, null);
+    }
+
+    @Benchmark
+    public List<Student> searchAllFilters() {
+        return repo.search("Ama", "Computer Science", 300, "Active");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.template.benchmarks;
+
+import com.template.Domain.Student;
+import com.template.util.CsvWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+
+// Deterministic fake students: the same (count, seed) always gives the same rows,
+// so runs on different machines/commits measure the same data.
+// Every row passes the app's validation rules.
+public class SyntheticData {
+
+    public static final long DEFAULT_SEED = 20240601L;
+
+    private static final String[] FIRST_NAMES = {
+            "Ama", "Kofi", "Akosua", "Kwame", "Yaw", "Abena", "Esi", "Kojo", "Adwoa", "Kwabena",
+            "Efua", "Kwesi", "Afia", "Yaa", "Fiifi", "Nana", "Selorm", "Elikem", "Dzifa", "Mawuli"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Mensah", "Owusu", "Boateng", "Asante", "Osei", "Agyeman", "Addo", "Appiah", "Ofori", "Darko",
+            "Quaye", "Tetteh", "Amoah", "Antwi", "Badu", "Frimpong", "Gyamfi", "Nkansah", "Ansah", "Sarpong"
+    };
+
+    public static final String[] PROGRAMMES = {
+            "Computer Science", "Information Technology", "Mathematics",
+            "Physics", "Economics", "Business Administration"
+    };
+
+    private static final int[] LEVELS = {100, 200, 300, 400};
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+
+    public interface StudentSink {
+        void accept(Student s) throws Exception;
+    }
+
+    private SyntheticData() {}
+
+    public static void forEachStudent(int count, long seed, StudentSink sink) throws Exception {
+        Random rnd = new Random(seed);
+
+        for (int i = 0; i < count; i++) {
+            String first = FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[rnd.nextInt(LAST_NAMES.length)];
+
+            // ~5% "Last, First" names so CSV quoting is exercised
+            String fullName = rnd.nextInt(20) == 0 ? last + ", " + first : first + " " + last;
+
+            double gpa = Math.round(rnd.nextDouble() * 400) / 100.0;
+
+            sink.accept(new Student(
+                    String.format("BS%07d", i),
+                    fullName,
+                    PROGRAMMES[rnd.nextInt(PROGRAMMES.length)],
+                    LEVELS[rnd.nextInt(LEVELS.length)],
+                    gpa,
+                    first.toLowerCase() + "." + last.toLowerCase() + i + "@students.example.edu",
+                    String.format("0%09d", rnd.nextInt(1_000_000_000)),
+                    FIRST_DAY.plusDays(rnd.nextInt(1500)),
+                    rnd.nextInt(5) == 0 ? "Inactive" : "Active"
+            ));
+        }
+    }
+
+    // Same rows as an import file (header + one line per student)
+    public static void writeCsv(Path out, int count, long seed) throws Exception {
+        try (CsvWriter csv = new CsvWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8))) {
+
+            csv.row("student_id", "full_name", "programme", "level", "gpa",
+                    "email", "phone", "date_added", "status");
+
+            forEachStudent(count, seed, s ->
+                    csv.field(s.getStudentId())
+                       .field(s.getFullName())
+                       .field(s.getProgramme())
+                       .field(s.getLevel())
+                       .field(s.getGpa())
+                       .field(s.getEmail())
+                       .field(s.getPhone())
+                       .field(s.getDateAdded().toString())
+                       .field(s.getStatus())
+                       .endRow());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.template.benchmarks;
+
+import com.template.Domain.Student;
+import com.template.service.StudentValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// StudentValidator on 1,000 synthetic CSV rows per op (some invalid), as the import workers
+// call it. Throughput in rows/s = 1000 * ops/s; run with -t N to see how it scales across threads.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private String[][] fields;
+    private Student[] students;
+
+    @Setup
+    public void setup() throws Exception {
+        List<Student> generated = new ArrayList<>(ROWS);
+        SyntheticData.forEachStudent(ROWS, SyntheticData.DEFAULT_SEED, generated::add);
+        fields = new String[ROWS][];
+        students = generated.toArray(new Student[0]);
+
+        for (int i = 0; i < ROWS; i++) {
+            Student s = generated.get(i);
+            fields[i] = new String[]{
+                    s.getStudentId(), s.getFullName(), s.getProgramme(), String.valueOf(s.getLevel()),
+                    String.valueOf(s.getGpa()), s.getEmail(), s.getPhone(),
+                    s.getDateAdded() == null ? "" : s.getDateAdded().toString(), s.getStatus()};
+
+            // every 10th row broken in a different way
+            if (i % 10 == 0) fields[i][4] = "4.5";
+            if (i % 10 == 5) fields[i][6] = "024-123-45";
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void parseCsvFields(Blackhole bh) {
+        for (String[] f : fields) {
+            bh.consume(StudentValidator.parse(f[0], f[1], f[2], f[3], f[4], f[5], f[6], f[7], f[8]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void validateStudent(Blackhole bh) {
+        for (Student s : students) {
+            bh.consume(StudentValidator.validate(s));
+        }
+    }
+}
\ No newline at end of file
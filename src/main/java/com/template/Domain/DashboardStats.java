@@ -0,0 +1,21 @@
+package com.template.Domain;
+
+public class DashboardStats {
+
+    private int totalStudents;
+    private int activeStudents;
+    private int inactiveStudents;
+    private double avgGpa;
+
+    public DashboardStats(int totalStudents, int activeStudents, int inactiveStudents, double avgGpa) {
+        this.totalStudents = totalStudents;
+        this.activeStudents = activeStudents;
+        this.inactiveStudents = inactiveStudents;
+        this.avgGpa = avgGpa;
+    }
+
+    public int getTotalStudents() { return totalStudents; }
+    public int getActiveStudents() { return activeStudents; }
+    public int getInactiveStudents() { return inactiveStudents; }
+    public double getAvgGpa() { return avgGpa; }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.template.Domain;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// How far an unfinished CSV import got: the file (identified by size, last-modified time and
+// a hash of its first bytes, not by its path), the byte offset and row number right after the
+// last committed batch, and the counts up to there.
+public class ImportCheckpoint {
+    private String filePath;
+    private long fileSize;
+    private long fileModified;     // epoch millis
+    private String headHash;
+    private String mode;           // ImportOptions.Mode name
+
+    private long byteOffset;
+    private int rowNumber;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int rejected;
+    private int duplicates;
+    private Map<String, Integer> errorCounts = new LinkedHashMap<>();   // problem -> rows
+
+    private String errorReport;    // null until the first error
+    private long errorReportBytes; // committed length of the error report
+    private LocalDateTime updatedAt;
+
+    // Same file contents as when the checkpoint was written (the path may differ)
+    public boolean sameFile(ImportCheckpoint other) {
+        return other != null
+                && fileSize == other.fileSize
+                && fileModified == other.fileModified
+                && headHash.equals(other.headHash);
+    }
+
+    public String getFilePath() { return filePath; }
+    public void setFilePath(String filePath) { this.filePath = filePath; }
+
+    public long getFileSize() { return fileSize; }
+    public void setFileSize(long fileSize) { this.fileSize = fileSize; }
+
+    public long getFileModified() { return fileModified; }
+    public void setFileModified(long fileModified) { this.fileModified = fileModified; }
+
+    public String getHeadHash() { return headHash; }
+    public void setHeadHash(String headHash) { this.headHash = headHash; }
+
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+
+    public long getByteOffset() { return byteOffset; }
+    public void setByteOffset(long byteOffset) { this.byteOffset = byteOffset; }
+
+    public int getRowNumber() { return rowNumber; }
+    public void setRowNumber(int rowNumber) { this.rowNumber = rowNumber; }
+
+    public int getInserted() { return inserted; }
+    public void setInserted(int inserted) { this.inserted = inserted; }
+
+    public int getUpdated() { return updated; }
+    public void setUpdated(int updated) { this.updated = updated; }
+
+    public int getUnchanged() { return unchanged; }
+    public void setUnchanged(int unchanged) { this.unchanged = unchanged; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public int getDuplicates() { return duplicates; }
+    public void setDuplicates(int duplicates) { this.duplicates = duplicates; }
+
+    public Map<String, Integer> getErrorCounts() { return errorCounts; }
+    public void setErrorCounts(Map<String, Integer> errorCounts) { this.errorCounts = errorCounts; }
+
+    public String getErrorReport() { return errorReport; }
+    public void setErrorReport(String errorReport) { this.errorReport = errorReport; }
+
+    public long getErrorReportBytes() { return errorReportBytes; }
+    public void setErrorReportBytes(long errorReportBytes) { this.errorReportBytes = errorReportBytes; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
\ No newline at end of file
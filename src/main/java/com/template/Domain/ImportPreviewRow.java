@@ -0,0 +1,22 @@
+package com.template.Domain;
+
+// One CSV row in an import preview: what the import would do with it, and why when rejected
+public class ImportPreviewRow {
+
+    private final int rowNumber;
+    private final String studentId;
+    private final String result;    // Insert / Update / Unchanged / Rejected
+    private final String problem;   // "" unless rejected
+
+    public ImportPreviewRow(int rowNumber, String studentId, String result, String problem) {
+        this.rowNumber = rowNumber;
+        this.studentId = studentId;
+        this.result = result;
+        this.problem = problem;
+    }
+
+    public int getRowNumber() { return rowNumber; }
+    public String getStudentId() { return studentId; }
+    public String getResult() { return result; }
+    public String getProblem() { return problem; }
+}
\ No newline at end of file
@@ -1,6 +1,13 @@
 package com.template;
 
+import com.template.repository.CachingStudentRepository;
+import com.template.repository.Repositories;
+import com.template.util.AppExecutors;
+import com.template.util.AppLogger;
 import com.template.util.DatabaseInitializer;
+import com.template.util.DatabaseUtil;
+import com.template.util.Metrics;
+import com.template.util.PasswordHasher;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -14,6 +21,10 @@ public class Main extends Application {
     public void start(Stage stage) throws Exception {
 
         DatabaseInitializer.initialize();
+        Metrics.start();
+
+        // measure the password hashing cost now, in the background, instead of on the first login
+        AppExecutors.run(PasswordHasher::calibrate);
 
         Scene scene = new Scene(
                 FXMLLoader.load(Objects.requireNonNull(getClass().getResource("/login.fxml"))),
@@ -29,6 +40,17 @@ public class Main extends Application {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        CachingStudentRepository.Stats cache = Repositories.studentCacheStats();
+        if (cache != null) AppLogger.log("Student cache: " + cache);
+
+        AppExecutors.shutdown();
+        DatabaseUtil.shutdown();
+        Metrics.shutdown();
+        AppLogger.shutdown();
+    }
+
     public static void main(String[] args) {
         launch();
     }
@@ -0,0 +1,584 @@
+package com.template.repository;
+
+import com.template.Domain.Student;
+import com.template.Domain.TopPerformerRow;
+import com.template.util.AppLogger;
+import com.template.util.DatabaseUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Keeps an in-memory copy of the whole students roster (keyed by studentId) in front of
+// another StudentRepository. findAll / streamAll / existsById are served from memory;
+// save / update / delete write through to the DB first, then update the copy.
+// Pages and ranked (FTS) searches still go to SQL. Filter searches and GPA ranges use the
+// in-memory StudentIndex when indexSearch is on (-Dsms.search.engine=index), otherwise SQL.
+// Top performers come from StudentLeaderboards, kept next to the index.
+//
+// - Size cap, not an eviction policy: the copy is all or nothing (findAll, the index and the
+//   leaderboards need every row). A roster bigger than maxRoster is not cached at all and
+//   reads go to SQL until it shrinks; each time that happens counts as `oversized`.
+// - External changes: if the DB file or its WAL changes and the app did not write it,
+//   the copy is dropped and reloaded on the next read (checked at most every checkIntervalMs).
+//   App writes to any table (settings, users, ...) are not checked while they hold the writer
+//   and re-stamp the file through writerReleased(); a write inside a larger write transaction
+//   (DatabaseUtil.inWriteTransaction) counts as in flight until it ends.
+// - Cached Student objects are shared: treat them as read-only.
+public class CachingStudentRepository implements StudentRepository {
+
+    private final StudentRepository delegate;
+    private final int maxRoster;
+    private final boolean indexSearch;
+    private final int leaderboardSize;
+    private final long checkIntervalNanos;
+    private final Path dbFile;
+    private final Path walFile;
+
+    // studentId -> entry; null when the roster is not loaded
+    private volatile Map<String, Entry> entries;
+    private volatile List<Student> ordered;      // findAll order, rebuilt lazily after writes
+    private volatile StudentIndex index;         // secondary indexes over the same rows
+    private volatile StudentLeaderboards leaderboards;
+    private volatile FileStamp knownStamp;
+    private volatile FileStamp oversizedAt;      // roster was too big at this DB state (don't reload)
+    private volatile long lastCheckNanos;
+    private long nextSeq = 0;
+
+    // bumped on every write, so a load that raced a write is not installed
+    private long version = 0;
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder oversized = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private static class Entry {
+        final long seq;          // DB (rowid) order
+        final Student student;
+
+        Entry(long seq, Student student) {
+            this.seq = seq;
+            this.student = student;
+        }
+    }
+
+    public CachingStudentRepository(StudentRepository delegate, int maxRoster, boolean indexSearch,
+                                    int leaderboardSize, long checkIntervalMs, Path dbFile) {
+        this.delegate = delegate;
+        this.maxRoster = Math.max(1, maxRoster);
+        this.indexSearch = indexSearch;
+        this.leaderboardSize = leaderboardSize;
+        this.checkIntervalNanos = Math.max(0, checkIntervalMs) * 1_000_000L;
+        this.dbFile = dbFile;
+        this.walFile = Path.of(dbFile + "-wal");
+    }
+
+    // =========================
+    // READS
+    // =========================
+    @Override
+    public List<Student> findAll() {
+        if (loaded()) {
+            hits.increment();
+            return new ArrayList<>(orderedView());
+        }
+        return load();
+    }
+
+    private List<Student> load() {
+        misses.increment();
+        long loadVersion = currentVersion();
+        FileStamp stamp = FileStamp.of(dbFile, walFile);
+
+        List<Student> list = delegate.findAll();
+        install(list, loadVersion, stamp);
+        return list;
+    }
+
+    @Override
+    public void streamAll(StudentRowVisitor visitor) {
+        if (loaded()) {
+            hits.increment();
+            try {
+                for (Student s : orderedView()) {
+                    visitor.visit(s.getStudentId(), s.getFullName(), s.getProgramme(), s.getLevel(), s.getGpa(),
+                            s.getEmail(), s.getPhone(),
+                            s.getDateAdded() == null ? null : s.getDateAdded().toString(),
+                            s.getStatus());
+                }
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to read students.");
+            }
+            return;
+        }
+
+        misses.increment();
+        long loadVersion = currentVersion();
+        FileStamp stamp = FileStamp.of(dbFile, walFile);
+
+        // fill the cache on the way through (given up if the roster is too big)
+        List<Student> collected = new ArrayList<>();
+        boolean[] tooBig = {false};
+
+        delegate.streamAll((id, name, programme, level, gpa, email, phone, dateAdded, status) -> {
+            if (!tooBig[0]) {
+                if (collected.size() < maxRoster) {
+                    collected.add(toStudent(id, name, programme, level, gpa, email, phone, dateAdded, status));
+                } else {
+                    tooBig[0] = true;
+                    oversized.increment();
+                    oversizedAt = stamp;
+                    collected.clear();
+                }
+            }
+            visitor.visit(id, name, programme, level, gpa, email, phone, dateAdded, status);
+        });
+
+        if (!tooBig[0]) install(collected, loadVersion, stamp);
+    }
+
+    // content_hash is not part of the copy: always the DB's narrow scan
+    @Override
+    public void streamKeys(StudentKeyVisitor visitor) {
+        delegate.streamKeys(visitor);
+    }
+
+    @Override
+    public boolean existsById(String studentId) {
+        if (loaded()) {
+            hits.increment();
+            return entries.containsKey(studentId);
+        }
+        misses.increment();
+        return delegate.existsById(studentId);
+    }
+
+    @Override
+    public List<Student> search(String keyword, String programme, Integer level, String status) {
+        // LIKE wildcards in the keyword only mean something to SQL
+        if (keyword != null && (keyword.indexOf('%') >= 0 || keyword.indexOf('_') >= 0)) {
+            return delegate.search(keyword, programme, level, status);
+        }
+
+        StudentIndex idx = loadedIndex();
+        if (idx == null) return delegate.search(keyword, programme, level, status);
+        return idx.search(keyword, programme, level, status);
+    }
+
+    @Override
+    public List<Student> findByGpaRange(double minInclusive, double maxExclusive) {
+        StudentIndex idx = loadedIndex();
+        if (idx == null) return delegate.findByGpaRange(minInclusive, maxExclusive);
+        return idx.gpaRange(minInclusive, maxExclusive);
+    }
+
+    @Override
+    public List<Student> searchRanked(String keyword, String programme, Integer level, String status, int limit) {
+        return delegate.searchRanked(keyword, programme, level, status, limit);
+    }
+
+    @Override
+    public StudentPage findPage(StudentPageQuery query) {
+        return delegate.findPage(query);
+    }
+
+    // =========================
+    // WRITES (DB first, then the copy)
+    // =========================
+    @Override
+    public void save(Student student) {
+        writesInFlight.incrementAndGet();
+        try {
+            delegate.save(student);
+            synchronized (this) {
+                version++;
+                if (entries != null) {
+                    Student cached = copy(student);
+                    entries.put(student.getStudentId(), new Entry(nextSeq++, cached));
+                    index.put(cached);
+                    leaderboards.add(cached);
+                    ordered = null;
+                    enforceBound();
+                }
+            }
+        } finally {
+            DatabaseUtil.whenWriterReleased(this::writeFinished);
+        }
+    }
+
+    @Override
+    public Map<Integer, String> saveAll(List<Student> students, int batchSize) {
+        writesInFlight.incrementAndGet();
+        try {
+            Map<Integer, String> failures = delegate.saveAll(students, batchSize);
+            synchronized (this) {
+                version++;
+                if (entries != null) {
+                    for (int i = 0; i < students.size(); i++) {
+                        if (failures.containsKey(i)) continue;
+                        Student cached = copy(students.get(i));
+                        entries.put(cached.getStudentId(), new Entry(nextSeq++, cached));
+                        index.put(cached);
+                        leaderboards.add(cached);
+                    }
+                    ordered = null;
+                    enforceBound();
+                }
+            }
+            return failures;
+        } finally {
+            DatabaseUtil.whenWriterReleased(this::writeFinished);
+        }
+    }
+
+    @Override
+    public UpsertResult upsertAll(List<Student> students, int batchSize) {
+        writesInFlight.incrementAndGet();
+        try {
+            UpsertResult result = delegate.upsertAll(students, batchSize);
+            synchronized (this) {
+                version++;
+                if (entries != null) {
+                    for (int i = 0; i < students.size(); i++) {
+                        if (result.getFailures().containsKey(i) || result.isUnchanged(i)) continue;
+                        Student cached = copy(students.get(i));
+                        Entry old = entries.get(cached.getStudentId());
+                        if (old != null) {
+                            entries.put(cached.getStudentId(), new Entry(old.seq, cached));
+                            index.put(cached);
+                            leaderboards.replace(old.student, cached);
+                        } else {
+                            entries.put(cached.getStudentId(), new Entry(nextSeq++, cached));
+                            index.put(cached);
+                            leaderboards.add(cached);
+                        }
+                    }
+                    ordered = null;
+                    enforceBound();
+                }
+            }
+            return result;
+        } finally {
+            DatabaseUtil.whenWriterReleased(this::writeFinished);
+        }
+    }
+
+    @Override
+    public void update(Student student) {
+        writesInFlight.incrementAndGet();
+        try {
+            delegate.update(student);
+            synchronized (this) {
+                version++;
+                if (entries != null) {
+                    Entry old = entries.get(student.getStudentId());
+                    if (old != null) {
+                        Student cached = copy(student);
+                        entries.put(student.getStudentId(), new Entry(old.seq, cached));
+                        index.put(cached);
+                        leaderboards.replace(old.student, cached);
+                        ordered = null;
+                    }
+                }
+            }
+        } finally {
+            DatabaseUtil.whenWriterReleased(this::writeFinished);
+        }
+    }
+
+    @Override
+    public void delete(String studentId) {
+        writesInFlight.incrementAndGet();
+        try {
+            delegate.delete(studentId);
+            synchronized (this) {
+                version++;
+                Entry removed = entries == null ? null : entries.remove(studentId);
+                if (removed != null) {
+                    index.remove(studentId);
+                    leaderboards.remove(removed.student);
+                    ordered = null;
+                }
+                // an oversized roster stays uncached (writerReleased() moves oversizedAt to the new
+                // stamp); the next findAll() installs it again once it fits
+            }
+        } finally {
+            DatabaseUtil.whenWriterReleased(this::writeFinished);
+        }
+    }
+
+    // Our write is over (at the end of the write transaction it joined, if any). A rolled back
+    // transaction leaves rows in the copy that never reached the DB, so the copy is dropped.
+    private void writeFinished(boolean committed) {
+        if (!committed) invalidate();
+        writesInFlight.decrementAndGet();
+    }
+
+    // After any app write (students or not; see DatabaseUtil.addWriterReleaseListener):
+    // the DB file as it is now is the app's doing, not an outside change
+    public synchronized void writerReleased() {
+        knownStamp = FileStamp.of(dbFile, walFile);
+        if (oversizedAt != null) oversizedAt = knownStamp;
+    }
+
+    // =========================
+    // CACHE CONTROL
+    // =========================
+    public synchronized void invalidate() {
+        if (entries != null) invalidations.increment();
+        entries = null;
+        ordered = null;
+        index = null;
+        leaderboards = null;
+        version++;
+    }
+
+    public Stats stats() {
+        Map<String, Entry> e = entries;
+        return new Stats(e == null ? 0 : e.size(), maxRoster,
+                hits.sum(), misses.sum(), oversized.sum(), invalidations.sum());
+    }
+
+    // Loaded and still matching the DB file (something outside the app may have written it)
+    private boolean loaded() {
+        if (entries == null) return false;
+        if (writesInFlight.get() > 0) return true;   // our own write is changing the file right now
+        if (DatabaseUtil.writerBusy()) return true;   // so is another app write; writerReleased() re-stamps
+
+        // stat the files at most every checkIntervalNanos (reads stay cheap when called in a loop)
+        long now = System.nanoTime();
+        if (now - lastCheckNanos < checkIntervalNanos) return true;
+        lastCheckNanos = now;
+
+        FileStamp known = knownStamp;
+        if (known != null && !known.equals(FileStamp.of(dbFile, walFile))) {
+            AppLogger.log("Student cache: database changed outside the app, reloading.");
+            invalidate();
+            return false;
+        }
+        return entries != null;
+    }
+
+    // Best `limit` students for the filter, or null when SQL has to answer (roster not cached,
+    // or more rows than the leaderboards keep)
+    public List<TopPerformerRow> topPerformers(String programme, Integer level, int limit) {
+        if (limit > leaderboardSize || !ensureLoaded()) return null;
+
+        StudentLeaderboards boards = leaderboards;
+        return boards == null ? null : boards.top(programme, level, limit);
+    }
+
+    // The index to answer a query from (loads the roster on first use), or null to use SQL
+    private StudentIndex loadedIndex() {
+        if (!indexSearch || !ensureLoaded()) return null;
+        return index;
+    }
+
+    // Loaded, or loads it now; false when the roster is known to be too big to keep
+    private boolean ensureLoaded() {
+        if (loaded()) {
+            hits.increment();
+            return true;
+        }
+
+        FileStamp over = oversizedAt;
+        if (over != null && over.equals(FileStamp.of(dbFile, walFile))) return false;
+
+        loadCapped();
+        return entries != null;
+    }
+
+    // Like load(), but stops reading as soon as the roster passes maxRoster: a query that
+    // only wants the index should not pay for a full read of a roster that will not be kept
+    private void loadCapped() {
+        misses.increment();
+        long loadVersion = currentVersion();
+        FileStamp stamp = FileStamp.of(dbFile, walFile);
+
+        List<Student> collected = new ArrayList<>();
+        boolean[] tooBig = {false};
+        try {
+            delegate.streamAll((id, name, programme, level, gpa, email, phone, dateAdded, status) -> {
+                if (collected.size() == maxRoster) {
+                    tooBig[0] = true;
+                    throw new IllegalStateException("Roster is over the cache cap.");   // ends the scan
+                }
+                collected.add(toStudent(id, name, programme, level, gpa, email, phone, dateAdded, status));
+            });
+        } catch (RuntimeException e) {
+            if (!tooBig[0]) throw e;
+        }
+
+        if (tooBig[0]) {
+            markOversized(loadVersion, stamp);
+        } else {
+            install(collected, loadVersion, stamp);
+        }
+    }
+
+    private synchronized long currentVersion() {
+        return version;
+    }
+
+    private synchronized void markOversized(long loadVersion, FileStamp stamp) {
+        if (loadVersion != version) return;   // a write happened while loading
+        oversized.increment();
+        oversizedAt = stamp;
+    }
+
+    private synchronized void install(List<Student> list, long loadVersion, FileStamp stamp) {
+        if (loadVersion != version) return;   // a write happened while loading
+
+        if (list.size() > maxRoster) {
+            markOversized(loadVersion, stamp);
+            return;
+        }
+        oversizedAt = null;
+
+        // own copies: the caller keeps (and may change) the objects in `list`
+        Map<String, Entry> map = new ConcurrentHashMap<>(list.size() * 4 / 3 + 16);
+        List<Student> cached = new ArrayList<>(list.size());
+        long seq = 0;
+        for (Student s : list) {
+            Student c = copy(s);
+            map.put(c.getStudentId(), new Entry(seq++, c));
+            cached.add(c);
+        }
+
+        nextSeq = seq;
+        lastCheckNanos = System.nanoTime();
+        ordered = Collections.unmodifiableList(cached);
+        index = new StudentIndex(cached);
+        leaderboards = new StudentLeaderboards(leaderboardSize, index, cached);
+        knownStamp = stamp;
+        entries = map;
+    }
+
+    // called with the lock held: a write took the roster over the cap, so stop caching it
+    private void enforceBound() {
+        if (entries.size() > maxRoster) {
+            oversized.increment();
+            oversizedAt = knownStamp;
+            entries = null;
+            ordered = null;
+            index = null;
+            leaderboards = null;
+        }
+    }
+
+    private List<Student> orderedView() {
+        List<Student> view = ordered;
+        if (view != null) return view;
+
+        synchronized (this) {
+            if (ordered == null && entries != null) {
+                List<Entry> all = new ArrayList<>(entries.values());
+                all.sort(Comparator.comparingLong(e -> e.seq));
+                List<Student> list = new ArrayList<>(all.size());
+                for (Entry e : all) list.add(e.student);
+                ordered = Collections.unmodifiableList(list);
+            }
+            return ordered == null ? List.of() : ordered;
+        }
+    }
+
+    private static Student toStudent(String id, String name, String programme, int level, double gpa,
+                                     String email, String phone, String dateAdded, String status) {
+        return new Student(id, name, programme, level, gpa, email, phone,
+                dateAdded == null || dateAdded.isBlank() ? null : LocalDate.parse(dateAdded), status);
+    }
+
+    private static Student copy(Student s) {
+        return new Student(s.getStudentId(), s.getFullName(), s.getProgramme(), s.getLevel(), s.getGpa(),
+                s.getEmail(), s.getPhone(), s.getDateAdded(), s.getStatus());
+    }
+
+    // Size + modification time of the DB file and its WAL
+    private static class FileStamp {
+        final long dbSize, dbModified, walSize, walModified;
+
+        FileStamp(long dbSize, long dbModified, long walSize, long walModified) {
+            this.dbSize = dbSize;
+            this.dbModified = dbModified;
+            this.walSize = walSize;
+            this.walModified = walModified;
+        }
+
+        static FileStamp of(Path db, Path wal) {
+            return new FileStamp(size(db), modified(db), size(wal), modified(wal));
+        }
+
+        private static long size(Path p) {
+            try {
+                return Files.size(p);
+            } catch (Exception e) {
+                return -1;
+            }
+        }
+
+        private static long modified(Path p) {
+            try {
+                return Files.getLastModifiedTime(p).toMillis();
+            } catch (Exception e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FileStamp)) return false;
+            FileStamp f = (FileStamp) o;
+            return dbSize == f.dbSize && dbModified == f.dbModified
+                    && walSize == f.walSize && walModified == f.walModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dbSize, dbModified, walSize, walModified);
+        }
+    }
+
+    public static class Stats {
+
+        private final int size;
+        private final int maxRoster;
+        private final long hits;
+        private final long misses;
+        private final long oversized;
+        private final long invalidations;
+
+        public Stats(int size, int maxRoster, long hits, long misses, long oversized, long invalidations) {
+            this.size = size;
+            this.maxRoster = maxRoster;
+            this.hits = hits;
+            this.misses = misses;
+            this.oversized = oversized;
+            this.invalidations = invalidations;
+        }
+
+        public int getSize() { return size; }
+        public int getMaxRoster() { return maxRoster; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        // times the roster was over maxRoster and not cached
+        public long getOversized() { return oversized; }
+        public long getInvalidations() { return invalidations; }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("students cache[size=%d maxRoster=%d] hits=%d misses=%d (%.1f%% hit) oversized=%d invalidations=%d",
+                    size, maxRoster, hits, misses, getHitRate() * 100, oversized, invalidations);
+        }
+    }
+}
\ No newline at end of file
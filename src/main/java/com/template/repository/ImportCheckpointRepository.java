@@ -0,0 +1,16 @@
+package com.template.repository;
+
+import com.template.Domain.ImportCheckpoint;
+
+// One row per unfinished import, keyed by the file identity (size, modified time, head hash)
+public interface ImportCheckpointRepository {
+
+    // null when that file has no unfinished import
+    ImportCheckpoint find(long fileSize, long fileModified, String headHash);
+
+    // Insert or replace; uses the writer connection, so inside DatabaseUtil.inWriteTransaction
+    // it commits together with the rows it describes
+    void save(ImportCheckpoint checkpoint);
+
+    void delete(ImportCheckpoint checkpoint);
+}
\ No newline at end of file
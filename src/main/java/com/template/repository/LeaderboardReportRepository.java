@@ -0,0 +1,57 @@
+package com.template.repository;
+
+import com.template.Domain.DashboardStats;
+import com.template.Domain.ProgrammeSummaryRow;
+import com.template.Domain.TopPerformerRow;
+
+import java.util.List;
+import java.util.Map;
+
+// Report queries with top performers read from the cached leaderboards (no sort per request).
+// Everything else, and any top-N the leaderboards cannot answer, goes to the wrapped repository.
+public class LeaderboardReportRepository implements ReportRepository {
+
+    private final ReportRepository delegate;
+    private final CachingStudentRepository students;
+
+    public LeaderboardReportRepository(ReportRepository delegate, CachingStudentRepository students) {
+        this.delegate = delegate;
+        this.students = students;
+    }
+
+    @Override
+    public List<TopPerformerRow> topPerformers(String programme, Integer level, int limit) {
+        List<TopPerformerRow> rows = students.topPerformers(programme, level, limit);
+        return rows != null ? rows : delegate.topPerformers(programme, level, limit);
+    }
+
+    @Override
+    public DashboardStats dashboardStats() {
+        return delegate.dashboardStats();
+    }
+
+    @Override
+    public int countStudents() {
+        return delegate.countStudents();
+    }
+
+    @Override
+    public double averageGpa() {
+        return delegate.averageGpa();
+    }
+
+    @Override
+    public List<ProgrammeSummaryRow> programmeSummary() {
+        return delegate.programmeSummary();
+    }
+
+    @Override
+    public Map<String, Long> gpaDistribution() {
+        return delegate.gpaDistribution();
+    }
+
+    @Override
+    public void streamAtRisk(double threshold, StudentRowVisitor visitor) {
+        delegate.streamAtRisk(threshold, visitor);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.template.repository;
+
+import com.template.util.Metrics;
+
+import java.util.List;
+
+// Times every SettingsRepository call (Metrics timers "settings.<method>")
+public class MeteredSettingsRepository implements SettingsRepository {
+
+    private final SettingsRepository delegate;
+
+    private final Metrics.Timer getAtRiskThreshold = Metrics.timer("settings.getAtRiskThreshold");
+    private final Metrics.Timer setAtRiskThreshold = Metrics.timer("settings.setAtRiskThreshold");
+    private final Metrics.Timer getAllProgrammes = Metrics.timer("settings.getAllProgrammes");
+    private final Metrics.Timer addProgramme = Metrics.timer("settings.addProgramme");
+    private final Metrics.Timer updateProgramme = Metrics.timer("settings.updateProgramme");
+    private final Metrics.Timer deleteProgramme = Metrics.timer("settings.deleteProgramme");
+    private final Metrics.Timer programmeExists = Metrics.timer("settings.programmeExists");
+
+    public MeteredSettingsRepository(SettingsRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public double getAtRiskThreshold() {
+        return getAtRiskThreshold.time(delegate::getAtRiskThreshold);
+    }
+
+    @Override
+    public void setAtRiskThreshold(double value) {
+        setAtRiskThreshold.time(() -> delegate.setAtRiskThreshold(value));
+    }
+
+    @Override
+    public List<String> getAllProgrammes() {
+        return getAllProgrammes.time(delegate::getAllProgrammes);
+    }
+
+    @Override
+    public void addProgramme(String name) {
+        addProgramme.time(() -> delegate.addProgramme(name));
+    }
+
+    @Override
+    public void updateProgramme(String oldName, String newName) {
+        updateProgramme.time(() -> delegate.updateProgramme(oldName, newName));
+    }
+
+    @Override
+    public void deleteProgramme(String name) {
+        deleteProgramme.time(() -> delegate.deleteProgramme(name));
+    }
+
+    @Override
+    public boolean programmeExists(String name) {
+        return programmeExists.time(() -> delegate.programmeExists(name));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.template.repository;
+
+import com.template.Domain.Student;
+import com.template.util.Metrics;
+
+import java.util.List;
+import java.util.Map;
+
+// Times every StudentRepository call (Metrics timers "students.<method>").
+// Sits outside the cache, so it measures what the services see (hits and misses alike).
+public class MeteredStudentRepository implements StudentRepository {
+
+    private final StudentRepository delegate;
+
+    private final Metrics.Timer save = Metrics.timer("students.save");
+    private final Metrics.Timer saveAll = Metrics.timer("students.saveAll");
+    private final Metrics.Timer upsertAll = Metrics.timer("students.upsertAll");
+    private final Metrics.Timer update = Metrics.timer("students.update");
+    private final Metrics.Timer findAll = Metrics.timer("students.findAll");
+    private final Metrics.Timer streamAll = Metrics.timer("students.streamAll");
+    private final Metrics.Timer streamKeys = Metrics.timer("students.streamKeys");
+    private final Metrics.Timer findPage = Metrics.timer("students.findPage");
+    private final Metrics.Timer delete = Metrics.timer("students.delete");
+    private final Metrics.Timer search = Metrics.timer("students.search");
+    private final Metrics.Timer searchRanked = Metrics.timer("students.searchRanked");
+    private final Metrics.Timer findByGpaRange = Metrics.timer("students.findByGpaRange");
+    private final Metrics.Timer existsById = Metrics.timer("students.existsById");
+
+    public MeteredStudentRepository(StudentRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void save(Student student) {
+        save.time(() -> delegate.save(student));
+    }
+
+    @Override
+    public Map<Integer, String> saveAll(List<Student> students, int batchSize) {
+        return saveAll.time(() -> delegate.saveAll(students, batchSize));
+    }
+
+    @Override
+    public UpsertResult upsertAll(List<Student> students, int batchSize) {
+        return upsertAll.time(() -> delegate.upsertAll(students, batchSize));
+    }
+
+    @Override
+    public void update(Student student) {
+        update.time(() -> delegate.update(student));
+    }
+
+    @Override
+    public List<Student> findAll() {
+        return findAll.time(delegate::findAll);
+    }
+
+    @Override
+    public void streamAll(StudentRowVisitor visitor) {
+        streamAll.time(() -> delegate.streamAll(visitor));
+    }
+
+    @Override
+    public void streamKeys(StudentKeyVisitor visitor) {
+        streamKeys.time(() -> delegate.streamKeys(visitor));
+    }
+
+    @Override
+    public StudentPage findPage(StudentPageQuery query) {
+        return findPage.time(() -> delegate.findPage(query));
+    }
+
+    @Override
+    public void delete(String studentId) {
+        delete.time(() -> delegate.delete(studentId));
+    }
+
+    @Override
+    public List<Student> search(String keyword, String programme, Integer level, String status) {
+        return search.time(() -> delegate.search(keyword, programme, level, status));
+    }
+
+    @Override
+    public List<Student> searchRanked(String keyword, String programme, Integer level, String status, int limit) {
+        return searchRanked.time(() -> delegate.searchRanked(keyword, programme, level, status, limit));
+    }
+
+    @Override
+    public List<Student> findByGpaRange(double minInclusive, double maxExclusive) {
+        return findByGpaRange.time(() -> delegate.findByGpaRange(minInclusive, maxExclusive));
+    }
+
+    @Override
+    public boolean existsById(String studentId) {
+        return existsById.time(() -> delegate.existsById(studentId));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.template.repository;
+
+import com.template.Domain.User;
+import com.template.util.Metrics;
+
+// Times every UserRepository call (Metrics timers "users.<method>")
+public class MeteredUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+
+    private final Metrics.Timer save = Metrics.timer("users.save");
+    private final Metrics.Timer findByEmail = Metrics.timer("users.findByEmail");
+    private final Metrics.Timer existsByEmail = Metrics.timer("users.existsByEmail");
+    private final Metrics.Timer updatePasswordHash = Metrics.timer("users.updatePasswordHash");
+
+    public MeteredUserRepository(UserRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void save(User user) {
+        save.time(() -> delegate.save(user));
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        return findByEmail.time(() -> delegate.findByEmail(email));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return existsByEmail.time(() -> delegate.existsByEmail(email));
+    }
+
+    @Override
+    public void updatePasswordHash(String email, String passwordHash) {
+        updatePasswordHash.time(() -> delegate.updatePasswordHash(email, passwordHash));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.template.repository;
+
+import com.template.Domain.DashboardStats;
+import com.template.Domain.ProgrammeSummaryRow;
+import com.template.Domain.TopPerformerRow;
+
+import java.util.List;
+import java.util.Map;
+
+// Aggregation queries for the reports screen (computed in SQL, not in Java)
+public interface ReportRepository {
+
+    // Total / active / inactive / average GPA from the materialized student_stats row
+    DashboardStats dashboardStats();
+
+    int countStudents();
+
+    double averageGpa();
+
+    List<ProgrammeSummaryRow> programmeSummary();
+
+    // band label -> count, in fixed band order
+    Map<String, Long> gpaDistribution();
+
+    List<TopPerformerRow> topPerformers(String programme, Integer level, int limit);
+
+    // gpa < threshold (a missing GPA counts as 0.0), lowest first, one row at a time (for exports).
+    // The reports screen's list comes from StudentRepository.findByGpaRange (served by the cache).
+    void streamAtRisk(double threshold, StudentRowVisitor visitor);
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.template.repository;
+
+import com.template.repository.sqlite.SQLiteImportCheckpointRepository;
+import com.template.repository.sqlite.SQLiteReportRepository;
+import com.template.repository.sqlite.SQLiteSettingsRepository;
+import com.template.repository.sqlite.SQLiteStudentRepository;
+import com.template.repository.sqlite.SQLiteUserRepository;
+import com.template.util.AppConfig;
+import com.template.util.DatabaseUtil;
+import com.template.util.Metrics;
+
+// Shared repository instances (so every service sees the same student cache)
+public class Repositories {
+
+    private static StudentRepository students;
+    private static CachingStudentRepository studentCache;
+    private static Runnable studentCacheListener;
+    private static ReportRepository reports;
+    private static SettingsRepository settings;
+    private static UserRepository users;
+    private static ImportCheckpointRepository importCheckpoints;
+
+    private Repositories() {}
+
+    // Students go through the write-through cache unless -Dsms.cache.students.enabled=false;
+    // -Dsms.cache.students.maxRoster is the largest roster it keeps (bigger ones are not cached).
+    // -Dsms.search.engine=index|sql picks where filter searches run (index needs the cache).
+    // -Dsms.reports.leaderboardSize is how many top students each leaderboard keeps,
+    // -Dsms.cache.students.checkMs how often the DB file is checked for outside changes.
+    // Every call is timed (Metrics) unless -Dsms.metrics.enabled=false.
+    public static synchronized StudentRepository students() {
+        if (students == null) {
+            StudentRepository repo = new SQLiteStudentRepository();
+            if (AppConfig.getBoolean("cache.students.enabled", true)) {
+                studentCache = new CachingStudentRepository(repo,
+                        AppConfig.getInt("cache.students.maxRoster", AppConfig.getInt("cache.students.max", 250_000)),
+                        "index".equalsIgnoreCase(AppConfig.getString("search.engine", "index")),
+                        AppConfig.getInt("reports.leaderboardSize", 50),
+                        AppConfig.getLong("cache.students.checkMs", 250),
+                        DatabaseUtil.databaseFile());
+                studentCacheListener = studentCache::writerReleased;
+                DatabaseUtil.addWriterReleaseListener(studentCacheListener);
+                repo = studentCache;
+            }
+            students = Metrics.isEnabled() ? new MeteredStudentRepository(repo) : repo;
+        }
+        return students;
+    }
+
+    public static synchronized SettingsRepository settings() {
+        if (settings == null) {
+            SettingsRepository repo = new SQLiteSettingsRepository();
+            settings = Metrics.isEnabled() ? new MeteredSettingsRepository(repo) : repo;
+        }
+        return settings;
+    }
+
+    public static synchronized UserRepository users() {
+        if (users == null) {
+            UserRepository repo = new SQLiteUserRepository();
+            users = Metrics.isEnabled() ? new MeteredUserRepository(repo) : repo;
+        }
+        return users;
+    }
+
+    public static synchronized ImportCheckpointRepository importCheckpoints() {
+        if (importCheckpoints == null) {
+            importCheckpoints = new SQLiteImportCheckpointRepository();
+        }
+        return importCheckpoints;
+    }
+
+    // Report queries; top performers come from the student cache's leaderboards when it is on
+    public static synchronized ReportRepository reports() {
+        if (reports == null) {
+            students();
+            ReportRepository sql = new SQLiteReportRepository();
+            reports = (studentCache != null) ? new LeaderboardReportRepository(sql, studentCache) : sql;
+        }
+        return reports;
+    }
+
+    // Drops the shared instances; the next call builds them for the current sms.db.path and settings.
+    // Services keep the instances they were created with, so create them again afterwards.
+    public static synchronized void reset() {
+        if (studentCacheListener != null) {
+            DatabaseUtil.removeWriterReleaseListener(studentCacheListener);
+        }
+        students = null;
+        studentCache = null;
+        studentCacheListener = null;
+        reports = null;
+        settings = null;
+        users = null;
+        importCheckpoints = null;
+    }
+
+    // null when the cache is disabled (or students() was never used)
+    public static synchronized CachingStudentRepository.Stats studentCacheStats() {
+        return studentCache == null ? null : studentCache.stats();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.template.repository;
+
+import com.template.Domain.Student;
+
+// 64-bit content hash of a student's columns (everything but the ID), stored in
+// students.content_hash. A merge import compares it to skip rows that did not change.
+// FNV-1a over the values with a separator between fields, so ("ab","c") != ("a","bc").
+public class StudentHash {
+
+    private static final long OFFSET = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private StudentHash() {}
+
+    public static long of(Student s) {
+        long h = OFFSET;
+        h = add(h, s.getFullName());
+        h = add(h, s.getProgramme());
+        h = add(h, s.getLevel());
+        h = add(h, Double.doubleToLongBits(s.getGpa()));
+        h = add(h, s.getEmail());
+        h = add(h, s.getPhone());
+        h = add(h, s.getDateAdded() == null ? null : s.getDateAdded().toString());
+        h = add(h, s.getStatus());
+        return h;
+    }
+
+    // null and "" hash differently (the column keeps the difference too)
+    private static long add(long h, String value) {
+        if (value == null) return mix(h, 0xFFFF);
+        for (int i = 0; i < value.length(); i++) {
+            h = mix(h, value.charAt(i));
+        }
+        return mix(h, 0xFFFE);
+    }
+
+    private static long add(long h, long value) {
+        for (int shift = 0; shift < 64; shift += 16) {
+            h = mix(h, (int) (value >>> shift) & 0xFFFF);
+        }
+        return mix(h, 0xFFFE);
+    }
+
+    private static long mix(long h, int unit) {
+        return (h ^ unit) * PRIME;
+    }
+}
\ No newline at end of file
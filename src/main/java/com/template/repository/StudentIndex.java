@@ -0,0 +1,209 @@
+package com.template.repository;
+
+import com.template.Domain.Student;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory secondary indexes over the students roster:
+// - hash indexes on programme, level and status (value -> posting list)
+// - a GPA-ordered index (TreeMap, so range lookups are O(log n) + size of the result)
+//
+// Posting lists are BitSets over slot numbers. Slots are handed out in insertion order and never
+// reused (only compacted), so results come back in insertion (rowid) order.
+// Filters are answered by AND-ing the posting lists, smallest first.
+public class StudentIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Student[] slots = new Student[1024];
+    private int nextSlot = 0;
+    private int size = 0;
+
+    private final Map<String, Integer> slotById = new HashMap<>();
+    private final Map<String, BitSet> byProgramme = new HashMap<>();
+    private final Map<Integer, BitSet> byLevel = new HashMap<>();
+    private final Map<String, BitSet> byStatus = new HashMap<>();
+    private final NavigableMap<Double, BitSet> byGpa = new TreeMap<>();
+    private final BitSet live = new BitSet();
+
+    public StudentIndex() {}
+
+    public StudentIndex(Collection<Student> students) {
+        for (Student s : students) {
+            put(s);
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =========================
+    // WRITES
+    // =========================
+
+    // Inserts, or replaces the row with the same studentId (keeping its position)
+    public void put(Student s) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(s.getStudentId());
+            if (slot != null) {
+                unlink(slot, slots[slot]);
+            } else {
+                if (nextSlot == slots.length) grow();
+                slot = nextSlot++;
+                slotById.put(s.getStudentId(), slot);
+                size++;
+            }
+            link(slot, s);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String studentId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(studentId);
+            if (slot == null) return;
+
+            unlink(slot, slots[slot]);
+            slots[slot] = null;
+            size--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // =========================
+    // QUERIES
+    // =========================
+
+    // Same rows as StudentRepository.search (keyword = case-insensitive "contains" on ID or name)
+    public List<Student> search(String keyword, String programme, Integer level, String status) {
+        String kw = (keyword == null || keyword.isBlank()) ? null : keyword.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            List<BitSet> postings = new ArrayList<>(3);
+            if (programme != null && !programme.isBlank()) postings.add(byProgramme.get(programme));
+            if (level != null) postings.add(byLevel.get(level));
+            if (status != null && !status.isBlank()) postings.add(byStatus.get(status));
+
+            BitSet hits = intersect(postings);
+            List<Student> list = new ArrayList<>(kw == null ? hits.cardinality() : 16);
+
+            for (int i = hits.nextSetBit(0); i >= 0; i = hits.nextSetBit(i + 1)) {
+                Student s = slots[i];
+                if (kw == null || containsIgnoreCase(s.getStudentId(), kw) || containsIgnoreCase(s.getFullName(), kw)) {
+                    list.add(s);
+                }
+            }
+            return list;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // min <= gpa < max, lowest GPA first (insertion order within the same GPA)
+    public List<Student> gpaRange(double minInclusive, double maxExclusive) {
+        lock.readLock().lock();
+        try {
+            List<Student> list = new ArrayList<>();
+            if (!(minInclusive < maxExclusive)) return list;
+
+            for (BitSet posting : byGpa.subMap(minInclusive, true, maxExclusive, false).values()) {
+                for (int i = posting.nextSetBit(0); i >= 0; i = posting.nextSetBit(i + 1)) {
+                    list.add(slots[i]);
+                }
+            }
+            return list;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =========================
+    // INTERNALS (write lock held)
+    // =========================
+    private void link(int slot, Student s) {
+        slots[slot] = s;
+        live.set(slot);
+        posting(byProgramme, s.getProgramme()).set(slot);
+        posting(byLevel, s.getLevel()).set(slot);
+        posting(byStatus, s.getStatus()).set(slot);
+        posting(byGpa, s.getGpa()).set(slot);
+    }
+
+    private void unlink(int slot, Student s) {
+        live.clear(slot);
+        clear(byProgramme, s.getProgramme(), slot);
+        clear(byLevel, s.getLevel(), slot);
+        clear(byStatus, s.getStatus(), slot);
+        clear(byGpa, s.getGpa(), slot);
+    }
+
+    private static <K> BitSet posting(Map<K, BitSet> index, K key) {
+        return index.computeIfAbsent(key, k -> new BitSet());
+    }
+
+    private static <K> void clear(Map<K, BitSet> index, K key, int slot) {
+        BitSet posting = index.get(key);
+        if (posting == null) return;
+        posting.clear(slot);
+        if (posting.isEmpty()) index.remove(key);
+    }
+
+    private BitSet intersect(List<BitSet> postings) {
+        if (postings.isEmpty()) return (BitSet) live.clone();
+
+        // a value nobody has -> no rows
+        for (BitSet p : postings) {
+            if (p == null) return new BitSet();
+        }
+
+        postings.sort(Comparator.comparingInt(BitSet::cardinality));
+        BitSet result = (BitSet) postings.get(0).clone();
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.and(postings.get(i));
+        }
+        return result;
+    }
+
+    // Out of slots: compact away deleted rows if there are many, otherwise double the array
+    private void grow() {
+        if (size < nextSlot / 2) {
+            List<Student> keep = new ArrayList<>(size);
+            for (int i = live.nextSetBit(0); i >= 0; i = live.nextSetBit(i + 1)) {
+                keep.add(slots[i]);
+            }
+
+            Arrays.fill(slots, null);
+            slotById.clear();
+            byProgramme.clear();
+            byLevel.clear();
+            byStatus.clear();
+            byGpa.clear();
+            live.clear();
+
+            nextSlot = 0;
+            for (Student s : keep) {
+                slotById.put(s.getStudentId(), nextSlot);
+                link(nextSlot++, s);
+            }
+        } else {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+    }
+
+    private static boolean containsIgnoreCase(String value, String lowerKeyword) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerKeyword);
+    }
+}
\ No newline at end of file
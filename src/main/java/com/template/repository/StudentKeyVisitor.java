@@ -0,0 +1,8 @@
+package com.template.repository;
+
+// Receives the ID, content hash (StudentHash) and date_added of one students row at a time,
+// in student ID order
+public interface StudentKeyVisitor {
+
+    void visit(String studentId, long contentHash, String dateAdded) throws Exception;
+}
\ No newline at end of file
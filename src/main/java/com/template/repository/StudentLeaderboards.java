@@ -0,0 +1,162 @@
+package com.template.repository;
+
+import com.template.Domain.Student;
+import com.template.Domain.TopPerformerRow;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Top-K students by GPA, kept up to date on every write instead of sorting the roster per request.
+// One bounded board per filter the reports screen offers: all students, per programme, per level,
+// and per programme x level. Each write touches 4 boards at O(log K) each.
+//
+// A board keeps `capacity` rows (more than the screen shows) so deletes rarely empty it. When
+// a delete leaves it short while other members exist, it is refilled from the index on the next read.
+// Reads return a prebuilt ranked list, so they are constant time.
+public class StudentLeaderboards {
+
+    // best first: GPA high -> low, then name A -> Z (same as the SQL ORDER BY), then ID for ties
+    private static final Comparator<Student> BEST_FIRST = Comparator
+            .comparingDouble(Student::getGpa).reversed()
+            .thenComparing(Student::getFullName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Student::getStudentId);
+
+    private final int capacity;
+    private final StudentIndex index;
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+
+    private static class Board {
+        final String programme;   // lower case, null = any
+        final Integer level;      // null = any
+        final TreeSet<Student> top = new TreeSet<>(BEST_FIRST);
+        int members = 0;          // rows in this board's filter (not just the kept ones)
+        boolean stale = false;    // short on rows, refill before reading
+        volatile List<TopPerformerRow> view;
+
+        Board(String programme, Integer level) {
+            this.programme = programme;
+            this.level = level;
+        }
+
+        boolean matches(Student s) {
+            return (programme == null || programme.equals(lower(s.getProgramme())))
+                    && (level == null || level == s.getLevel());
+        }
+    }
+
+    // index = the same rows, used to refill a board that ran short
+    public StudentLeaderboards(int capacity, StudentIndex index, Collection<Student> students) {
+        this.capacity = Math.max(1, capacity);
+        this.index = index;
+        for (Student s : students) {
+            add(s);
+        }
+    }
+
+    // =========================
+    // WRITES
+    // =========================
+    public synchronized void add(Student s) {
+        for (Board b : boardsOf(s)) {
+            b.members++;
+            if (b.stale) continue;
+
+            if (b.top.size() < capacity) {
+                b.top.add(s);
+                b.view = null;
+            } else if (BEST_FIRST.compare(s, b.top.last()) < 0) {
+                b.top.pollLast();
+                b.top.add(s);
+                b.view = null;
+            }
+        }
+    }
+
+    public synchronized void remove(Student s) {
+        for (Board b : boardsOf(s)) {
+            b.members--;
+            if (b.top.remove(s)) {
+                b.view = null;
+                if (b.top.size() < capacity && b.members > b.top.size()) b.stale = true;
+            }
+            if (b.members == 0) boards.remove(key(b.programme, b.level));
+        }
+    }
+
+    public synchronized void replace(Student old, Student updated) {
+        remove(old);
+        add(updated);
+    }
+
+    // =========================
+    // READS
+    // =========================
+
+    // Best `limit` rows for the filter (blank programme / level 0 = any).
+    // Returns null when limit is more than the boards keep (ask SQL instead).
+    public List<TopPerformerRow> top(String programme, Integer level, int limit) {
+        if (limit > capacity) return null;
+        if (limit <= 0) return List.of();
+
+        String p = (programme == null || programme.isBlank()) ? null : lower(programme);
+        Integer l = (level == null || level == 0) ? null : level;
+
+        Board b = boards.get(key(p, l));
+        if (b == null) return List.of();
+
+        List<TopPerformerRow> view = b.view;
+        if (view == null) view = buildView(b);
+        return view.size() <= limit ? view : view.subList(0, limit);
+    }
+
+    private synchronized List<TopPerformerRow> buildView(Board b) {
+        if (b.view != null) return b.view;
+        if (b.stale) refill(b);
+
+        List<TopPerformerRow> rows = new ArrayList<>(b.top.size());
+        int rank = 1;
+        for (Student s : b.top) {
+            rows.add(new TopPerformerRow(rank++, s.getStudentId(), s.getFullName(),
+                    s.getProgramme(), s.getLevel(), s.getGpa()));
+        }
+
+        List<TopPerformerRow> view = Collections.unmodifiableList(rows);
+        b.view = view;
+        return view;
+    }
+
+    // Bounded heap pass over the board's members (level posting list when there is one)
+    private void refill(Board b) {
+        b.top.clear();
+        for (Student s : index.search(null, null, b.level, null)) {
+            if (!b.matches(s)) continue;
+
+            if (b.top.size() < capacity) {
+                b.top.add(s);
+            } else if (BEST_FIRST.compare(s, b.top.last()) < 0) {
+                b.top.pollLast();
+                b.top.add(s);
+            }
+        }
+        b.stale = false;
+    }
+
+    private List<Board> boardsOf(Student s) {
+        String p = lower(s.getProgramme());
+        int l = s.getLevel();
+        return List.of(board(null, null), board(p, null), board(null, l), board(p, l));
+    }
+
+    private Board board(String programme, Integer level) {
+        return boards.computeIfAbsent(key(programme, level), k -> new Board(programme, level));
+    }
+
+    private static String key(String programme, Integer level) {
+        return (programme == null ? "*" : programme) + "|" + (level == null ? "*" : level);
+    }
+
+    // programme filter is case-insensitive (COLLATE NOCASE in SQL)
+    private static String lower(String s) {
+        return s == null ? "" : s.toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.template.repository;
+
+import com.template.Domain.Student;
+
+import java.util.List;
+
+// Result of StudentRepository.findPage: the rows plus where the next page starts.
+public class StudentPage {
+
+    // Position of the last row returned: its sort value + rowid (tie-breaker)
+    public static class Cursor {
+        private final Object sortValue;
+        private final long rowId;
+
+        public Cursor(Object sortValue, long rowId) {
+            this.sortValue = sortValue;
+            this.rowId = rowId;
+        }
+
+        public Object getSortValue() { return sortValue; }
+        public long getRowId() { return rowId; }
+    }
+
+    private final List<Student> rows;
+    private final Cursor next;   // null when there are no more rows
+
+    public StudentPage(List<Student> rows, Cursor next) {
+        this.rows = List.copyOf(rows);
+        this.next = next;
+    }
+
+    public List<Student> getRows() { return rows; }
+    public Cursor getNext() { return next; }
+    public boolean hasMore() { return next != null; }
+}
\ No newline at end of file
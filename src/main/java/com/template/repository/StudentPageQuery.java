@@ -0,0 +1,43 @@
+package com.template.repository;
+
+// One page request for the students table: filters + sort column + "after" cursor.
+// Pages are fetched with keyset (seek) pagination, never OFFSET.
+public class StudentPageQuery {
+
+    // Whitelisted sort columns (never put user text into ORDER BY)
+    public enum SortKey {
+        STUDENT_ID, FULL_NAME, PROGRAMME, LEVEL, GPA, EMAIL, PHONE, DATE_ADDED, STATUS
+    }
+
+    private final String programme;
+    private final Integer level;
+    private final String status;
+    private final SortKey sortKey;
+    private final boolean descending;
+    private final StudentPage.Cursor after;   // null = first page
+    private final int limit;
+
+    public StudentPageQuery(String programme, Integer level, String status,
+                            SortKey sortKey, boolean descending, StudentPage.Cursor after, int limit) {
+        this.programme = programme;
+        this.level = level;
+        this.status = status;
+        this.sortKey = sortKey == null ? SortKey.DATE_ADDED : sortKey;
+        this.descending = descending;
+        this.after = after;
+        this.limit = Math.max(1, limit);
+    }
+
+    // Same filters and sort, continuing after the given cursor
+    public StudentPageQuery next(StudentPage.Cursor cursor) {
+        return new StudentPageQuery(programme, level, status, sortKey, descending, cursor, limit);
+    }
+
+    public String getProgramme() { return programme; }
+    public Integer getLevel() { return level; }
+    public String getStatus() { return status; }
+    public SortKey getSortKey() { return sortKey; }
+    public boolean isDescending() { return descending; }
+    public StudentPage.Cursor getAfter() { return after; }
+    public int getLimit() { return limit; }
+}
\ No newline at end of file
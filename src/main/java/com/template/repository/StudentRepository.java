@@ -3,18 +3,40 @@ package com.template.repository;
 import com.template.Domain.Student;
 
 import java.util.List;
+import java.util.Map;
 
 public interface StudentRepository {
 
     void save(Student student);
 
+    // Bulk insert; returns failed rows as (index in list -> error message)
+    Map<Integer, String> saveAll(List<Student> students, int batchSize);
+
+    // Bulk insert-or-update by student ID; rows whose content hash matches the stored one are not written
+    UpsertResult upsertAll(List<Student> students, int batchSize);
+
     void update(Student student);
 
     List<Student> findAll();
 
+    // Single forward-only pass over every row (for one-scan reports/exports)
+    void streamAll(StudentRowVisitor visitor);
+
+    // Just student_id, content_hash and date_added of every row, by student ID (import checks)
+    void streamKeys(StudentKeyVisitor visitor);
+
+    // One page of the (filtered, sorted) table, continuing after query.getAfter()
+    StudentPage findPage(StudentPageQuery query);
+
     void delete(String studentId);
 
     List<Student> search(String keyword, String programme, Integer level, String status);
 
+    // Full-text keyword search (ID / name tokens, prefix match), best matches first
+    List<Student> searchRanked(String keyword, String programme, Integer level, String status, int limit);
+
+    // minInclusive <= gpa < maxExclusive, lowest GPA first (a missing GPA counts as 0.0)
+    List<Student> findByGpaRange(double minInclusive, double maxExclusive);
+
     boolean existsById(String studentId);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.template.repository;
+
+// Receives one students row at a time while a query is streaming (no list is built)
+public interface StudentRowVisitor {
+
+    void visit(String studentId, String fullName, String programme, int level, double gpa,
+               String email, String phone, String dateAdded, String status) throws Exception;
+}
\ No newline at end of file
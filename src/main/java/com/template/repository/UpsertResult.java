@@ -0,0 +1,22 @@
+package com.template.repository;
+
+import java.util.BitSet;
+import java.util.Map;
+
+// Outcome of StudentRepository.upsertAll, by index in the list:
+// failed rows (with a message), and rows left as they were because their content hash matched.
+// Every other row was inserted or updated.
+public class UpsertResult {
+
+    private final Map<Integer, String> failures;
+    private final BitSet unchanged;
+
+    public UpsertResult(Map<Integer, String> failures, BitSet unchanged) {
+        this.failures = failures;
+        this.unchanged = unchanged;
+    }
+
+    public Map<Integer, String> getFailures() { return failures; }
+    public boolean isUnchanged(int index) { return unchanged.get(index); }
+    public int getUnchangedCount() { return unchanged.cardinality(); }
+}
\ No newline at end of file
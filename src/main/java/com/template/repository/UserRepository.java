@@ -6,4 +6,5 @@ public interface UserRepository {
     void save(User user);
     User findByEmail(String email);
     boolean existsByEmail(String email);
+    void updatePasswordHash(String email, String passwordHash);
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.template.repository.sqlite;
+
+import com.template.Domain.ImportCheckpoint;
+import com.template.repository.ImportCheckpointRepository;
+import com.template.util.CsvUtil;
+import com.template.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SQLiteImportCheckpointRepository implements ImportCheckpointRepository {
+
+    private static final String SAVE_SQL = """
+            INSERT OR REPLACE INTO import_checkpoints(
+                file_size, file_modified, head_hash, file_path, mode,
+                byte_offset, row_number, inserted, updated, unchanged, rejected, duplicates,
+                error_report, error_report_bytes, updated_at, error_counts)
+            VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Override
+    public ImportCheckpoint find(long fileSize, long fileModified, String headHash) {
+
+        String sql = "SELECT * FROM import_checkpoints WHERE file_size = ? AND file_modified = ? AND head_hash = ?";
+
+        try (Connection conn = DatabaseUtil.connect();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setLong(1, fileSize);
+            ps.setLong(2, fileModified);
+            ps.setString(3, headHash);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return map(rs);
+                }
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    @Override
+    public void save(ImportCheckpoint c) {
+
+        try (Connection conn = DatabaseUtil.connectWriter();
+             PreparedStatement ps = conn.prepareStatement(SAVE_SQL)) {
+
+            ps.setLong(1, c.getFileSize());
+            ps.setLong(2, c.getFileModified());
+            ps.setString(3, c.getHeadHash());
+            ps.setString(4, c.getFilePath());
+            ps.setString(5, c.getMode());
+            ps.setLong(6, c.getByteOffset());
+            ps.setInt(7, c.getRowNumber());
+            ps.setInt(8, c.getInserted());
+            ps.setInt(9, c.getUpdated());
+            ps.setInt(10, c.getUnchanged());
+            ps.setInt(11, c.getRejected());
+            ps.setInt(12, c.getDuplicates());
+            ps.setString(13, c.getErrorReport());
+            ps.setLong(14, c.getErrorReportBytes());
+            ps.setString(15, c.getUpdatedAt().toString());
+            ps.setString(16, encodeCounts(c.getErrorCounts()));
+            ps.executeUpdate();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save import checkpoint.");
+        }
+    }
+
+    @Override
+    public void delete(ImportCheckpoint c) {
+
+        String sql = "DELETE FROM import_checkpoints WHERE file_size = ? AND file_modified = ? AND head_hash = ?";
+
+        try (Connection conn = DatabaseUtil.connectWriter();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setLong(1, c.getFileSize());
+            ps.setLong(2, c.getFileModified());
+            ps.setString(3, c.getHeadHash());
+            ps.executeUpdate();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to delete import checkpoint.");
+        }
+    }
+
+    private ImportCheckpoint map(ResultSet rs) throws Exception {
+        ImportCheckpoint c = new ImportCheckpoint();
+        c.setFileSize(rs.getLong("file_size"));
+        c.setFileModified(rs.getLong("file_modified"));
+        c.setHeadHash(rs.getString("head_hash"));
+        c.setFilePath(rs.getString("file_path"));
+        c.setMode(rs.getString("mode"));
+        c.setByteOffset(rs.getLong("byte_offset"));
+        c.setRowNumber(rs.getInt("row_number"));
+        c.setInserted(rs.getInt("inserted"));
+        c.setUpdated(rs.getInt("updated"));
+        c.setUnchanged(rs.getInt("unchanged"));
+        c.setRejected(rs.getInt("rejected"));
+        c.setDuplicates(rs.getInt("duplicates"));
+        c.setErrorReport(rs.getString("error_report"));
+        c.setErrorReportBytes(rs.getLong("error_report_bytes"));
+        c.setUpdatedAt(LocalDateTime.parse(rs.getString("updated_at")));
+        c.setErrorCounts(decodeCounts(rs.getString("error_counts")));
+        return c;
+    }
+
+    // problem,count,problem,count,... (messages may contain commas, so they are CSV-escaped)
+    private static String encodeCounts(Map<String, Integer> counts) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Integer> e : counts.entrySet()) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(CsvUtil.escape(e.getKey())).append(',').append(e.getValue());
+        }
+        return sb.toString();
+    }
+
+    private static Map<String, Integer> decodeCounts(String encoded) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        if (encoded == null || encoded.isEmpty()) return counts;
+
+        List<String> parts = CsvUtil.parseLine(encoded);
+        for (int i = 0; i + 1 < parts.size(); i += 2) {
+            counts.put(parts.get(i), Integer.parseInt(parts.get(i + 1).trim()));
+        }
+        return counts;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.template.repository.sqlite;
+
+import com.template.Domain.DashboardStats;
+import com.template.Domain.ProgrammeSummaryRow;
+import com.template.Domain.TopPerformerRow;
+import com.template.repository.ReportRepository;
+import com.template.repository.StudentRowVisitor;
+import com.template.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SQLiteReportRepository implements ReportRepository {
+
+    // Fixed bands (stable ordering) - must match the CASE below
+    private static final String[] GPA_BANDS = {"0.0-0.9", "1.0-1.9", "2.0-2.9", "3.0-3.4", "3.5-4.0"};
+
+    // student_stats / programme_stats are kept in step with students by triggers (migration 5)
+    @Override
+    public DashboardStats dashboardStats() {
+
+        String sql = "SELECT total, active, inactive, gpa_sum_e4 FROM student_stats WHERE id = 1";
+
+        try (Connection conn = DatabaseUtil.connect();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            if (rs.next()) {
+                int total = rs.getInt("total");
+                return new DashboardStats(
+                        total,
+                        rs.getInt("active"),
+                        rs.getInt("inactive"),
+                        total == 0 ? 0.0 : rs.getLong("gpa_sum_e4") / 10000.0 / total
+                );
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return new DashboardStats(0, 0, 0, 0.0);
+    }
+
+    @Override
+    public int countStudents() {
+
+        String sql = "SELECT total FROM student_stats WHERE id = 1";
+
+        try (Connection conn = DatabaseUtil.connect();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            return rs.next() ? rs.getInt(1) : 0;
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    @Override
+    public double averageGpa() {
+        // missing GPA counts as 0.0 (same as Student.getGpa())
+        return dashboardStats().getAvgGpa();
+    }
+
+    @Override
+    public List<ProgrammeSummaryRow> programmeSummary() {
+
+        List<ProgrammeSummaryRow> rows = new ArrayList<>();
+
+        String sql = """
+            SELECT programme, total, gpa_sum_e4 / 10000.0 / total AS avg_gpa
+            FROM programme_stats
+            ORDER BY programme COLLATE NOCASE
+        """;
+
+        try (Connection conn = DatabaseUtil.connect();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                rows.add(new ProgrammeSummaryRow(
+                        rs.getString("programme"),
+                        rs.getInt("total"),
+                        rs.getDouble("avg_gpa")
+                ));
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return rows;
+    }
+
+    @Override
+    public Map<String, Long> gpaDistribution() {
+
+        LinkedHashMap<String, Long> map = new LinkedHashMap<>();
+        for (String band : GPA_BANDS) {
+            map.put(band, 0L);
+        }
+
+        String sql = """
+            SELECT CASE
+                     WHEN COALESCE(gpa, 0.0) < 1.0 THEN 0
+                     WHEN gpa < 2.0 THEN 1
+                     WHEN gpa < 3.0 THEN 2
+                     WHEN gpa < 3.5 THEN 3
+                     ELSE 4
+                   END AS band,
+                   COUNT(*) AS total
+            FROM students
+            GROUP BY band
+        """;
+
+        try (Connection conn = DatabaseUtil.connect();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                map.put(GPA_BANDS[rs.getInt("band")], rs.getLong("total"));
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return map;
+    }
+
+    @Override
+    public List<TopPerformerRow> topPerformers(String programme, Integer level, int limit) {
+
+        boolean byProgramme = programme != null && !programme.isBlank();
+        boolean byLevel = level != null && level != 0;
+
+        // only add the predicates we need so SQLite can use an index
+        StringBuilder sql = new StringBuilder(
+                "SELECT student_id, full_name, programme, level, gpa FROM students WHERE 1=1 ");
+        if (byProgramme) sql.append("AND programme = ? COLLATE NOCASE ");
+        if (byLevel) sql.append("AND level = ? ");
+        sql.append("ORDER BY gpa DESC, full_name COLLATE NOCASE ASC LIMIT ?");
+
+        List<TopPerformerRow> rows = new ArrayList<>();
+
+        try (Connection conn = DatabaseUtil.connect();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            int i = 1;
+            if (byProgramme) ps.setString(i++, programme);
+            if (byLevel) ps.setInt(i++, level);
+            ps.setInt(i, limit);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                int rank = 1;
+                while (rs.next()) {
+                    rows.add(new TopPerformerRow(
+                            rank++,
+                            rs.getString("student_id"),
+                            rs.getString("full_name"),
+                            rs.getString("programme"),
+                            rs.getInt("level"),
+                            rs.getDouble("gpa")
+                    ));
+                }
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return rows;
+    }
+
+    @Override
+    public void streamAtRisk(double threshold, StudentRowVisitor visitor) {
+
+        // missing GPA counts as 0.0, and NULLs sort first (lowest) like 0.0 would
+        String sql = "SELECT " + StudentMapper.STREAM_COLUMNS
+                + " FROM students WHERE gpa < ? OR gpa IS NULL ORDER BY gpa ASC";
+
+        try (Connection conn = DatabaseUtil.connect();
+             PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            ps.setDouble(1, threshold);
+            ps.setFetchSize(DatabaseUtil.fetchSize());
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    // missing GPA reads as 0.0
+                    if (rs.getDouble(5) < threshold) StudentMapper.visit(rs, visitor);
+                }
+            }
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read students.");
+        }
+    }
+}
\ No newline at end of file
@@ -36,7 +36,7 @@ public class SQLiteSettingsRepository implements SettingsRepository {
 
         String sql = "INSERT OR REPLACE INTO settings(key, value) VALUES(?, ?)";
 
-        try (Connection conn = DatabaseUtil.connect();
+        try (Connection conn = DatabaseUtil.connectWriter();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, "at_risk_threshold");
@@ -74,7 +74,7 @@ public class SQLiteSettingsRepository implements SettingsRepository {
 
         String sql = "INSERT INTO programmes(name) VALUES(?)";
 
-        try (Connection conn = DatabaseUtil.connect();
+        try (Connection conn = DatabaseUtil.connectWriter();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, name);
@@ -90,7 +90,7 @@ public class SQLiteSettingsRepository implements SettingsRepository {
 
         String sql = "UPDATE programmes SET name = ? WHERE name = ?";
 
-        try (Connection conn = DatabaseUtil.connect();
+        try (Connection conn = DatabaseUtil.connectWriter();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, newName);
@@ -107,7 +107,7 @@ public class SQLiteSettingsRepository implements SettingsRepository {
 
         String sql = "DELETE FROM programmes WHERE name = ?";
 
-        try (Connection conn = DatabaseUtil.connect();
+        try (Connection conn = DatabaseUtil.connectWriter();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, name);
@@ -1,39 +1,92 @@
 package com.template.repository.sqlite;
 
 import com.template.Domain.Student;
+import com.template.repository.StudentPage;
+import com.template.repository.StudentPageQuery;
+import com.template.repository.StudentHash;
+import com.template.repository.StudentKeyVisitor;
 import com.template.repository.StudentRepository;
+import com.template.repository.StudentRowVisitor;
+import com.template.repository.UpsertResult;
 import com.template.util.DatabaseUtil;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.time.LocalDate;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 public class SQLiteStudentRepository implements StudentRepository {
 
-    @Override
-    public void save(Student s) {
+    private static final String INSERT_SQL = """
+            INSERT INTO students(student_id, full_name, programme, level, gpa, email, phone, date_added, status, content_hash)
+            VALUES(?,?,?,?,?,?,?,?,?,?)
+        """;
 
-        String sql = """
-            INSERT INTO students(student_id, full_name, programme, level, gpa, email, phone, date_added, status)
-            VALUES(?,?,?,?,?,?,?,?,?)
+    // Insert, or overwrite the existing row -- unless its stored content hash already matches,
+    // in which case nothing is written (update count 0)
+    private static final String UPSERT_SQL = INSERT_SQL + """
+            ON CONFLICT(student_id) DO UPDATE SET
+                full_name=excluded.full_name,
+                programme=excluded.programme,
+                level=excluded.level,
+                gpa=excluded.gpa,
+                email=excluded.email,
+                phone=excluded.phone,
+                date_added=excluded.date_added,
+                status=excluded.status,
+                content_hash=excluded.content_hash
+            WHERE students.content_hash IS NOT excluded.content_hash
         """;
 
-        try (Connection conn = DatabaseUtil.connect();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    // search() / searchRanked() SQL for every filter combination, built once.
+    // The same text for the same shape lets the connection's statement cache reuse the compiled statement.
+    private static final int KEYWORD = 1, PROGRAMME = 2, LEVEL = 4, STATUS = 8;
+
+    private static final String[] SEARCH_SQL = new String[16];
+    private static final String[] RANKED_SQL = new String[16];
+
+    static {
+        for (int shape = 0; shape < 16; shape++) {
+            StringBuilder filters = new StringBuilder();
+            // exact match, found through idx_students_programme_nocase_level_gpa
+            if ((shape & PROGRAMME) != 0) filters.append("AND programme=? COLLATE NOCASE AND programme=? ");
+            if ((shape & LEVEL) != 0) filters.append("AND level=? ");
+            if ((shape & STATUS) != 0) filters.append("AND status=? ");
+
+            SEARCH_SQL[shape] = "SELECT * FROM students WHERE 1=1 "
+                    + ((shape & KEYWORD) != 0 ? "AND (student_id LIKE ? OR full_name LIKE ?) " : "")
+                    + filters;
+
+            // bm25: lower is better; a hit on student_id weighs more than one on the name
+            RANKED_SQL[shape] = "SELECT s.* FROM students_fts f JOIN students s ON s.rowid = f.rowid "
+                    + "WHERE students_fts MATCH ? "
+                    + filters.toString().replace("AND ", "AND s.")
+                    + "ORDER BY bm25(students_fts, 5.0, 1.0) LIMIT ?";
+        }
+    }
+
+    private static int shapeOf(String keyword, String programme, Integer level, String status) {
+        int shape = 0;
+        if (keyword != null && !keyword.isBlank()) shape |= KEYWORD;
+        if (programme != null && !programme.isBlank()) shape |= PROGRAMME;
+        if (level != null) shape |= LEVEL;
+        if (status != null && !status.isBlank()) shape |= STATUS;
+        return shape;
+    }
+
+    @Override
+    public void save(Student s) {
 
-            ps.setString(1, s.getStudentId());
-            ps.setString(2, s.getFullName());
-            ps.setString(3, s.getProgramme());
-            ps.setInt(4, s.getLevel());
-            ps.setDouble(5, s.getGpa());
-            ps.setString(6, s.getEmail());
-            ps.setString(7, s.getPhone());
-            ps.setString(8, s.getDateAdded() == null ? null : s.getDateAdded().toString());
-            ps.setString(9, s.getStatus());
+        try (Connection conn = DatabaseUtil.connectWriter();
+             PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
 
+            bindInsert(ps, s);
             ps.executeUpdate();
 
         } catch (Exception e) {
@@ -41,6 +94,191 @@ public class SQLiteStudentRepository implements StudentRepository {
         }
     }
 
+    // Inserts in JDBC batches, one transaction per batch.
+    // If a batch hits a constraint error it is rolled back and replayed row by row,
+    // so only the offending rows fail. Returns failures as (list index -> message).
+    // No SAVEPOINT: the batch is already its own transaction, and a savepoint journal
+    // (kept in memory with temp_store=MEMORY) grows with every page the batch touches.
+    @Override
+    public Map<Integer, String> saveAll(List<Student> students, int batchSize) {
+
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        if (students == null || students.isEmpty()) return failures;
+
+        int size = Math.max(1, batchSize);
+
+        try (Connection conn = DatabaseUtil.connectWriter();
+             PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+
+            conn.setAutoCommit(false);
+
+            for (int from = 0; from < students.size(); from += size) {
+                int to = Math.min(from + size, students.size());
+
+                try {
+                    for (int i = from; i < to; i++) {
+                        bindInsert(ps, students.get(i));
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                } catch (SQLException e) {
+                    // sqlite-jdbc reports a failed batch as a plain SQLException
+                    ps.clearBatch();
+                    conn.rollback();
+
+                    // replay this batch one row at a time (same transaction)
+                    for (int i = from; i < to; i++) {
+                        try {
+                            bindInsert(ps, students.get(i));
+                            ps.executeUpdate();
+                        } catch (SQLException rowError) {
+                            failures.put(i, saveErrorMessage(rowError));
+                        }
+                    }
+                }
+
+                conn.commit();
+            }
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save students.");
+        }
+
+        return failures;
+    }
+
+    // Same batching and row-by-row replay as saveAll, with UPSERT_SQL
+    @Override
+    public UpsertResult upsertAll(List<Student> students, int batchSize) {
+
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        BitSet unchanged = new BitSet();
+        if (students == null || students.isEmpty()) return new UpsertResult(failures, unchanged);
+
+        int size = Math.max(1, batchSize);
+
+        try (Connection conn = DatabaseUtil.connectWriter();
+             PreparedStatement ps = conn.prepareStatement(UPSERT_SQL)) {
+
+            conn.setAutoCommit(false);
+
+            for (int from = 0; from < students.size(); from += size) {
+                int to = Math.min(from + size, students.size());
+
+                try {
+                    for (int i = from; i < to; i++) {
+                        bindInsert(ps, students.get(i));
+                        ps.addBatch();
+                    }
+                    int[] counts = ps.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] == 0) unchanged.set(from + i);
+                    }
+
+                } catch (SQLException e) {
+                    ps.clearBatch();
+                    conn.rollback();
+                    unchanged.clear(from, to);
+
+                    for (int i = from; i < to; i++) {
+                        try {
+                            bindInsert(ps, students.get(i));
+                            if (ps.executeUpdate() == 0) unchanged.set(i);
+                        } catch (SQLException rowError) {
+                            failures.put(i, saveErrorMessage(rowError));
+                        }
+                    }
+                }
+
+                conn.commit();
+            }
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save students.");
+        }
+
+        return new UpsertResult(failures, unchanged);
+    }
+
+    @Override
+    public List<Student> searchRanked(String keyword, String programme, Integer level, String status, int limit) {
+
+        List<Student> list = new ArrayList<>();
+
+        String match = toMatchQuery(keyword);
+        if (match == null) return list;
+
+        int shape = shapeOf(null, programme, level, status);
+
+        try (Connection conn = DatabaseUtil.connect();
+             PreparedStatement ps = conn.prepareStatement(RANKED_SQL[shape])) {
+
+            int i = 1;
+            ps.setString(i++, match);
+            i = bindFilters(ps, i, shape, programme, level, status);
+            ps.setInt(i, limit);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(StudentMapper.map(rs));
+                }
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return list;
+    }
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // "ama ose" -> "ama"* "ose"*  (every token must match, as a prefix)
+    private String toMatchQuery(String keyword) {
+        if (keyword == null) return null;
+
+        StringBuilder q = new StringBuilder();
+        for (String token : NON_WORD.split(keyword)) {
+            if (token.isEmpty()) continue;
+            if (q.length() > 0) q.append(' ');
+            q.append('"').append(token).append("\"*");
+        }
+        return q.length() == 0 ? null : q.toString();
+    }
+
+    // Binds the programme / level / status filters present in `shape`; returns the next parameter index
+    private int bindFilters(PreparedStatement ps, int i, int shape, String programme, Integer level, String status)
+            throws SQLException {
+        if ((shape & PROGRAMME) != 0) {
+            ps.setString(i++, programme);
+            ps.setString(i++, programme);
+        }
+        if ((shape & LEVEL) != 0) ps.setInt(i++, level);
+        if ((shape & STATUS) != 0) ps.setString(i++, status);
+        return i;
+    }
+
+    private void bindInsert(PreparedStatement ps, Student s) throws SQLException {
+        ps.setString(1, s.getStudentId());
+        ps.setString(2, s.getFullName());
+        ps.setString(3, s.getProgramme());
+        ps.setInt(4, s.getLevel());
+        ps.setDouble(5, s.getGpa());
+        ps.setString(6, s.getEmail());
+        ps.setString(7, s.getPhone());
+        ps.setString(8, s.getDateAdded() == null ? null : s.getDateAdded().toString());
+        ps.setString(9, s.getStatus());
+        ps.setLong(10, StudentHash.of(s));
+    }
+
+    private String saveErrorMessage(SQLException e) {
+        String msg = e.getMessage() == null ? "" : e.getMessage();
+        if (msg.contains("UNIQUE") || msg.contains("PRIMARY KEY")) return "Duplicate student ID";
+        if (msg.contains("CHECK")) return "Value out of allowed range";
+        return "Failed to save student.";
+    }
+
     @Override
     public void update(Student s) {
 
@@ -53,11 +291,12 @@ public class SQLiteStudentRepository implements StudentRepository {
                 email=?,
                 phone=?,
                 date_added=?,
-                status=?
+                status=?,
+                content_hash=?
             WHERE student_id=?
         """;
 
-        try (Connection conn = DatabaseUtil.connect();
+        try (Connection conn = DatabaseUtil.connectWriter();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, s.getFullName());
@@ -68,7 +307,8 @@ public class SQLiteStudentRepository implements StudentRepository {
             ps.setString(6, s.getPhone());
             ps.setString(7, s.getDateAdded() == null ? null : s.getDateAdded().toString());
             ps.setString(8, s.getStatus());
-            ps.setString(9, s.getStudentId());
+            ps.setLong(9, StudentHash.of(s));
+            ps.setString(10, s.getStudentId());
 
             ps.executeUpdate();
 
@@ -88,7 +328,7 @@ public class SQLiteStudentRepository implements StudentRepository {
              ResultSet rs = ps.executeQuery()) {
 
             while (rs.next()) {
-                list.add(map(rs));
+                list.add(StudentMapper.map(rs));
             }
 
         } catch (Exception e) {
@@ -99,81 +339,237 @@ public class SQLiteStudentRepository implements StudentRepository {
     }
 
     @Override
-    public void delete(String studentId) {
+    public void streamAll(StudentRowVisitor visitor) {
 
-        String sql = "DELETE FROM students WHERE student_id=?";
+        String sql = "SELECT " + StudentMapper.STREAM_COLUMNS + " FROM students";
 
         try (Connection conn = DatabaseUtil.connect();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
 
-            ps.setString(1, studentId);
-            ps.executeUpdate();
+            ps.setFetchSize(DatabaseUtil.fetchSize());
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    StudentMapper.visit(rs, visitor);
+                }
+            }
 
         } catch (Exception e) {
-            e.printStackTrace();
+            throw new RuntimeException("Failed to read students.");
         }
     }
 
     @Override
-    public boolean existsById(String studentId) {
+    public void streamKeys(StudentKeyVisitor visitor) {
 
-        String sql = "SELECT 1 FROM students WHERE student_id=? LIMIT 1";
+        // walks the primary key index, so no sort
+        String sql = "SELECT student_id, content_hash, date_added FROM students ORDER BY student_id";
+        // rows not written since content_hash was added: hash the stored columns, as a merge does
+        String rowSql = "SELECT * FROM students WHERE student_id=?";
 
         try (Connection conn = DatabaseUtil.connect();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             PreparedStatement rowPs = conn.prepareStatement(rowSql)) {
+
+            ps.setFetchSize(DatabaseUtil.fetchSize());
 
-            ps.setString(1, studentId);
             try (ResultSet rs = ps.executeQuery()) {
-                return rs.next();
+                while (rs.next()) {
+                    String id = rs.getString(1);
+                    long hash = rs.getLong(2);
+                    if (rs.wasNull()) hash = hashOfStoredRow(rowPs, id);
+                    visitor.visit(id, hash, rs.getString(3));
+                }
             }
 
         } catch (Exception e) {
-            return false;
+            throw new RuntimeException("Failed to read students.");
+        }
+    }
+
+    private static long hashOfStoredRow(PreparedStatement rowPs, String studentId) throws Exception {
+        rowPs.setString(1, studentId);
+        try (ResultSet rs = rowPs.executeQuery()) {
+            rs.next();
+            return StudentHash.of(StudentMapper.map(rs));
         }
     }
 
     @Override
-    public List<Student> search(String keyword, String programme, Integer level, String status) {
+    public StudentPage findPage(StudentPageQuery q) {
 
-        List<Student> list = new ArrayList<>();
+        List<Student> rows = new ArrayList<>(q.getLimit());
+        List<Object> sortValues = new ArrayList<>(q.getLimit());
+        List<Long> rowIds = new ArrayList<>(q.getLimit());
+
+        // SQLite sorts NULLs first: ASC pages the NULL rows before the values, DESC after them.
+        // Each part is its own seek so the index order is used (an OR across both is not).
+        boolean nullable = isNullable(q.getSortKey());
+        boolean[] parts = q.isDescending() ? new boolean[]{false, true} : new boolean[]{true, false};
+
+        StudentPage.Cursor after = q.getAfter();
+        boolean cursorInNulls = after != null && after.getSortValue() == null;
+        boolean reachedCursorPart = after == null;
 
-        StringBuilder sql = new StringBuilder("SELECT * FROM students WHERE 1=1 ");
+        try (Connection conn = DatabaseUtil.connect()) {
 
-        if (keyword != null && !keyword.isBlank()) {
-            sql.append("AND (student_id LIKE ? OR full_name LIKE ?) ");
+            for (boolean nullsPart : parts) {
+                if (nullsPart && !nullable) continue;
+
+                StudentPage.Cursor from = null;
+                if (!reachedCursorPart) {
+                    if (nullsPart != cursorInNulls) continue;   // this part was fully paged already
+                    reachedCursorPart = true;
+                    from = after;
+                }
+
+                // one extra row tells us whether another page exists
+                int want = q.getLimit() + 1 - rows.size();
+                if (want <= 0) break;
+                fetchPagePart(conn, q, nullsPart, from, want, rows, sortValues, rowIds);
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        StudentPage.Cursor next = null;
+        if (rows.size() > q.getLimit()) {
+            int last = q.getLimit() - 1;
+            next = new StudentPage.Cursor(sortValues.get(last), rowIds.get(last));
+            rows.remove(rows.size() - 1);
         }
-        if (programme != null && !programme.isBlank()) {
-            sql.append("AND programme=? ");
+
+        return new StudentPage(rows, next);
+    }
+
+    private void fetchPagePart(Connection conn, StudentPageQuery q, boolean nullsPart, StudentPage.Cursor from,
+                               int limit, List<Student> rows, List<Object> sortValues, List<Long> rowIds) throws Exception {
+
+        String sortExpr = sortExpression(q.getSortKey());
+        String dir = q.isDescending() ? "DESC" : "ASC";
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT rowid AS page_rowid, " + sortExpr + " AS page_sort, * FROM students WHERE 1=1 ");
+        List<Object> params = new ArrayList<>();
+
+        if (q.getProgramme() != null && !q.getProgramme().isBlank()) {
+            sql.append("AND programme=? COLLATE NOCASE AND programme=? ");
+            params.add(q.getProgramme());
+            params.add(q.getProgramme());
         }
-        if (level != null) {
+        if (q.getLevel() != null) {
             sql.append("AND level=? ");
+            params.add(q.getLevel());
         }
-        if (status != null && !status.isBlank()) {
+        if (q.getStatus() != null && !q.getStatus().isBlank()) {
             sql.append("AND status=? ");
+            params.add(q.getStatus());
         }
 
-        try (Connection conn = DatabaseUtil.connect();
-             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
-
-            int i = 1;
-
-            if (keyword != null && !keyword.isBlank()) {
-                ps.setString(i++, "%" + keyword + "%");
-                ps.setString(i++, "%" + keyword + "%");
+        if (nullsPart) {
+            sql.append("AND ").append(sortExpr).append(" IS NULL ");
+            if (from != null) {
+                sql.append(q.isDescending() ? "AND rowid < ? " : "AND rowid > ? ");
+                params.add(from.getRowId());
             }
-            if (programme != null && !programme.isBlank()) {
-                ps.setString(i++, programme);
+            sql.append("ORDER BY rowid ").append(dir);
+        } else {
+            sql.append("AND ").append(sortExpr).append(" IS NOT NULL ");
+            if (from != null) {
+                // the plain bound lets SQLite seek the index; the row value breaks ties on rowid
+                String op = q.isDescending() ? "<" : ">";
+                sql.append("AND ").append(sortExpr).append(' ').append(op).append("= ? ");
+                sql.append("AND (").append(sortExpr).append(", rowid) ").append(op).append(" (?, ?) ");
+                params.add(from.getSortValue());
+                params.add(from.getSortValue());
+                params.add(from.getRowId());
             }
-            if (level != null) {
-                ps.setInt(i++, level);
+            sql.append("ORDER BY ").append(sortExpr).append(' ').append(dir).append(", rowid ").append(dir);
+        }
+        sql.append(" LIMIT ?");
+        params.add(limit);
+
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
             }
-            if (status != null && !status.isBlank()) {
-                ps.setString(i++, status);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rowIds.add(rs.getLong("page_rowid"));
+                    sortValues.add(rs.getObject("page_sort"));
+                    rows.add(StudentMapper.map(rs));
+                }
             }
+        }
+    }
+
+    private String sortExpression(StudentPageQuery.SortKey key) {
+        switch (key) {
+            case STUDENT_ID: return "student_id";
+            case FULL_NAME: return "full_name COLLATE NOCASE";
+            case PROGRAMME: return "programme COLLATE NOCASE";
+            case LEVEL: return "level";
+            case GPA: return "gpa";
+            case EMAIL: return "email COLLATE NOCASE";
+            case PHONE: return "phone";
+            case STATUS: return "status";
+            default: return "date_added";
+        }
+    }
+
+    // Columns without NOT NULL in the students table
+    private boolean isNullable(StudentPageQuery.SortKey key) {
+        switch (key) {
+            case GPA:
+            case EMAIL:
+            case PHONE:
+            case DATE_ADDED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void delete(String studentId) {
+
+        String sql = "DELETE FROM students WHERE student_id=?";
+
+        try (Connection conn = DatabaseUtil.connectWriter();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setString(1, studentId);
+            ps.executeUpdate();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public List<Student> findByGpaRange(double minInclusive, double maxExclusive) {
+
+        List<Student> list = new ArrayList<>();
+        if (!(minInclusive < maxExclusive)) return list;
+
+        // NULL sorts first, like 0.0 would (kept as its own OR term so idx_students_gpa is still used)
+        boolean withNull = minInclusive <= 0.0 && 0.0 < maxExclusive;
+        String sql = "SELECT * FROM students WHERE (gpa >= ? AND gpa < ?)"
+                + (withNull ? " OR gpa IS NULL" : "")
+                + " ORDER BY gpa ASC";
+
+        try (Connection conn = DatabaseUtil.connect();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setDouble(1, minInclusive);
+            ps.setDouble(2, maxExclusive);
 
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    list.add(map(rs));
+                    list.add(StudentMapper.map(rs));
                 }
             }
 
@@ -184,25 +580,51 @@ public class SQLiteStudentRepository implements StudentRepository {
         return list;
     }
 
-    private Student map(ResultSet rs) throws Exception {
+    @Override
+    public boolean existsById(String studentId) {
+
+        String sql = "SELECT 1 FROM students WHERE student_id=? LIMIT 1";
 
-        Student s = new Student();
+        try (Connection conn = DatabaseUtil.connect();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
 
-        s.setStudentId(rs.getString("student_id"));
-        s.setFullName(rs.getString("full_name"));
-        s.setProgramme(rs.getString("programme"));
-        s.setLevel(rs.getInt("level"));
-        s.setGpa(rs.getDouble("gpa"));
-        s.setEmail(rs.getString("email"));
-        s.setPhone(rs.getString("phone"));
+            ps.setString(1, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
 
-        String dateStr = rs.getString("date_added");
-        if (dateStr != null && !dateStr.isBlank()) {
-            s.setDateAdded(LocalDate.parse(dateStr));
+        } catch (Exception e) {
+            return false;
         }
+    }
+
+    @Override
+    public List<Student> search(String keyword, String programme, Integer level, String status) {
+
+        List<Student> list = new ArrayList<>();
+        int shape = shapeOf(keyword, programme, level, status);
 
-        s.setStatus(rs.getString("status"));
+        try (Connection conn = DatabaseUtil.connect();
+             PreparedStatement ps = conn.prepareStatement(SEARCH_SQL[shape])) {
+
+            int i = 1;
 
-        return s;
+            if ((shape & KEYWORD) != 0) {
+                ps.setString(i++, "%" + keyword + "%");
+                ps.setString(i++, "%" + keyword + "%");
+            }
+            bindFilters(ps, i, shape, programme, level, status);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(StudentMapper.map(rs));
+                }
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return list;
     }
 }
\ No newline at end of file
@@ -17,7 +17,7 @@ public class SQLiteUserRepository implements UserRepository {
             VALUES(?,?,?,?)
         """;
 
-        try (Connection conn = DatabaseUtil.connect();
+        try (Connection conn = DatabaseUtil.connectWriter();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, user.getEmail());
@@ -73,4 +73,20 @@ public class SQLiteUserRepository implements UserRepository {
             return false;
         }
     }
+
+    @Override
+    public void updatePasswordHash(String email, String passwordHash) {
+        String sql = "UPDATE users SET password_hash = ? WHERE email = ?";
+
+        try (Connection conn = DatabaseUtil.connectWriter();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setString(1, passwordHash);
+            ps.setString(2, email);
+            ps.executeUpdate();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to update password.");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.template.repository.sqlite;
+
+import com.template.Domain.Student;
+import com.template.repository.StudentRowVisitor;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+
+// Maps one row of the students table to a Student (shared by the SQLite repositories)
+class StudentMapper {
+
+    // Column list for streaming queries (see visit)
+    static final String STREAM_COLUMNS =
+            "student_id, full_name, programme, level, gpa, email, phone, date_added, status";
+
+    private StudentMapper() {}
+
+    // Hands the current row (selected with STREAM_COLUMNS) to the visitor without building a Student
+    static void visit(ResultSet rs, StudentRowVisitor visitor) throws Exception {
+        visitor.visit(
+                rs.getString(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getInt(4),
+                rs.getDouble(5),
+                rs.getString(6),
+                rs.getString(7),
+                rs.getString(8),
+                rs.getString(9)
+        );
+    }
+
+    static Student map(ResultSet rs) throws Exception {
+
+        Student s = new Student();
+
+        s.setStudentId(rs.getString("student_id"));
+        s.setFullName(rs.getString("full_name"));
+        s.setProgramme(rs.getString("programme"));
+        s.setLevel(rs.getInt("level"));
+        s.setGpa(rs.getDouble("gpa"));
+        s.setEmail(rs.getString("email"));
+        s.setPhone(rs.getString("phone"));
+
+        String dateStr = rs.getString("date_added");
+        if (dateStr != null && !dateStr.isBlank()) {
+            s.setDateAdded(LocalDate.parse(dateStr));
+        }
+
+        s.setStatus(rs.getString("status"));
+
+        return s;
+    }
+}
\ No newline at end of file
@@ -1,15 +1,18 @@
 package com.template.service;
 
 import com.template.Domain.User;
+import com.template.repository.Repositories;
 import com.template.repository.UserRepository;
-import com.template.repository.sqlite.SQLiteUserRepository;
-import com.template.util.PasswordUtil;
+import com.template.util.AppExecutors;
+import com.template.util.AppLogger;
+import com.template.util.PasswordHasher;
 
 import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
 
 public class AuthService {
 
-    private final UserRepository userRepo = new SQLiteUserRepository();
+    private final UserRepository userRepo = Repositories.users();
 
     public void register(String fullName, String email, String password, String confirmPassword) {
 
@@ -36,7 +39,7 @@ public class AuthService {
         User u = new User();
         u.setFullName(fullName.trim());
         u.setEmail(email.trim().toLowerCase());
-        u.setPasswordHash(PasswordUtil.hash(password));
+        u.setPasswordHash(PasswordHasher.hash(password));
         u.setDateCreated(LocalDate.now());
 
         userRepo.save(u);
@@ -53,9 +56,28 @@ public class AuthService {
             throw new IllegalArgumentException("Account not found. Please sign up first.");
         }
 
-        String hash = PasswordUtil.hash(password);
-        if (!hash.equals(u.getPasswordHash())) {
+        if (!PasswordHasher.verify(password, u.getPasswordHash())) {
             throw new IllegalArgumentException("Incorrect password.");
         }
+
+        // Old (SHA-256) or weaker hash: store one made with the current policy
+        if (PasswordHasher.needsRehash(u.getPasswordHash())) {
+            try {
+                userRepo.updatePasswordHash(u.getEmail(), PasswordHasher.hash(password));
+            } catch (RuntimeException e) {
+                AppLogger.warn("Password rehash failed for " + u.getEmail() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // =========================
+    // ASYNC (hashing takes ~150ms on purpose; keep it off the FX thread)
+    // =========================
+    public CompletableFuture<Void> registerAsync(String fullName, String email, String password, String confirmPassword) {
+        return AppExecutors.run(() -> register(fullName, email, password, confirmPassword));
+    }
+
+    public CompletableFuture<Void> loginAsync(String email, String password) {
+        return AppExecutors.run(() -> login(email, password));
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.template.service;
+
+import com.template.util.CsvWriter;
+import com.template.util.DataFolderUtil;
+
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Streams import errors straight to data/import_error_report_*.csv.
+// The file is only created when the first error arrives.
+public class ImportErrorSink implements AutoCloseable {
+
+    private Path path;
+    private CsvWriter csv;
+    private int count = 0;
+
+    public ImportErrorSink() {}
+
+    // Continues the report of an interrupted import: anything past committedBytes (lines
+    // written for rows whose batch never committed) is cut off first. A missing report
+    // starts over as a new file.
+    public static ImportErrorSink resume(Path path, long committedBytes) {
+        ImportErrorSink sink = new ImportErrorSink();
+        if (path == null || !Files.exists(path)) return sink;
+        try {
+            FileChannel ch = FileChannel.open(path, StandardOpenOption.WRITE);
+            ch.truncate(committedBytes);
+            ch.position(ch.size());
+            sink.csv = new CsvWriter(new OutputStreamWriter(Channels.newOutputStream(ch), StandardCharsets.UTF_8));
+            sink.path = path;
+            return sink;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to write import error report.");
+        }
+    }
+
+    public void add(String rowNumber, String studentId, String message, String rawRow) {
+        try {
+            if (csv == null) {
+                path = DataFolderUtil.newCsvFile("import_error_report");
+                csv = new CsvWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+                csv.row("row_number", "student_id", "error_message", "raw_row");
+            }
+            csv.row(rowNumber, studentId, message, rawRow);
+            count++;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to write import error report.");
+        }
+    }
+
+    // Everything added so far is on disk; returns the report length (0 when there is none)
+    public long flush() {
+        if (csv == null) return 0;
+        try {
+            csv.flush();
+            return Files.size(path);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to write import error report.");
+        }
+    }
+
+    public Path getPath() { return path; }
+    public int getCount() { return count; }
+
+    @Override
+    public void close() {
+        if (csv == null) return;
+        try {
+            csv.close();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to write import error report.");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.template.service;
+
+import com.template.Domain.ImportCheckpoint;
+
+// How importStudentsFromCsv treats a row whose student ID is already in the database,
+// and whether it picks up an interrupted import where its last checkpoint left off
+public class ImportOptions {
+
+    public enum Mode {
+        INSERT,   // rejected as a duplicate (the default)
+        MERGE     // overwritten; rows whose content did not change are skipped without a write
+    }
+
+    private final Mode mode;
+    private final ImportCheckpoint resume;   // null: from the top of the file
+
+    private ImportOptions(Mode mode, ImportCheckpoint resume) {
+        this.mode = mode;
+        this.resume = resume;
+    }
+
+    public static ImportOptions insert() {
+        return new ImportOptions(Mode.INSERT, null);
+    }
+
+    public static ImportOptions merge() {
+        return new ImportOptions(Mode.MERGE, null);
+    }
+
+    // Continues from the checkpoint, in the mode the import was started with
+    public static ImportOptions resume(ImportCheckpoint checkpoint) {
+        return new ImportOptions(Mode.valueOf(checkpoint.getMode()), checkpoint);
+    }
+
+    public Mode getMode() { return mode; }
+    public boolean isMerge() { return mode == Mode.MERGE; }
+    public ImportCheckpoint getResume() { return resume; }
+}
\ No newline at end of file
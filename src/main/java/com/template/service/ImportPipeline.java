@@ -0,0 +1,590 @@
+package com.template.service;
+
+import com.template.Domain.ImportCheckpoint;
+import com.template.Domain.ImportPreviewRow;
+import com.template.Domain.Student;
+import com.template.repository.StudentHash;
+import com.template.repository.UpsertResult;
+import com.template.util.CsvRecordReader;
+import com.template.util.DatabaseUtil;
+import com.template.util.Metrics;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+// Staged CSV import:
+//   1 reader thread  -> chunks of records: byte ranges of the memory-mapped file (with row numbers)
+//   N parse workers  -> parsed + validated rows (fields decoded here, in parallel)
+//   1 ordered writer -> duplicate / unchanged check, batch insert (or upsert), error report
+// Queues are bounded and a permit is held per chunk in flight,
+// so memory stays flat no matter how big the file is.
+// With a CheckpointWriter, every batch commits in one transaction with a checkpoint (byte offset
+// after its last row + counts so far), and a run can resume from one (ImportOptions.resume).
+// A resumed merge reads the rows before the checkpoint again, for their IDs only: a row after
+// it repeating one of them is still a "Duplicate student ID in file", as in a run that never
+// stopped. (A resumed insert needs none: every ID it wrote is in the database by then.)
+// The students already in the database are a StudentIdSet (IDs, content hashes, dates): the
+// workers look each row up in it, so the writer keeps only the IDs this file has used.
+// Dry run (the PreviewListener constructor): same stages, but the writer only counts and
+// reports - nothing reaches the database.
+// Each stage's work is timed per chunk / batch (Metrics "import.*"; queue waits not included).
+public class ImportPipeline {
+
+    private static final Metrics.Timer READ_CHUNK = Metrics.timer("import.readChunk");
+    private static final Metrics.Timer PARSE_CHUNK = Metrics.timer("import.parseChunk");
+    private static final Metrics.Timer WRITE_BATCH = Metrics.timer("import.writeBatch");
+
+    // Parses + validates one CSV record. Must be thread-safe (called from workers;
+    // each worker has its own reader).
+    public interface RowParser {
+        ParsedRow parse(int rowNumber, CsvRecordReader record);
+    }
+
+    // Saves one batch; failed rows as (index in batch -> message), plus rows left unchanged (merge)
+    public interface BatchWriter {
+        UpsertResult write(List<Student> batch);
+    }
+
+    // Records progress after a batch. Called inside the batch's write transaction, so a
+    // checkpoint never counts rows that did not commit, nor misses rows that did.
+    public interface CheckpointWriter {
+        void save(long byteOffset, ImportResult soFar, long errorReportBytes);
+    }
+
+    // Dry run: each chunk's rows once settled (file order), with the counts so far.
+    // Called on the import thread.
+    public interface PreviewListener {
+        void onRows(List<ImportPreviewRow> rows, ImportResult soFar);
+    }
+
+    public static class ParsedRow {
+        final int rowNumber;
+        final String studentId;
+        final ByteBuffer raw;     // the record as in the file, decoded only for the error report
+        final Student student;   // null when invalid
+        final String error;      // null when valid
+        final List<StudentValidator.ErrorCode> errorCodes;   // the rules it failed (may be empty)
+        final boolean dateGiven; // false: the file left date_added blank
+        long endOffset;          // file offset after the record (set by the pipeline)
+
+        // set on the worker: position in the StudentIdSet (-1: new ID), and for merge
+        // whether the row matches the stored one
+        int knownIndex = -1;
+        boolean sameAsStored;
+
+        public ParsedRow(int rowNumber, String studentId, ByteBuffer raw, Student student, String error) {
+            this(rowNumber, studentId, raw, student, error, true);
+        }
+
+        public ParsedRow(int rowNumber, String studentId, ByteBuffer raw, Student student, String error,
+                         boolean dateGiven) {
+            this(rowNumber, studentId, raw, student, error, List.of(), dateGiven);
+        }
+
+        // A row that failed validation (counted once per rule in ImportResult.getErrorCounts)
+        public ParsedRow(int rowNumber, String studentId, ByteBuffer raw, StudentValidator.Parsed invalid) {
+            this(rowNumber, studentId, raw, null, invalid.getMessage(), invalid.getErrors(), true);
+        }
+
+        private ParsedRow(int rowNumber, String studentId, ByteBuffer raw, Student student, String error,
+                          List<StudentValidator.ErrorCode> errorCodes, boolean dateGiven) {
+            this.rowNumber = rowNumber;
+            this.studentId = studentId;
+            this.raw = raw;
+            this.student = student;
+            this.error = error;
+            this.errorCodes = errorCodes;
+            this.dateGiven = dateGiven;
+        }
+
+        String line() {
+            return StandardCharsets.UTF_8.decode(raw.duplicate()).toString();
+        }
+    }
+
+    // A run of whole records (a read-only view of the file, not a copy)
+    private static class RawChunk {
+        final long seq;
+        final int firstRow;
+        final int rows;
+        final long offset;       // file offset of bytes[0]
+        final ByteBuffer bytes;
+
+        RawChunk(long seq, int firstRow, int rows, long offset, ByteBuffer bytes) {
+            this.seq = seq;
+            this.firstRow = firstRow;
+            this.rows = rows;
+            this.offset = offset;
+            this.bytes = bytes;
+        }
+    }
+
+    private static class ParsedChunk {
+        final long seq;
+        final List<ParsedRow> rows;
+
+        ParsedChunk(long seq, List<ParsedRow> rows) {
+            this.seq = seq;
+            this.rows = rows;
+        }
+    }
+
+    private static final RawChunk END_OF_INPUT = new RawChunk(-1, 0, 0, 0, ByteBuffer.allocate(0));
+    private static final ParsedChunk WORKER_DONE = new ParsedChunk(-1, List.of());
+
+    private final RowParser parser;
+    private final Predicate<CsvRecordReader> isHeader;
+    private final BatchWriter batchWriter;
+    private final CheckpointWriter checkpoints;   // null: no checkpoints
+    private final StudentIdSet known;             // the database when the run started
+    private final boolean dryRun;
+    private final PreviewListener preview;        // dry run, may be null
+    private final boolean merge;
+    private final ImportCheckpoint resume;        // null: from the top of the file
+    private final long replayUntil;               // resumed merge: rows ending here or before only add their ID
+    // IDs this file has used: merge and dry run, every valid row; insert, the rows written
+    private final Set<String> seenInFile = new HashSet<>();
+
+    private final int workers;
+    private final int chunkSize;
+    private final int batchSize;
+
+    private final BlockingQueue<RawChunk> rawQueue;
+    private final BlockingQueue<ParsedChunk> parsedQueue;
+    private final Semaphore inFlight;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    // known: the students already in the database (StudentIdSet.load)
+    public ImportPipeline(RowParser parser, Predicate<CsvRecordReader> isHeader, BatchWriter batchWriter,
+                          CheckpointWriter checkpoints, StudentIdSet known, ImportOptions options,
+                          int workers, int chunkSize, int batchSize) {
+        this(parser, isHeader, batchWriter, checkpoints, known, null, options, workers, chunkSize, batchSize);
+    }
+
+    // Dry run over the whole file (a resume checkpoint in the options is ignored)
+    public ImportPipeline(RowParser parser, Predicate<CsvRecordReader> isHeader, StudentIdSet known,
+                          ImportOptions options, PreviewListener preview,
+                          int workers, int chunkSize, int batchSize) {
+        this(parser, isHeader, null, null, known, preview, options, workers, chunkSize, batchSize);
+    }
+
+    private ImportPipeline(RowParser parser, Predicate<CsvRecordReader> isHeader, BatchWriter batchWriter,
+                           CheckpointWriter checkpoints, StudentIdSet known, PreviewListener preview,
+                           ImportOptions options, int workers, int chunkSize, int batchSize) {
+        this.parser = parser;
+        this.isHeader = isHeader;
+        this.batchWriter = batchWriter;
+        this.checkpoints = checkpoints;
+        this.known = known;
+        this.dryRun = batchWriter == null;
+        this.preview = preview;
+        this.merge = options.isMerge();
+        this.resume = dryRun ? null : options.getResume();
+        this.replayUntil = resume != null && merge ? resume.getByteOffset() : 0;
+        this.workers = Math.max(1, workers);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.batchSize = Math.max(1, batchSize);
+
+        int queueCapacity = this.workers * 2;
+        this.rawQueue = new ArrayBlockingQueue<>(queueCapacity + this.workers);
+        this.parsedQueue = new ArrayBlockingQueue<>(queueCapacity + this.workers);
+        // chunks read but not yet written (bounds the writer's reorder buffer too)
+        this.inFlight = new Semaphore(queueCapacity * 2 + this.workers);
+    }
+
+    public ImportResult run(Path csvPath) {
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers + 1, r -> {
+            Thread t = new Thread(r, "csv-import");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try (ImportErrorSink errors = resume == null
+                ? new ImportErrorSink()
+                : ImportErrorSink.resume(resume.getErrorReport() == null ? null : Path.of(resume.getErrorReport()),
+                                         resume.getErrorReportBytes())) {
+
+            pool.submit(() -> readStage(csvPath));
+            for (int i = 0; i < workers; i++) {
+                pool.submit(this::parseStage);
+            }
+
+            return writeStage(errors);
+
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read CSV file.");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // =========================
+    // STAGE 1: READER
+    // =========================
+
+    // Only finds record boundaries (nothing is decoded except the header)
+    private void readStage(Path csvPath) {
+        long startOffset = resume == null || replayUntil > 0 ? 0 : resume.getByteOffset();
+
+        try (CsvRecordReader csv = CsvRecordReader.open(csvPath, startOffset)) {
+
+            boolean firstRecord = startOffset == 0;   // a resumed run starts past the header
+            int rowNumber = startOffset == 0 ? 0 : resume.getRowNumber();
+            long seq = 0;
+            int rows = 0;
+            int firstRow = 1;
+            long chunkStart = System.nanoTime();
+            csv.mark();
+
+            while (csv.next()) {
+
+                if (csv.isBlank()) continue;
+
+                // header skip
+                if (firstRecord) {
+                    firstRecord = false;
+                    if (isHeader.test(csv)) {
+                        csv.mark();
+                        continue;
+                    }
+                }
+
+                rowNumber++;
+                if (rows == 0) firstRow = rowNumber;
+                rows++;
+
+                if (rows >= chunkSize) {
+                    READ_CHUNK.record(System.nanoTime() - chunkStart);
+                    inFlight.acquire();
+                    rawQueue.put(new RawChunk(seq++, firstRow, rows, csv.markOffset(), csv.sliceSinceMark()));
+                    csv.mark();
+                    rows = 0;
+                    chunkStart = System.nanoTime();
+                }
+            }
+
+            if (rows > 0) {
+                READ_CHUNK.record(System.nanoTime() - chunkStart);
+                inFlight.acquire();
+                rawQueue.put(new RawChunk(seq, firstRow, rows, csv.markOffset(), csv.sliceSinceMark()));
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        } finally {
+            for (int i = 0; i < workers; i++) {
+                putQuietly(rawQueue, END_OF_INPUT);
+            }
+        }
+    }
+
+    // =========================
+    // STAGE 2: PARSE + VALIDATE (N workers)
+    // =========================
+    private void parseStage() {
+        try {
+            while (true) {
+                RawChunk chunk = rawQueue.take();
+                if (chunk == END_OF_INPUT) break;
+
+                long start = System.nanoTime();
+                List<ParsedRow> rows = new ArrayList<>(chunk.rows);
+                int rowNumber = chunk.firstRow;
+                try (CsvRecordReader csv = CsvRecordReader.of(chunk.bytes)) {
+                    while (csv.next()) {
+                        if (csv.isBlank()) continue;
+                        ParsedRow row = parser.parse(rowNumber++, csv);
+                        row.endOffset = chunk.offset + csv.nextOffset();
+                        if (row.student != null) lookUp(row);
+                        rows.add(row);
+                    }
+                }
+                PARSE_CHUNK.record(System.nanoTime() - start);
+
+                parsedQueue.put(new ParsedChunk(chunk.seq, rows));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        } finally {
+            putQuietly(parsedQueue, WORKER_DONE);
+        }
+    }
+
+    // The binary search and hash run here, in parallel, not on the writer
+    private void lookUp(ParsedRow row) {
+        row.knownIndex = known.indexOf(row.studentId);
+        if (row.knownIndex < 0 || !merge) return;
+
+        // as in accept(): a blank date keeps the stored one
+        if (!row.dateGiven) row.student.setDateAdded(known.dateAddedAt(row.knownIndex));
+        row.sameAsStored = StudentHash.of(row.student) == known.hashAt(row.knownIndex);
+    }
+
+    // =========================
+    // STAGE 3: ORDERED WRITER (runs on the calling thread)
+    // =========================
+
+    // Row counts for the ImportResult (writer thread only)
+    private int totalRows = 0;
+    private int inserted = 0;
+    private int updated = 0;
+    private int unchanged = 0;
+    private int duplicates = 0;
+    private long lastOffset = 0;   // file offset after the last row taken in
+    private final Map<String, Integer> errorCounts = new LinkedHashMap<>();
+
+    private ImportResult writeStage(ImportErrorSink errors) throws Exception {
+
+        if (resume != null) {
+            totalRows = resume.getRowNumber();
+            inserted = resume.getInserted();
+            updated = resume.getUpdated();
+            unchanged = resume.getUnchanged();
+            duplicates = resume.getDuplicates();
+            lastOffset = resume.getByteOffset();
+            errorCounts.putAll(resume.getErrorCounts());
+        }
+
+        Map<Long, ParsedChunk> reorder = new HashMap<>();
+        long nextSeq = 0;
+        int workersDone = 0;
+
+        // current batch + errors for the same row window (flushed together, in row order)
+        List<Student> pending = new ArrayList<>(batchSize);
+        List<ParsedRow> pendingRows = new ArrayList<>(batchSize);
+        List<String[]> windowErrors = new ArrayList<>();
+        int window = 0;   // rows since the last flush (unchanged rows too, so checkpoints keep up)
+
+        while (workersDone < workers) {
+            ParsedChunk chunk = parsedQueue.poll(200, TimeUnit.MILLISECONDS);
+            checkFailure();
+            if (chunk == null) continue;
+
+            if (chunk == WORKER_DONE) {
+                workersDone++;
+                continue;
+            }
+
+            reorder.put(chunk.seq, chunk);
+
+            ParsedChunk ready;
+            while ((ready = reorder.remove(nextSeq)) != null) {
+                nextSeq++;
+                List<ImportPreviewRow> previewRows = preview == null ? null : new ArrayList<>(ready.rows.size());
+
+                for (ParsedRow row : ready.rows) {
+                    if (row.endOffset <= replayUntil) {
+                        // before the checkpoint: already counted and written, only its ID matters
+                        if (row.error == null) seenInFile.add(row.studentId);
+                        continue;
+                    }
+
+                    totalRows++;
+                    lastOffset = row.endOffset;
+                    if (!dryRun) {
+                        accept(row, pending, pendingRows, windowErrors);
+                    } else {
+                        ImportPreviewRow outcome = acceptDryRun(row, windowErrors);
+                        if (previewRows != null) previewRows.add(outcome);
+                    }
+
+                    if (++window >= batchSize) {
+                        flush(pending, pendingRows, windowErrors, errors);
+                        window = 0;
+                    }
+                }
+
+                inFlight.release();
+                if (previewRows != null) preview.onRows(previewRows, soFar(errors));
+            }
+        }
+
+        checkFailure();
+        flush(pending, pendingRows, windowErrors, errors);
+
+        return soFar(errors);
+    }
+
+    private ImportResult soFar(ImportErrorSink errors) {
+        return new ImportResult(totalRows, inserted, updated, unchanged,
+                totalRows - inserted - updated - unchanged, duplicates, errors.getPath(),
+                new LinkedHashMap<>(errorCounts));
+    }
+
+    // Rejects, skips, or queues one row for the next batch
+    private void accept(ParsedRow row, List<Student> pending, List<ParsedRow> pendingRows, List<String[]> windowErrors) {
+        if (row.error != null) {
+            rejectInvalid(row, windowErrors);
+            return;
+        }
+
+        // merge: the same ID twice in one file would just overwrite itself (on every run)
+        if (merge && !seenInFile.add(row.studentId)) {
+            duplicates++;
+            reject(row, "Duplicate student ID in file", windowErrors);
+            return;
+        }
+
+        if (row.knownIndex >= 0) {
+            if (!merge) {
+                duplicates++;
+                reject(row, "Duplicate student ID", windowErrors);
+                return;
+            }
+
+            // merge: same content as stored (date already filled in by lookUp) = nothing to write
+            if (row.sameAsStored) {
+                unchanged++;
+                return;
+            }
+        } else if (!merge && !seenInFile.add(row.studentId)) {
+            // insert: an ID this file has already written
+            duplicates++;
+            reject(row, "Duplicate student ID", windowErrors);
+            return;
+        }
+
+        pending.add(row.student);
+        pendingRows.add(row);
+    }
+
+    // Dry run version of accept(): the same decisions, made against the StudentIdSet lookup
+    // and the IDs seen earlier in the file. Rows the database would refuse (constraint
+    // failures) cannot be seen without writing, so they count as inserts/updates here.
+    private ImportPreviewRow acceptDryRun(ParsedRow row, List<String[]> windowErrors) {
+        if (row.error != null) {
+            rejectInvalid(row, windowErrors);
+            return previewRow(row, "Rejected", row.error);
+        }
+
+        if (!seenInFile.add(row.studentId)) {
+            duplicates++;
+            return previewRow(row, "Rejected",
+                    reject(row, merge ? "Duplicate student ID in file" : "Duplicate student ID", windowErrors));
+        }
+
+        if (row.knownIndex >= 0) {
+            if (!merge) {
+                duplicates++;
+                return previewRow(row, "Rejected", reject(row, "Duplicate student ID", windowErrors));
+            }
+            if (row.sameAsStored) {
+                unchanged++;
+                return previewRow(row, "Unchanged", "");
+            }
+            updated++;
+            return previewRow(row, "Update", "");
+        }
+
+        inserted++;
+        return previewRow(row, "Insert", "");
+    }
+
+    private ImportPreviewRow previewRow(ParsedRow row, String result, String problem) {
+        return new ImportPreviewRow(row.rowNumber, row.studentId, result, problem);
+    }
+
+    // Error report line + error count; returns the message
+    private String reject(ParsedRow row, String message, List<String[]> windowErrors) {
+        windowErrors.add(errorRow(row, message));
+        errorCounts.merge(message, 1, Integer::sum);
+        return message;
+    }
+
+    // A row that failed validation counts once under each rule it broke
+    private void rejectInvalid(ParsedRow row, List<String[]> windowErrors) {
+        windowErrors.add(errorRow(row, row.error));
+        if (row.errorCodes.isEmpty()) {
+            errorCounts.merge(row.error, 1, Integer::sum);
+            return;
+        }
+        for (StudentValidator.ErrorCode code : row.errorCodes) {
+            errorCounts.merge(code.getMessage(), 1, Integer::sum);
+        }
+    }
+
+    // The batch, its error lines and the checkpoint after it all land, or none of them do
+    // (error lines past a checkpoint are cut off on resume)
+    private void flush(List<Student> pending, List<ParsedRow> pendingRows,
+                       List<String[]> windowErrors, ImportErrorSink errors) throws Exception {
+
+        if (checkpoints == null) {
+            writeWindow(pending, pendingRows, windowErrors, errors);
+            return;
+        }
+
+        DatabaseUtil.inWriteTransaction(() -> {
+            writeWindow(pending, pendingRows, windowErrors, errors);
+            long reportBytes = errors.flush();
+            checkpoints.save(lastOffset, soFar(errors), reportBytes);
+            return null;
+        });
+    }
+
+    private void writeWindow(List<Student> pending, List<ParsedRow> pendingRows,
+                             List<String[]> windowErrors, ImportErrorSink errors) {
+
+        if (!pending.isEmpty()) {
+            UpsertResult result = WRITE_BATCH.time(() -> batchWriter.write(pending));
+
+            for (int i = 0; i < pendingRows.size(); i++) {
+                ParsedRow row = pendingRows.get(i);
+                String failure = result.getFailures().get(i);
+
+                if (failure != null) {
+                    // insert: the ID is still free for a later row
+                    if (!merge) seenInFile.remove(row.studentId);
+                    reject(row, failure, windowErrors);
+                } else if (result.isUnchanged(i)) {
+                    unchanged++;   // stored hash already matched (changed since we loaded it)
+                } else if (row.knownIndex >= 0) {
+                    updated++;
+                } else {
+                    inserted++;
+                }
+            }
+        }
+
+        // batch failures are found after the batch, so restore file order
+        windowErrors.sort(Comparator.comparingInt(e -> Integer.parseInt(e[0])));
+        for (String[] e : windowErrors) {
+            errors.add(e[0], e[1], e[2], e[3]);
+        }
+
+        pending.clear();
+        pendingRows.clear();
+        windowErrors.clear();
+    }
+
+    private String[] errorRow(ParsedRow row, String message) {
+        return new String[]{String.valueOf(row.rowNumber), row.studentId, message, row.line()};
+    }
+
+    private void checkFailure() {
+        Throwable t = failure.get();
+        if (t != null) {
+            throw new RuntimeException("Failed to read CSV file.");
+        }
+    }
+
+    private static <T> void putQuietly(BlockingQueue<T> q, T item) {
+        try {
+            q.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
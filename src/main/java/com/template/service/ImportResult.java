@@ -1,26 +1,47 @@
 package com.template.service;
 
 import java.nio.file.Path;
+import java.util.Map;
 
+// Every data row ends up in exactly one of: inserted, updated, unchanged (merge only), rejected.
+// Rejected includes duplicates (insert mode) and rows the database refused.
+// For a dry run (ImportExportService.previewImport) the counts are what the import would do.
 public class ImportResult {
 
     private final int totalRows;
-    private final int importedCount;
-    private final int skippedCount;
+    private final int insertedCount;
+    private final int updatedCount;
+    private final int unchangedCount;
+    private final int rejectedCount;
     private final int duplicateCount;
     private final Path errorReportPath;
+    private final Map<String, Integer> errorCounts;
 
-    public ImportResult(int totalRows, int importedCount, int skippedCount, int duplicateCount, Path errorReportPath) {
+    public ImportResult(int totalRows, int insertedCount, int updatedCount, int unchangedCount,
+                        int rejectedCount, int duplicateCount, Path errorReportPath,
+                        Map<String, Integer> errorCounts) {
         this.totalRows = totalRows;
-        this.importedCount = importedCount;
-        this.skippedCount = skippedCount;
+        this.insertedCount = insertedCount;
+        this.updatedCount = updatedCount;
+        this.unchangedCount = unchangedCount;
+        this.rejectedCount = rejectedCount;
         this.duplicateCount = duplicateCount;
         this.errorReportPath = errorReportPath;
+        this.errorCounts = errorCounts;
     }
 
     public int getTotalRows() { return totalRows; }
-    public int getImportedCount() { return importedCount; }
-    public int getSkippedCount() { return skippedCount; }
+    public int getInsertedCount() { return insertedCount; }
+    public int getUpdatedCount() { return updatedCount; }
+    public int getUnchangedCount() { return unchangedCount; }
+    public int getRejectedCount() { return rejectedCount; }
     public int getDuplicateCount() { return duplicateCount; }
     public Path getErrorReportPath() { return errorReportPath; }
+
+    // Problem -> rows with it, in the order first seen. A row failing several validation
+    // rules counts once under each, so the counts can add up to more than getRejectedCount().
+    public Map<String, Integer> getErrorCounts() { return errorCounts; }
+
+    // Rows written (inserted + updated)
+    public int getImportedCount() { return insertedCount + updatedCount; }
 }
\ No newline at end of file
@@ -1,17 +1,24 @@
 package com.template.service;
 
+import com.template.Domain.DashboardStats;
 import com.template.Domain.ProgrammeSummaryRow;
 import com.template.Domain.Student;
 import com.template.Domain.TopPerformerRow;
+import com.template.repository.ReportRepository;
+import com.template.repository.Repositories;
 import com.template.repository.StudentRepository;
-import com.template.repository.sqlite.SQLiteStudentRepository;
+import com.template.repository.StudentRowVisitor;
+import com.template.util.AppExecutors;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 public class ReportService {
 
-    private final StudentRepository repo = new SQLiteStudentRepository();
+    private final StudentRepository repo = Repositories.students();
+
+    // Counts, averages and bands are computed in SQL; top-N comes from the leaderboards
+    private final ReportRepository reportRepo = Repositories.reports();
 
     public List<Student> getAllStudents() {
         return repo.findAll();
@@ -22,82 +29,58 @@ public class ReportService {
         return students.stream().mapToDouble(Student::getGpa).average().orElse(0.0);
     }
 
-    public List<TopPerformerRow> getTopPerformers(String programme, Integer level, int limit) {
+    // One row, kept current by triggers
+    public DashboardStats getDashboardStats() {
+        return reportRepo.dashboardStats();
+    }
+
+    public int getTotalStudents() {
+        return reportRepo.countStudents();
+    }
+
+    public double getAverageGpa() {
+        return reportRepo.averageGpa();
+    }
 
-        List<Student> all = repo.findAll();
-
-        List<Student> filtered = all.stream()
-                .filter(s -> programme == null || programme.isBlank() || programme.equalsIgnoreCase(s.getProgramme()))
-                .filter(s -> level == null || level == 0 || level == s.getLevel())
-                .sorted(Comparator.comparingDouble(Student::getGpa).reversed()
-                        .thenComparing(Student::getFullName, String.CASE_INSENSITIVE_ORDER))
-                .limit(limit)
-                .toList();
-
-        List<TopPerformerRow> rows = new ArrayList<>();
-        for (int i = 0; i < filtered.size(); i++) {
-            Student s = filtered.get(i);
-            rows.add(new TopPerformerRow(
-                    i + 1,
-                    s.getStudentId(),
-                    s.getFullName(),
-                    s.getProgramme(),
-                    s.getLevel(),
-                    s.getGpa()
-            ));
-        }
-        return rows;
+    public List<TopPerformerRow> getTopPerformers(String programme, Integer level, int limit) {
+        return reportRepo.topPerformers(programme, level, limit);
     }
 
     public List<Student> getAtRiskStudents(double threshold) {
-        return repo.findAll().stream()
-                .filter(s -> s.getGpa() < threshold)
-                .sorted(Comparator.comparingDouble(Student::getGpa))
-                .toList();
+        return repo.findByGpaRange(Double.NEGATIVE_INFINITY, threshold);
+    }
+
+    public void streamAtRiskStudents(double threshold, StudentRowVisitor visitor) {
+        reportRepo.streamAtRisk(threshold, visitor);
     }
 
     public Map<String, Long> getGpaDistribution() {
-        // Fixed bands (stable ordering)
-        LinkedHashMap<String, Long> map = new LinkedHashMap<>();
-        map.put("0.0-0.9", 0L);
-        map.put("1.0-1.9", 0L);
-        map.put("2.0-2.9", 0L);
-        map.put("3.0-3.4", 0L);
-        map.put("3.5-4.0", 0L);
-
-        for (Student s : repo.findAll()) {
-            double g = s.getGpa();
-            String band;
-            if (g < 1.0) band = "0.0-0.9";
-            else if (g < 2.0) band = "1.0-1.9";
-            else if (g < 3.0) band = "2.0-2.9";
-            else if (g < 3.5) band = "3.0-3.4";
-            else band = "3.5-4.0";
-
-            map.put(band, map.get(band) + 1);
-        }
-
-        return map;
+        return reportRepo.gpaDistribution();
     }
 
     public List<ProgrammeSummaryRow> getProgrammeSummary() {
+        return reportRepo.programmeSummary();
+    }
 
-        List<Student> all = repo.findAll();
-
-        Map<String, List<Student>> byProgramme = all.stream()
-                .collect(Collectors.groupingBy(Student::getProgramme));
-
-        List<ProgrammeSummaryRow> rows = new ArrayList<>();
+    // All report numbers from a single scan of the students table
+    public ReportSnapshot getSnapshot(String topProgramme, Integer topLevel, int topK, double threshold) {
+        ReportSnapshot.Accumulator acc = new ReportSnapshot.Accumulator(topProgramme, topLevel, topK, threshold);
+        repo.streamAll(acc::accept);
+        return acc.build();
+    }
 
-        for (String programme : byProgramme.keySet()) {
-            List<Student> students = byProgramme.get(programme);
-            int count = students.size();
-            double avg = students.stream().mapToDouble(Student::getGpa).average().orElse(0.0);
+    // =========================
+    // ASYNC (background pool; controllers hand results back to the FX thread)
+    // =========================
+    public CompletableFuture<DashboardStats> getDashboardStatsAsync() {
+        return AppExecutors.supply(this::getDashboardStats);
+    }
 
-            rows.add(new ProgrammeSummaryRow(programme, count, avg));
-        }
+    public CompletableFuture<List<TopPerformerRow>> getTopPerformersAsync(String programme, Integer level, int limit) {
+        return AppExecutors.supply(() -> getTopPerformers(programme, level, limit));
+    }
 
-        rows.sort(Comparator.comparing(ProgrammeSummaryRow::getProgramme, String.CASE_INSENSITIVE_ORDER));
-        return rows;
+    public CompletableFuture<ReportSnapshot> getSnapshotAsync(String topProgramme, Integer topLevel, int topK, double threshold) {
+        return AppExecutors.supply(() -> getSnapshot(topProgramme, topLevel, topK, threshold));
     }
 }
\ No newline at end of file
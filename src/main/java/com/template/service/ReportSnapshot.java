@@ -0,0 +1,153 @@
+package com.template.service;
+
+import com.template.Domain.ProgrammeSummaryRow;
+import com.template.Domain.Student;
+import com.template.Domain.TopPerformerRow;
+
+import java.time.LocalDate;
+import java.util.*;
+
+// Everything the reports screen shows, computed together in ONE pass over the students.
+// Immutable once built, so the controller can bind to it safely.
+public class ReportSnapshot {
+
+    // Fixed bands (stable ordering)
+    public static final String[] GPA_BANDS = {"0.0-0.9", "1.0-1.9", "2.0-2.9", "3.0-3.4", "3.5-4.0"};
+
+    private final int totalStudents;
+    private final double averageGpa;
+    private final Map<String, Long> gpaDistribution;
+    private final List<ProgrammeSummaryRow> programmeSummary;
+    private final List<TopPerformerRow> topPerformers;
+    private final List<Student> atRiskStudents;
+    private final double threshold;
+
+    private ReportSnapshot(int totalStudents, double averageGpa, Map<String, Long> gpaDistribution,
+                           List<ProgrammeSummaryRow> programmeSummary, List<TopPerformerRow> topPerformers,
+                           List<Student> atRiskStudents, double threshold) {
+        this.totalStudents = totalStudents;
+        this.averageGpa = averageGpa;
+        this.gpaDistribution = Collections.unmodifiableMap(gpaDistribution);
+        this.programmeSummary = List.copyOf(programmeSummary);
+        this.topPerformers = List.copyOf(topPerformers);
+        this.atRiskStudents = List.copyOf(atRiskStudents);
+        this.threshold = threshold;
+    }
+
+    public int getTotalStudents() { return totalStudents; }
+    public double getAverageGpa() { return averageGpa; }
+    public Map<String, Long> getGpaDistribution() { return gpaDistribution; }
+    public List<ProgrammeSummaryRow> getProgrammeSummary() { return programmeSummary; }
+    public List<TopPerformerRow> getTopPerformers() { return topPerformers; }
+    public List<Student> getAtRiskStudents() { return atRiskStudents; }
+    public double getThreshold() { return threshold; }
+
+    public static int bandIndex(double gpa) {
+        if (gpa < 1.0) return 0;
+        if (gpa < 2.0) return 1;
+        if (gpa < 3.0) return 2;
+        if (gpa < 3.5) return 3;
+        return 4;
+    }
+
+    // =========================
+    // ACCUMULATOR (fed one row at a time)
+    // =========================
+    public static class Accumulator {
+
+        // best first: GPA high -> low, then name A -> Z
+        private static final Comparator<TopPerformerRow> BEST_FIRST = Comparator
+                .comparingDouble(TopPerformerRow::getGpa).reversed()
+                .thenComparing(TopPerformerRow::getFullName, String.CASE_INSENSITIVE_ORDER);
+
+        private final String topProgramme;
+        private final Integer topLevel;
+        private final int topK;
+        private final double threshold;
+
+        private int count = 0;
+        private double gpaSum = 0.0;
+        private final long[] bands = new long[GPA_BANDS.length];
+        private final Map<String, double[]> byProgramme = new HashMap<>(); // {count, gpaSum}
+
+        // min-heap holding the current top K (worst of them on top)
+        private final PriorityQueue<TopPerformerRow> top;
+        private final List<Student> atRisk = new ArrayList<>();
+
+        public Accumulator(String topProgramme, Integer topLevel, int topK, double threshold) {
+            this.topProgramme = (topProgramme == null || topProgramme.isBlank()) ? null : topProgramme;
+            this.topLevel = (topLevel == null || topLevel == 0) ? null : topLevel;
+            this.topK = Math.max(0, topK);
+            this.threshold = threshold;
+            this.top = new PriorityQueue<>(Math.max(1, this.topK + 1), BEST_FIRST.reversed());
+        }
+
+        public void accept(String studentId, String fullName, String programme, int level, double gpa,
+                           String email, String phone, String dateAdded, String status) {
+
+            count++;
+            gpaSum += gpa;
+            bands[bandIndex(gpa)]++;
+
+            double[] agg = byProgramme.computeIfAbsent(programme, k -> new double[2]);
+            agg[0]++;
+            agg[1] += gpa;
+
+            // bounded top-K for the selected filter
+            if (topK > 0
+                    && (topProgramme == null || topProgramme.equalsIgnoreCase(programme))
+                    && (topLevel == null || topLevel == level)) {
+
+                TopPerformerRow row = new TopPerformerRow(0, studentId, fullName, programme, level, gpa);
+                if (top.size() < topK) {
+                    top.add(row);
+                } else if (BEST_FIRST.compare(row, top.peek()) < 0) {
+                    top.poll();
+                    top.add(row);
+                }
+            }
+
+            if (gpa < threshold) {
+                atRisk.add(new Student(studentId, fullName, programme, level, gpa, email, phone,
+                        dateAdded == null || dateAdded.isBlank() ? null : LocalDate.parse(dateAdded),
+                        status));
+            }
+        }
+
+        public ReportSnapshot build() {
+
+            LinkedHashMap<String, Long> dist = new LinkedHashMap<>();
+            for (int i = 0; i < GPA_BANDS.length; i++) {
+                dist.put(GPA_BANDS[i], bands[i]);
+            }
+
+            List<ProgrammeSummaryRow> programmes = new ArrayList<>();
+            for (Map.Entry<String, double[]> e : byProgramme.entrySet()) {
+                double[] agg = e.getValue();
+                programmes.add(new ProgrammeSummaryRow(e.getKey(), (int) agg[0], agg[1] / agg[0]));
+            }
+            programmes.sort(Comparator.comparing(ProgrammeSummaryRow::getProgramme, String.CASE_INSENSITIVE_ORDER));
+
+            List<TopPerformerRow> best = new ArrayList<>(top);
+            best.sort(BEST_FIRST);
+            List<TopPerformerRow> ranked = new ArrayList<>(best.size());
+            for (int i = 0; i < best.size(); i++) {
+                TopPerformerRow r = best.get(i);
+                ranked.add(new TopPerformerRow(i + 1, r.getStudentId(), r.getFullName(),
+                        r.getProgramme(), r.getLevel(), r.getGpa()));
+            }
+
+            atRisk.sort(Comparator.comparingDouble(Student::getGpa));
+
+            return new ReportSnapshot(
+                    count,
+                    count == 0 ? 0.0 : gpaSum / count,
+                    dist,
+                    programmes,
+                    ranked,
+                    atRisk,
+                    threshold
+            );
+        }
+    }
+}
\ No newline at end of file
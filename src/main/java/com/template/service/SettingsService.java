@@ -1,13 +1,15 @@
 package com.template.service;
 
+import com.template.repository.Repositories;
 import com.template.repository.SettingsRepository;
-import com.template.repository.sqlite.SQLiteSettingsRepository;
+import com.template.util.AppExecutors;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class SettingsService {
 
-    private final SettingsRepository repo = new SQLiteSettingsRepository();
+    private final SettingsRepository repo = Repositories.settings();
 
     public double getAtRiskThreshold() {
         return repo.getAtRiskThreshold();
@@ -53,4 +55,31 @@ public class SettingsService {
     public void deleteProgramme(String name) {
         repo.deleteProgramme(name);
     }
+
+    // =========================
+    // ASYNC (background pool; controllers hand results back to the FX thread)
+    // =========================
+    public CompletableFuture<Double> getAtRiskThresholdAsync() {
+        return AppExecutors.supply(this::getAtRiskThreshold);
+    }
+
+    public CompletableFuture<Void> setAtRiskThresholdAsync(double value) {
+        return AppExecutors.run(() -> setAtRiskThreshold(value));
+    }
+
+    public CompletableFuture<List<String>> getProgrammesAsync() {
+        return AppExecutors.supply(this::getProgrammes);
+    }
+
+    public CompletableFuture<Void> addProgrammeAsync(String name) {
+        return AppExecutors.run(() -> addProgramme(name));
+    }
+
+    public CompletableFuture<Void> updateProgrammeAsync(String oldName, String newName) {
+        return AppExecutors.run(() -> updateProgramme(oldName, newName));
+    }
+
+    public CompletableFuture<Void> deleteProgrammeAsync(String name) {
+        return AppExecutors.run(() -> deleteProgramme(name));
+    }
 }
\ No newline at end of file
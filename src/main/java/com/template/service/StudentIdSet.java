@@ -0,0 +1,94 @@
+package com.template.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+
+// The student IDs already in the database, for an import (and its dry run): one sorted String[] (binary
+// search) with the row's content hash and date_added alongside, instead of a map of Students.
+// Filled straight from a three-column scan in ID order (no Student objects, no sort).
+// Read-only once built, so the parse workers share it without locking.
+public class StudentIdSet {
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private String[] ids = new String[1024];
+    private long[] hashes = new long[1024];    // StudentHash of the stored row
+    private long[] dates = new long[1024];     // date_added as epoch day, NO_DATE when empty
+    private int size;
+
+    private StudentIdSet() {}
+
+    public static StudentIdSet load(StudentService students) {
+        StudentIdSet set = new StudentIdSet();
+        boolean[] sorted = {true};
+
+        students.streamStudentKeys((id, hash, dateAdded) -> {
+            if (set.size > 0 && set.ids[set.size - 1].compareTo(id) >= 0) sorted[0] = false;
+            set.add(id, hash, dateAdded);
+        });
+
+        set.trim();
+        // SQLite orders by UTF-8 bytes, String by UTF-16 units; they only differ past U+FFFF
+        if (!sorted[0]) set.sort();
+        return set;
+    }
+
+    // Position of the ID, or -1 when it is not in the database
+    public int indexOf(String studentId) {
+        int i = Arrays.binarySearch(ids, studentId);
+        return i >= 0 ? i : -1;
+    }
+
+    public long hashAt(int index) {
+        return hashes[index];
+    }
+
+    public LocalDate dateAddedAt(int index) {
+        return dates[index] == NO_DATE ? null : LocalDate.ofEpochDay(dates[index]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // =========================
+    // BUILD
+    // =========================
+    private void add(String id, long hash, String dateAdded) {
+        if (size == ids.length) {
+            int n = size * 2;
+            ids = Arrays.copyOf(ids, n);
+            hashes = Arrays.copyOf(hashes, n);
+            dates = Arrays.copyOf(dates, n);
+        }
+        ids[size] = id;
+        hashes[size] = hash;
+        dates[size] = dateAdded == null || dateAdded.isBlank() ? NO_DATE : LocalDate.parse(dateAdded).toEpochDay();
+        size++;
+    }
+
+    private void trim() {
+        ids = Arrays.copyOf(ids, size);
+        hashes = Arrays.copyOf(hashes, size);
+        dates = Arrays.copyOf(dates, size);
+    }
+
+    private void sort() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparing(i -> ids[i]));
+
+        String[] sortedIds = new String[size];
+        long[] sortedHashes = new long[size];
+        long[] sortedDates = new long[size];
+        for (int i = 0; i < size; i++) {
+            sortedIds[i] = ids[order[i]];
+            sortedHashes[i] = hashes[order[i]];
+            sortedDates[i] = dates[order[i]];
+        }
+        ids = sortedIds;
+        hashes = sortedHashes;
+        dates = sortedDates;
+    }
+}
\ No newline at end of file
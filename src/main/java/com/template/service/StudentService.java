@@ -1,14 +1,27 @@
 package com.template.service;
 
 import com.template.Domain.Student;
+import com.template.repository.Repositories;
+import com.template.repository.StudentKeyVisitor;
+import com.template.repository.StudentPage;
+import com.template.repository.StudentPageQuery;
 import com.template.repository.StudentRepository;
-import com.template.repository.sqlite.SQLiteStudentRepository;
+import com.template.repository.StudentRowVisitor;
+import com.template.repository.UpsertResult;
+import com.template.util.AppExecutors;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 
 public class StudentService {
 
-    private final StudentRepository repository = new SQLiteStudentRepository();
+    private final StudentRepository repository = Repositories.students();
 
     public void addStudent(Student s) {
         validate(s);
@@ -20,6 +33,68 @@ public class StudentService {
         repository.save(s);
     }
 
+    // Bulk add. Rows failing validation or a DB constraint
+    // are returned as (index in list -> error message); the rest are saved.
+    public Map<Integer, String> addStudents(List<Student> students, int batchSize) {
+
+        Validated v = validateAll(students);
+
+        Map<Integer, String> dbFailures = repository.saveAll(v.valid, batchSize);
+        for (Map.Entry<Integer, String> f : dbFailures.entrySet()) {
+            v.failures.put(v.validIndex.get(f.getKey()), f.getValue());
+        }
+
+        return v.failures;
+    }
+
+    // Bulk insert-or-update; same validation and failure reporting as addStudents.
+    // Rows whose content hash matches the stored one are not written (see UpsertResult).
+    public UpsertResult upsertStudents(List<Student> students, int batchSize) {
+
+        Validated v = validateAll(students);
+
+        UpsertResult db = repository.upsertAll(v.valid, batchSize);
+        BitSet unchanged = new BitSet();
+        for (int i = 0; i < v.valid.size(); i++) {
+            String error = db.getFailures().get(i);
+            if (error != null) v.failures.put(v.validIndex.get(i), error);
+            else if (db.isUnchanged(i)) unchanged.set(v.validIndex.get(i));
+        }
+
+        return new UpsertResult(v.failures, unchanged);
+    }
+
+    // CSV import: the workers already ran every row through StudentValidator.parse, so the
+    // writer thread goes straight to the database (indexes are the batch's own)
+    Map<Integer, String> addValidatedStudents(List<Student> students, int batchSize) {
+        return repository.saveAll(students, batchSize);
+    }
+
+    UpsertResult upsertValidatedStudents(List<Student> students, int batchSize) {
+        return repository.upsertAll(students, batchSize);
+    }
+
+    // The rows that pass validation (with their index in the list), and the ones that don't
+    private static class Validated {
+        final List<Student> valid = new ArrayList<>();
+        final List<Integer> validIndex = new ArrayList<>();
+        final Map<Integer, String> failures = new TreeMap<>();
+    }
+
+    private static Validated validateAll(List<Student> students) {
+        Validated v = new Validated();
+        for (int i = 0; i < students.size(); i++) {
+            List<StudentValidator.ErrorCode> errors = StudentValidator.validate(students.get(i));
+            if (errors.isEmpty()) {
+                v.valid.add(students.get(i));
+                v.validIndex.add(i);
+            } else {
+                v.failures.put(i, StudentValidator.join(errors, "; "));
+            }
+        }
+        return v;
+    }
+
     public void updateStudent(Student s) {
         validate(s);
         repository.update(s);
@@ -33,61 +108,70 @@ public class StudentService {
         return repository.findAll();
     }
 
+    // Every student, one row at a time (exports; nothing is kept in memory)
+    public void streamAllStudents(StudentRowVisitor visitor) {
+        repository.streamAll(visitor);
+    }
+
+    // ID, stored content hash and date added of every student, by ID (import dry runs)
+    public void streamStudentKeys(StudentKeyVisitor visitor) {
+        repository.streamKeys(visitor);
+    }
+
+    // One page of the students table (keyset pagination; see StudentPageQuery)
+    public StudentPage getStudentPage(StudentPageQuery query) {
+        return repository.findPage(query);
+    }
+
     public List<Student> searchStudents(String keyword, String programme, Integer level, String status) {
         return repository.search(keyword, programme, level, status);
     }
 
-    // Validation rules (exactly from your message)
-    private void validate(Student s) {
+    // Keyword search ranked by relevance (full-text index, which matches word prefixes only).
+    // Short of `limit`, the plain LIKE matches follow the ranked hits, so partial IDs
+    // (e.g. "0851") and mid-word fragments still show up.
+    public List<Student> searchStudentsRanked(String keyword, String programme, Integer level, String status, int limit) {
+        List<Student> ranked = repository.searchRanked(keyword, programme, level, status, limit);
+        if (ranked.size() >= limit) return ranked;
 
-        // Student ID: required, 4–20, letters/digits only
-        if (s.getStudentId() == null || s.getStudentId().isBlank()) {
-            throw new IllegalArgumentException("Student ID is required.");
-        }
-        if (!s.getStudentId().matches("[A-Za-z0-9]{4,20}")) {
-            throw new IllegalArgumentException("Student ID must be 4–20 characters (letters and digits only).");
+        Set<String> seen = new HashSet<>();
+        for (Student s : ranked) {
+            seen.add(s.getStudentId());
         }
 
-        // Full name: required, 2–60, must not contain digits
-        if (s.getFullName() == null || s.getFullName().isBlank()) {
-            throw new IllegalArgumentException("Full name is required.");
-        }
-        if (s.getFullName().length() < 2 || s.getFullName().length() > 60) {
-            throw new IllegalArgumentException("Full name must be 2–60 characters.");
-        }
-        if (s.getFullName().matches(".*\\d.*")) {
-            throw new IllegalArgumentException("Full name must not contain digits.");
+        List<Student> merged = new ArrayList<>(ranked);
+        for (Student s : repository.search(keyword, programme, level, status)) {
+            if (merged.size() >= limit) break;
+            if (seen.add(s.getStudentId())) merged.add(s);
         }
+        return merged;
+    }
 
-        // Programme required
-        if (s.getProgramme() == null || s.getProgramme().isBlank()) {
-            throw new IllegalArgumentException("Programme is required.");
-        }
+    // =========================
+    // ASYNC (background pool; controllers hand results back to the FX thread)
+    // =========================
+    public CompletableFuture<Void> addStudentAsync(Student s) {
+        return AppExecutors.run(() -> addStudent(s));
+    }
 
-        // Level must be 100/200/300/400
-        if (!(s.getLevel() == 100 || s.getLevel() == 200 || s.getLevel() == 300 || s.getLevel() == 400)) {
-            throw new IllegalArgumentException("Level must be one of: 100, 200, 300, 400.");
-        }
+    public CompletableFuture<Void> updateStudentAsync(Student s) {
+        return AppExecutors.run(() -> updateStudent(s));
+    }
 
-        // GPA range
-        if (s.getGpa() < 0.0 || s.getGpa() > 4.0) {
-            throw new IllegalArgumentException("GPA must be between 0.0 and 4.0.");
-        }
+    public CompletableFuture<Void> deleteStudentAsync(String studentId) {
+        return AppExecutors.run(() -> deleteStudent(studentId));
+    }
 
-        // Email must contain @ and .
-        if (s.getEmail() == null || s.getEmail().isBlank()) {
-            throw new IllegalArgumentException("Email is required.");
-        }
-        if (!s.getEmail().contains("@") || !s.getEmail().contains(".")) {
-            throw new IllegalArgumentException("Email must contain an @ sign and a dot.");
-        }
+    public CompletableFuture<List<Student>> searchStudentsRankedAsync(String keyword, String programme, Integer level,
+                                                                      String status, int limit) {
+        return AppExecutors.supply(() -> searchStudentsRanked(keyword, programme, level, status, limit));
+    }
 
-        // Phone must be 10 digits only
-        if (s.getPhone() == null || s.getPhone().isBlank()) {
-            throw new IllegalArgumentException("Phone number is required.");
-        }
-        if (!s.getPhone().matches("\\d{10}")) {
-            throw new IllegalArgumentException("Phone number must be exactly 10 digits (digits only).");
+    // Rules live in StudentValidator (shared with the CSV import); every broken rule is reported
+    private void validate(Student s) {
+        List<StudentValidator.ErrorCode> errors = StudentValidator.validate(s);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(StudentValidator.formMessage(errors));
         }
     }
 }
\ No newline at end of file
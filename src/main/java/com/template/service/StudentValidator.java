@@ -0,0 +1,366 @@
+package com.template.service;
+
+import com.template.Domain.Student;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// The student validation rules, in one place (the form via StudentService, and the CSV import).
+// Every rule runs on every call, so all problems come back together as ErrorCodes.
+//
+// Rules are plain char loops and hand-written number/date parsing (no regex, and no exception
+// for well-formed values), so import workers can validate millions of rows a second.
+// Stateless: safe to call from any number of threads.
+public class StudentValidator {
+
+    // Each code keeps the wording its screen always used: getMessage() is the CSV import's
+    // (error reports, problem counts), getFormMessage() the student form's.
+    public enum ErrorCode {
+        ID_REQUIRED("Student ID is required"),
+        ID_LENGTH("Student ID must be 4 to 20 characters",
+                "Student ID must be 4–20 characters (letters and digits only)"),
+        ID_CHARACTERS("Student ID must contain letters and digits only",
+                "Student ID must be 4–20 characters (letters and digits only)"),
+        NAME_REQUIRED("Full name is required"),
+        NAME_LENGTH("Full name must be 2 to 60 characters", "Full name must be 2–60 characters"),
+        NAME_HAS_DIGITS("Full name must not contain digits"),
+        PROGRAMME_REQUIRED("Programme is required"),
+        LEVEL_NOT_A_NUMBER("Level must be a number (100, 200, 300, 400)"),
+        LEVEL_INVALID("Level must be one of: 100, 200, 300, 400"),
+        GPA_NOT_A_NUMBER("GPA must be a number between 0.0 and 4.0"),
+        GPA_OUT_OF_RANGE("GPA must be between 0.0 and 4.0"),
+        GPA_TOO_PRECISE("GPA must have at most 4 decimal places"),
+        EMAIL_REQUIRED("Email is required"),
+        EMAIL_INVALID("Email must contain an @ sign and a dot"),
+        PHONE_REQUIRED("Phone number is required"),
+        PHONE_INVALID("Phone number must be 10 digits (digits only)",
+                "Phone number must be exactly 10 digits (digits only)"),
+        DATE_INVALID("Date added must be in format yyyy-MM-dd (example: 2026-02-23)"),
+        STATUS_INVALID("Status must be Active or Inactive");
+
+        private final String message;
+        private final String formMessage;
+
+        ErrorCode(String message) {
+            this(message, message);
+        }
+
+        ErrorCode(String message, String formMessage) {
+            this.message = message;
+            this.formMessage = formMessage;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public String getFormMessage() {
+            return formMessage;
+        }
+    }
+
+    // Raw CSV fields checked and converted: the Student, or what is wrong with the row
+    public static class Parsed {
+        private final Student student;          // null when invalid
+        private final List<ErrorCode> errors;   // empty when valid
+
+        Parsed(Student student, List<ErrorCode> errors) {
+            this.student = student;
+            this.errors = errors;
+        }
+
+        public boolean isValid() { return errors.isEmpty(); }
+        public Student getStudent() { return student; }
+        public List<ErrorCode> getErrors() { return errors; }
+
+        public String getMessage() {
+            return join(errors, "; ");
+        }
+    }
+
+    private StudentValidator() {}
+
+    // =========================
+    // ENTRY POINTS
+    // =========================
+
+    // A Student built in code (the form): empty list = valid
+    public static List<ErrorCode> validate(Student s) {
+        List<ErrorCode> errors = null;
+
+        errors = checkId(s.getStudentId(), errors);
+        errors = checkName(s.getFullName(), errors);
+        errors = checkProgramme(s.getProgramme(), errors);
+        if (!isValidLevel(s.getLevel())) errors = add(errors, ErrorCode.LEVEL_INVALID);
+        if (!isValidGpa(s.getGpa())) errors = add(errors, ErrorCode.GPA_OUT_OF_RANGE);
+        else if (!isGpaPrecise(s.getGpa())) errors = add(errors, ErrorCode.GPA_TOO_PRECISE);
+        errors = checkEmail(s.getEmail(), errors);
+        errors = checkPhone(s.getPhone(), errors);
+        errors = checkStatus(s.getStatus(), errors);
+
+        return done(errors);
+    }
+
+    // One CSV row (fields already trimmed). Level, GPA and date are parsed once, here;
+    // a blank date means today, a blank status means Active.
+    public static Parsed parse(String studentId, String fullName, String programme, String level, String gpa,
+                               String email, String phone, String dateAdded, String status) {
+        List<ErrorCode> errors = null;
+
+        errors = checkId(studentId, errors);
+        errors = checkName(fullName, errors);
+        errors = checkProgramme(programme, errors);
+
+        int levelValue = parseLevel(level);
+        if (levelValue == NOT_A_NUMBER) errors = add(errors, ErrorCode.LEVEL_NOT_A_NUMBER);
+        else if (!isValidLevel(levelValue)) errors = add(errors, ErrorCode.LEVEL_INVALID);
+
+        double gpaValue = parseGpa(gpa);
+        if (Double.isNaN(gpaValue)) errors = add(errors, ErrorCode.GPA_NOT_A_NUMBER);
+        else if (!isValidGpa(gpaValue)) errors = add(errors, ErrorCode.GPA_OUT_OF_RANGE);
+        else if (!isGpaPrecise(gpaValue)) errors = add(errors, ErrorCode.GPA_TOO_PRECISE);
+
+        errors = checkEmail(email, errors);
+        errors = checkPhone(phone, errors);
+
+        LocalDate date = isBlank(dateAdded) ? LocalDate.now() : parseDate(dateAdded);
+        if (date == null) errors = add(errors, ErrorCode.DATE_INVALID);
+
+        errors = checkStatus(status, errors);
+
+        if (errors != null) return new Parsed(null, Collections.unmodifiableList(errors));
+
+        Student s = new Student();
+        s.setStudentId(studentId);
+        s.setFullName(fullName);
+        s.setProgramme(programme);
+        s.setLevel(levelValue);
+        s.setGpa(gpaValue);
+        s.setEmail(email);
+        s.setPhone(phone);
+        s.setDateAdded(date);
+        s.setStatus(normalizeStatus(status));
+        return new Parsed(s, List.of());
+    }
+
+    // The form's message: one sentence per problem, one line each (an ID that is both too
+    // short and has symbols is still one sentence, as the form always said it)
+    public static String formMessage(List<ErrorCode> errors) {
+        StringBuilder sb = new StringBuilder();
+        List<String> seen = new ArrayList<>(errors.size());
+        for (ErrorCode e : errors) {
+            if (seen.contains(e.getFormMessage())) continue;
+            seen.add(e.getFormMessage());
+            if (sb.length() > 0) sb.append('\n');
+            sb.append(e.getFormMessage()).append('.');
+        }
+        return sb.toString();
+    }
+
+    public static String join(List<ErrorCode> errors, String separator) {
+        StringBuilder sb = new StringBuilder();
+        for (ErrorCode e : errors) {
+            if (sb.length() > 0) sb.append(separator);
+            sb.append(e.getMessage());
+        }
+        return sb.toString();
+    }
+
+    // =========================
+    // RULES
+    // =========================
+
+    // 4–20 chars, ASCII letters and digits only
+    private static List<ErrorCode> checkId(String id, List<ErrorCode> errors) {
+        if (isBlank(id)) return add(errors, ErrorCode.ID_REQUIRED);
+
+        if (id.length() < 4 || id.length() > 20) errors = add(errors, ErrorCode.ID_LENGTH);
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))) {
+                return add(errors, ErrorCode.ID_CHARACTERS);
+            }
+        }
+        return errors;
+    }
+
+    // 2–60 chars, no digits
+    private static List<ErrorCode> checkName(String name, List<ErrorCode> errors) {
+        if (isBlank(name)) return add(errors, ErrorCode.NAME_REQUIRED);
+
+        if (name.length() < 2 || name.length() > 60) errors = add(errors, ErrorCode.NAME_LENGTH);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c >= '0' && c <= '9') return add(errors, ErrorCode.NAME_HAS_DIGITS);
+        }
+        return errors;
+    }
+
+    private static List<ErrorCode> checkProgramme(String programme, List<ErrorCode> errors) {
+        return isBlank(programme) ? add(errors, ErrorCode.PROGRAMME_REQUIRED) : errors;
+    }
+
+    private static List<ErrorCode> checkEmail(String email, List<ErrorCode> errors) {
+        if (isBlank(email)) return add(errors, ErrorCode.EMAIL_REQUIRED);
+        if (email.indexOf('@') < 0 || email.indexOf('.') < 0) return add(errors, ErrorCode.EMAIL_INVALID);
+        return errors;
+    }
+
+    // exactly 10 ASCII digits
+    private static List<ErrorCode> checkPhone(String phone, List<ErrorCode> errors) {
+        if (isBlank(phone)) return add(errors, ErrorCode.PHONE_REQUIRED);
+        if (phone.length() != 10) return add(errors, ErrorCode.PHONE_INVALID);
+        for (int i = 0; i < 10; i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') return add(errors, ErrorCode.PHONE_INVALID);
+        }
+        return errors;
+    }
+
+    // optional; Active / Inactive in any case
+    private static List<ErrorCode> checkStatus(String status, List<ErrorCode> errors) {
+        if (isBlank(status)) return errors;
+        String s = status.trim();
+        return (s.equalsIgnoreCase("active") || s.equalsIgnoreCase("inactive")) ? errors : add(errors, ErrorCode.STATUS_INVALID);
+    }
+
+    private static boolean isValidLevel(int level) {
+        return level == 100 || level == 200 || level == 300 || level == 400;
+    }
+
+    // also rejects NaN
+    private static boolean isValidGpa(double gpa) {
+        return gpa >= 0.0 && gpa <= 4.0;
+    }
+
+    // at most 4 decimal places: the stats triggers sum GPA x 10000 as integers (SchemaMigrator,
+    // migration 5), which is only exact, and equal to AVG(gpa), when nothing is rounded off
+    private static boolean isGpaPrecise(double gpa) {
+        return Math.rint(gpa * 10_000) / 10_000 == gpa;
+    }
+
+    private static String normalizeStatus(String status) {
+        if (isBlank(status)) return "Active";
+        return status.trim().equalsIgnoreCase("inactive") ? "Inactive" : "Active";
+    }
+
+    // =========================
+    // PARSING (no exceptions for well-formed input)
+    // =========================
+    private static final int NOT_A_NUMBER = Integer.MIN_VALUE;
+
+    // Same inputs as Integer.parseInt (optional sign, digits)
+    private static int parseLevel(String s) {
+        if (s == null || s.isEmpty()) return NOT_A_NUMBER;
+
+        int i = 0;
+        boolean negative = false;
+        char first = s.charAt(0);
+        if (first == '+' || first == '-') {
+            negative = first == '-';
+            i = 1;
+            if (s.length() == 1) return NOT_A_NUMBER;
+        }
+
+        long value = 0;
+        for (; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return NOT_A_NUMBER;
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) return NOT_A_NUMBER;
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    // "3", "3.45", ".5": exact decimal fast path (digits / 10^n is correctly rounded, same as
+    // Double.parseDouble). Anything else (exponents, long fractions) goes to Double.parseDouble.
+    // Returns NaN when it isn't a number (or spells NaN).
+    private static double parseGpa(String s) {
+        if (s == null || s.isEmpty()) return Double.NaN;
+
+        long digits = 0;
+        int count = 0;
+        int scale = -1;   // digits after the '.', -1 = no '.'
+        boolean simple = true;
+
+        for (int i = 0; i < s.length() && simple; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = digits * 10 + (c - '0');
+                count++;
+                if (scale >= 0) scale++;
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                simple = false;
+            }
+        }
+
+        if (simple && count > 0 && count <= 15) {
+            return scale <= 0 ? digits : digits / POWERS_OF_TEN[scale];
+        }
+
+        try {
+            return Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    // yyyy-MM-dd; other ISO forms (e.g. +10000-01-01) fall back to LocalDate.parse. null = invalid.
+    private static LocalDate parseDate(String s) {
+        if (s.length() == 10 && s.charAt(4) == '-' && s.charAt(7) == '-') {
+            int y = digits(s, 0, 4);
+            int m = digits(s, 5, 7);
+            int d = digits(s, 8, 10);
+            if (y < 0 || m < 0 || d < 0) return null;
+            try {
+                return LocalDate.of(y, m, d);
+            } catch (DateTimeException e) {
+                return null;   // e.g. 2026-02-30
+            }
+        }
+
+        try {
+            return LocalDate.parse(s);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int digits(String s, int from, int to) {
+        int v = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+
+    // Error lists are only allocated for invalid input
+    private static List<ErrorCode> add(List<ErrorCode> errors, ErrorCode code) {
+        if (errors == null) errors = new ArrayList<>(2);
+        errors.add(code);
+        return errors;
+    }
+
+    private static List<ErrorCode> done(List<ErrorCode> errors) {
+        return errors == null ? List.of() : Collections.unmodifiableList(errors);
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
\ No newline at end of file
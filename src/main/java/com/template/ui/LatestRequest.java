@@ -0,0 +1,84 @@
+package com.template.ui;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// One background request at a time for a part of a screen (e.g. a table or a set of cards).
+// Starting a new request cancels the previous one, and only the latest result is handed
+// back, on the FX thread. Call everything from the FX thread.
+public class LatestRequest<T> {
+
+    private final Consumer<Boolean> loading;   // shows / hides the loading state
+
+    private CompletableFuture<T> current;
+    private long generation = 0;
+
+    public LatestRequest(Consumer<Boolean> loading) {
+        this.loading = loading;
+    }
+
+    public void submit(Supplier<CompletableFuture<T>> request, Consumer<T> onResult, Consumer<Throwable> onError) {
+        cancel();
+
+        long gen = ++generation;
+        loading.accept(true);
+
+        CompletableFuture<T> future;
+        try {
+            future = request.get();
+        } catch (RuntimeException e) {
+            // e.g. the pool refused the task: the screen must not stay in its loading state
+            loading.accept(false);
+            onError.accept(e);
+            return;
+        }
+        current = future;
+
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            if (gen != generation) return;   // superseded (or cancelled)
+
+            current = null;
+            loading.accept(false);
+
+            if (error == null) {
+                onResult.accept(result);
+            } else if (!(unwrap(error) instanceof CancellationException)) {
+                onError.accept(unwrap(error));
+            }
+        }));
+    }
+
+    // Drop the pending request (its result, if it still arrives, is ignored)
+    public void cancel() {
+        if (current != null) {
+            current.cancel(false);
+            current = null;
+            generation++;
+            loading.accept(false);
+        }
+    }
+
+    public boolean isLoading() {
+        return current != null;
+    }
+
+    // Deliver a one-off result (e.g. a save) on the FX thread; nothing is superseded
+    public static <R> void onFx(CompletableFuture<R> future, Consumer<R> onResult, Consumer<Throwable> onError) {
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                onResult.accept(result);
+            } else {
+                onError.accept(unwrap(error));
+            }
+        }));
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+    }
+}
\ No newline at end of file
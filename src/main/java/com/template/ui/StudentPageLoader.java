@@ -0,0 +1,104 @@
+package com.template.ui;
+
+import com.template.Domain.Student;
+import com.template.repository.StudentPage;
+import com.template.repository.StudentPageQuery;
+import com.template.util.AppExecutors;
+import com.template.util.AppLogger;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+
+import java.util.function.Function;
+
+// Backs the students TableView with a list that fills itself page by page.
+// Pages are fetched on the shared background pool (one page at a time, in order) when a row
+// close to the end of what is loaded becomes visible. All public methods run on the FX thread.
+public class StudentPageLoader {
+
+    private final Function<StudentPageQuery, StudentPage> fetcher;
+    private final int prefetch;
+
+    private final ObservableList<Student> items = FXCollections.observableArrayList();
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+
+    private StudentPageQuery nextQuery;   // null = everything loaded
+    private Task<StudentPage> current;
+    private long generation = 0;          // bumped on reset; stale pages are dropped
+
+    public StudentPageLoader(Function<StudentPageQuery, StudentPage> fetcher, int prefetch) {
+        this.fetcher = fetcher;
+        this.prefetch = Math.max(0, prefetch);
+    }
+
+    public ObservableList<Student> getItems() {
+        return items;
+    }
+
+    // true while a page is being fetched (for a loading indicator)
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    // New filters/sort: drop what we have and load the first page
+    public void reset(StudentPageQuery firstPage) {
+        cancel();
+        items.clear();
+        nextQuery = firstPage;
+        loadMore();
+    }
+
+    // Called by the table rows as they are shown
+    public void rowShown(int index) {
+        if (index >= items.size() - 1 - prefetch) {
+            loadMore();
+        }
+    }
+
+    // Stop paging (e.g. the table switched to search results); pending pages are dropped
+    public void cancel() {
+        generation++;
+        if (current != null) current.cancel(false);
+        current = null;
+        loading.set(false);
+    }
+
+    private void loadMore() {
+        if (loading.get() || nextQuery == null) return;
+
+        loading.set(true);
+        long gen = generation;
+        StudentPageQuery query = nextQuery;
+
+        Task<StudentPage> task = new Task<>() {
+            @Override
+            protected StudentPage call() {
+                return fetcher.apply(query);
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            if (gen != generation) return;
+
+            StudentPage page = task.getValue();
+            nextQuery = page.hasMore() ? query.next(page.getNext()) : null;
+            current = null;
+            loading.set(false);
+            items.addAll(page.getRows());
+        });
+
+        task.setOnFailed(e -> {
+            if (gen != generation) return;
+
+            current = null;
+            loading.set(false);
+            nextQuery = null;
+            AppLogger.error("Failed to load students page.", task.getException());
+        });
+
+        current = task;
+        AppExecutors.background().execute(task);
+    }
+}
\ No newline at end of file
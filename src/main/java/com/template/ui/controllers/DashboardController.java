@@ -1,14 +1,13 @@
 package com.template.ui.controllers;
 
-import com.template.Domain.Student;
-import com.template.service.StudentService;
+import com.template.Domain.DashboardStats;
+import com.template.service.ReportService;
+import com.template.ui.LatestRequest;
 import com.template.util.ViewNavigator;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 
-import java.util.List;
-
 public class DashboardController {
 
     @FXML private Label totalStudentsLabel;
@@ -16,7 +15,8 @@ public class DashboardController {
     @FXML private Label inactiveStudentsLabel;
     @FXML private Label avgGpaLabel;
 
-    private final StudentService studentService = new StudentService();
+    private final ReportService reportService = new ReportService();
+    private final LatestRequest<DashboardStats> statsRequest = new LatestRequest<>(this::showLoading);
 
     @FXML
     public void initialize() {
@@ -24,36 +24,25 @@ public class DashboardController {
     }
 
     private void refreshDashboardStats() {
-        try {
-            List<Student> students = studentService.getAllStudents();
-
-            int total = students.size();
-
-            long active = students.stream()
-                    .filter(s -> s.getStatus() != null && s.getStatus().equalsIgnoreCase("Active"))
-                    .count();
-
-            long inactive = students.stream()
-                    .filter(s -> s.getStatus() != null && s.getStatus().equalsIgnoreCase("Inactive"))
-                    .count();
-
-            double avg = students.stream()
-                    .mapToDouble(Student::getGpa)
-                    .average()
-                    .orElse(0.0);
+        // single pre-aggregated row (no scan of the students table), read off the FX thread
+        statsRequest.submit(reportService::getDashboardStatsAsync, this::showStats,
+                // If anything fails, keep safe default values
+                e -> showStats(new DashboardStats(0, 0, 0, 0.0)));
+    }
 
-            totalStudentsLabel.setText(String.valueOf(total));
-            activeStudentsLabel.setText(String.valueOf(active));
-            inactiveStudentsLabel.setText(String.valueOf(inactive));
-            avgGpaLabel.setText(String.format("%.2f", avg));
+    private void showStats(DashboardStats stats) {
+        totalStudentsLabel.setText(String.valueOf(stats.getTotalStudents()));
+        activeStudentsLabel.setText(String.valueOf(stats.getActiveStudents()));
+        inactiveStudentsLabel.setText(String.valueOf(stats.getInactiveStudents()));
+        avgGpaLabel.setText(String.format("%.2f", stats.getAvgGpa()));
+    }
 
-        } catch (Exception e) {
-            // If anything fails, keep safe default values
-            totalStudentsLabel.setText("0");
-            activeStudentsLabel.setText("0");
-            inactiveStudentsLabel.setText("0");
-            avgGpaLabel.setText("0.00");
-        }
+    private void showLoading(boolean loading) {
+        if (!loading) return;
+        totalStudentsLabel.setText("…");
+        activeStudentsLabel.setText("…");
+        inactiveStudentsLabel.setText("…");
+        avgGpaLabel.setText("…");
     }
 
     // ===== Navigation buttons (cards) =====
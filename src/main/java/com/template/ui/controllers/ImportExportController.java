@@ -1,12 +1,19 @@
 package com.template.ui.controllers;
 
+import com.template.Domain.ImportCheckpoint;
+import com.template.Domain.ImportPreviewRow;
 import com.template.service.ImportExportService;
+import com.template.service.ImportOptions;
+import com.template.service.ImportPipeline;
 import com.template.service.ImportResult;
+import com.template.util.AppExecutors;
 import com.template.util.ViewNavigator;
+import javafx.application.Platform;
 import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.Dragboard;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.TransferMode;
@@ -16,26 +23,46 @@ import javafx.stage.FileChooser;
 import java.awt.Desktop;
 import java.io.File;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class ImportExportController {
 
     @FXML private Button exportFullBtn;
     @FXML private Button exportTopBtn;
     @FXML private Button exportRiskBtn;
+    @FXML private CheckBox compressExportCheck;
     @FXML private Label exportStatusLabel;
     @FXML private ProgressIndicator exportProgress;
 
     @FXML private StackPane dropZone;
     @FXML private Label selectedFileLabel;
     @FXML private Button importBtn;
+    @FXML private Button previewBtn;
+    @FXML private CheckBox mergeCheck;
     @FXML private Label importStatusLabel;
     @FXML private ProgressIndicator importProgress;
     @FXML private Hyperlink viewErrorReportLink;
 
+    @FXML private TableView<ImportPreviewRow> previewTable;
+    @FXML private TableColumn<ImportPreviewRow, Integer> pvRowCol;
+    @FXML private TableColumn<ImportPreviewRow, String> pvIdCol;
+    @FXML private TableColumn<ImportPreviewRow, String> pvResultCol;
+    @FXML private TableColumn<ImportPreviewRow, String> pvProblemCol;
+
     private final ImportExportService service = new ImportExportService();
 
+    // Preview table: every row for the first PREVIEW_ALL_ROWS, then rejected rows only,
+    // up to PREVIEW_MAX_ROWS in all (the error report has the rest)
+    private static final int PREVIEW_ALL_ROWS = 200;
+    private static final int PREVIEW_MAX_ROWS = 2000;
+
     private File selectedCsvFile;
     private Path lastErrorReport;
 
@@ -47,8 +74,17 @@ public class ImportExportController {
         exportProgress.setVisible(false);
         importProgress.setVisible(false);
 
+        compressExportCheck.setSelected(service.isGzipExportsByDefault());
+
         selectedFileLabel.setText("No file selected");
         importBtn.setDisable(true);
+        previewBtn.setDisable(true);
+
+        pvRowCol.setCellValueFactory(new PropertyValueFactory<>("rowNumber"));
+        pvIdCol.setCellValueFactory(new PropertyValueFactory<>("studentId"));
+        pvResultCol.setCellValueFactory(new PropertyValueFactory<>("result"));
+        pvProblemCol.setCellValueFactory(new PropertyValueFactory<>("problem"));
+        showPreviewTable(false);
 
         viewErrorReportLink.setDisable(true);
 
@@ -64,7 +100,7 @@ public class ImportExportController {
             Dragboard db = event.getDragboard();
             if (db.hasFiles()) {
                 List<File> files = db.getFiles();
-                if (!files.isEmpty() && files.get(0).getName().toLowerCase().endsWith(".csv")) {
+                if (!files.isEmpty() && isCsvFile(files.get(0))) {
                     event.acceptTransferModes(TransferMode.COPY);
                 }
             }
@@ -77,7 +113,7 @@ public class ImportExportController {
 
             if (db.hasFiles() && !db.getFiles().isEmpty()) {
                 File f = db.getFiles().get(0);
-                if (f.getName().toLowerCase().endsWith(".csv")) {
+                if (isCsvFile(f)) {
                     setSelectedFile(f);
                     success = true;
                 }
@@ -94,7 +130,7 @@ public class ImportExportController {
 
         FileChooser fc = new FileChooser();
         fc.setTitle("Select CSV File");
-        fc.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files (*.csv)", "*.csv"));
+        fc.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files (*.csv, *.csv.gz)", "*.csv", "*.csv.gz"));
 
         File file = fc.showOpenDialog(dropZone.getScene().getWindow());
         if (file != null) {
@@ -102,10 +138,20 @@ public class ImportExportController {
         }
     }
 
+    // Plain or gzip-compressed CSV
+    private boolean isCsvFile(File f) {
+        String name = f.getName().toLowerCase();
+        return name.endsWith(".csv") || name.endsWith(".csv.gz");
+    }
+
     private void setSelectedFile(File file) {
         selectedCsvFile = file;
         selectedFileLabel.setText("Selected: " + file.getName());
         importBtn.setDisable(false);
+        previewBtn.setDisable(false);
+
+        previewTable.getItems().clear();
+        showPreviewTable(false);
 
         importStatusLabel.setText("");
         lastErrorReport = null;
@@ -117,20 +163,23 @@ public class ImportExportController {
     // =========================
     @FXML
     private void exportFullStudentList(ActionEvent event) {
+        boolean gzip = compressExportCheck.isSelected();
         runExportTask("Exporting full student list...",
-                service::exportFullStudentListCsv);
+                () -> service.exportFullStudentListCsv(gzip));
     }
 
     @FXML
     private void exportTopPerformers(ActionEvent event) {
+        boolean gzip = compressExportCheck.isSelected();
         runExportTask("Exporting top performers report...",
-                service::exportTopPerformersCsv);
+                () -> service.exportTopPerformersCsv(gzip));
     }
 
     @FXML
     private void exportAtRiskReport(ActionEvent event) {
+        boolean gzip = compressExportCheck.isSelected();
         runExportTask("Exporting at risk report...",
-                service::exportAtRiskReportCsv);
+                () -> service.exportAtRiskReportCsv(gzip));
     }
 
     private void runExportTask(String runningMessage, Callable<Path> job) {
@@ -158,13 +207,14 @@ public class ImportExportController {
             showError("Export failed: " + task.getException().getMessage());
         });
 
-        new Thread(task).start();
+        AppExecutors.files().execute(task);
     }
 
     private void setExportBusy(boolean busy) {
         exportFullBtn.setDisable(busy);
         exportTopBtn.setDisable(busy);
         exportRiskBtn.setDisable(busy);
+        compressExportCheck.setDisable(busy);
         exportProgress.setVisible(busy);
     }
 
@@ -179,13 +229,63 @@ public class ImportExportController {
             return;
         }
 
+        Path file = selectedCsvFile.toPath();
+        ImportOptions fresh = mergeCheck.isSelected() ? ImportOptions.merge() : ImportOptions.insert();
+
         setImportBusy(true);
-        importStatusLabel.setText("Importing...");
+        importStatusLabel.setText("Checking for an interrupted import...");
+
+        // an earlier run of this file that did not finish can carry on from its checkpoint
+        Task<ImportCheckpoint> check = new Task<>() {
+            @Override
+            protected ImportCheckpoint call() {
+                return service.findCheckpoint(file);
+            }
+        };
+
+        check.setOnSucceeded(e -> {
+            ImportCheckpoint checkpoint = check.getValue();
+            ImportOptions options = checkpoint == null ? fresh : askResume(checkpoint, fresh);
+            if (options == null) {
+                setImportBusy(false);
+                importStatusLabel.setText("");
+                return;
+            }
+            runImport(file, options);
+        });
+
+        check.setOnFailed(e -> runImport(file, fresh));
+
+        AppExecutors.files().execute(check);
+    }
+
+    // null when cancelled
+    private ImportOptions askResume(ImportCheckpoint checkpoint, ImportOptions fresh) {
+        ButtonType resume = new ButtonType("Resume");
+        ButtonType startOver = new ButtonType("Start Over");
+
+        Alert a = new Alert(Alert.AlertType.CONFIRMATION,
+                "An earlier import of this file stopped after row " + checkpoint.getRowNumber()
+                        + " (" + (checkpoint.getInserted() + checkpoint.getUpdated()) + " saved, "
+                        + checkpoint.getRejected() + " rejected)."
+                        + "\n\nResume continues from the next row."
+                        + "\nStart Over reads the whole file again (rows already saved count as duplicates unless merging).",
+                resume, startOver, ButtonType.CANCEL);
+        a.setHeaderText("Resume Import?");
+
+        Optional<ButtonType> choice = a.showAndWait();
+        if (choice.isEmpty() || choice.get() == ButtonType.CANCEL) return null;
+        return choice.get() == resume ? ImportOptions.resume(checkpoint) : fresh;
+    }
+
+    private void runImport(Path file, ImportOptions options) {
+
+        importStatusLabel.setText(options.getResume() != null ? "Resuming import..." : "Importing...");
 
         Task<ImportResult> task = new Task<>() {
             @Override
             protected ImportResult call() {
-                return service.importStudentsFromCsv(selectedCsvFile.toPath());
+                return service.importStudentsFromCsv(file, options);
             }
         };
 
@@ -194,9 +294,9 @@ public class ImportExportController {
             ImportResult r = task.getValue();
 
             importStatusLabel.setText(
-                    "Imported: " + r.getImportedCount()
-                            + " | Skipped: " + r.getSkippedCount()
-                            + " | Duplicates: " + r.getDuplicateCount()
+                    "Inserted: " + r.getInsertedCount()
+                            + (options.isMerge() ? " | Updated: " + r.getUpdatedCount() + " | Unchanged: " + r.getUnchangedCount() : "")
+                            + " | Rejected: " + r.getRejectedCount()
             );
 
             if (r.getErrorReportPath() != null) {
@@ -208,9 +308,12 @@ public class ImportExportController {
             }
 
             showInfo("Import Finished",
-                    "Imported: " + r.getImportedCount()
-                            + "\nSkipped: " + r.getSkippedCount()
-                            + "\nDuplicates: " + r.getDuplicateCount()
+                    "Inserted: " + r.getInsertedCount()
+                            + (options.isMerge()
+                                ? "\nUpdated: " + r.getUpdatedCount() + "\nUnchanged: " + r.getUnchangedCount()
+                                : "\nDuplicates: " + r.getDuplicateCount())
+                            + "\nRejected: " + r.getRejectedCount()
+                            + problemSummary(r)
                             + (r.getErrorReportPath() != null ? ("\n\nError report saved to:\n" + r.getErrorReportPath()) : "")
             );
         });
@@ -221,14 +324,141 @@ public class ImportExportController {
             showError("Import failed: " + task.getException().getMessage());
         });
 
-        new Thread(task).start();
+        AppExecutors.files().execute(task);
     }
 
     private void setImportBusy(boolean busy) {
         importBtn.setDisable(busy);
+        previewBtn.setDisable(busy);
+        mergeCheck.setDisable(busy);
         importProgress.setVisible(busy);
     }
 
+    // =========================
+    // DRY RUN (CHECK FILE)
+    // =========================
+    @FXML
+    private void previewStudentRecords(ActionEvent event) {
+
+        if (selectedCsvFile == null) {
+            showError("Please select a CSV file first.");
+            return;
+        }
+
+        Path file = selectedCsvFile.toPath();
+        ImportOptions options = mergeCheck.isSelected() ? ImportOptions.merge() : ImportOptions.insert();
+
+        setImportBusy(true);
+        importStatusLabel.setText("Checking file...");
+        previewTable.getItems().clear();
+        showPreviewTable(true);
+
+        PreviewFeed feed = new PreviewFeed();
+
+        Task<ImportResult> task = new Task<>() {
+            @Override
+            protected ImportResult call() {
+                return service.previewImport(file, options, feed);
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            setImportBusy(false);
+            feed.drain();
+            ImportResult r = task.getValue();
+
+            importStatusLabel.setText(
+                    "Would insert: " + r.getInsertedCount()
+                            + (options.isMerge() ? " | Update: " + r.getUpdatedCount() + " | Unchanged: " + r.getUnchangedCount() : "")
+                            + " | Rejected: " + r.getRejectedCount()
+            );
+
+            lastErrorReport = r.getErrorReportPath();
+            viewErrorReportLink.setDisable(lastErrorReport == null);
+
+            showInfo("Check Finished (nothing was imported)",
+                    "Rows checked: " + r.getTotalRows()
+                            + "\nWould insert: " + r.getInsertedCount()
+                            + (options.isMerge()
+                                ? "\nWould update: " + r.getUpdatedCount() + "\nUnchanged: " + r.getUnchangedCount()
+                                : "\nDuplicates: " + r.getDuplicateCount())
+                            + "\nRejected: " + r.getRejectedCount()
+                            + problemSummary(r)
+                            + (r.getErrorReportPath() != null ? ("\n\nError report saved to:\n" + r.getErrorReportPath()) : "")
+            );
+        });
+
+        task.setOnFailed(e -> {
+            setImportBusy(false);
+            importStatusLabel.setText("");
+            showError("Check failed: " + task.getException().getMessage());
+        });
+
+        AppExecutors.files().execute(task);
+    }
+
+    // Hands preview rows from the import thread to the table. Chunks arrive far faster than the
+    // screen redraws, so they queue up and at most one drain is waiting on the FX thread.
+    private class PreviewFeed implements ImportPipeline.PreviewListener {
+
+        private final ConcurrentLinkedQueue<ImportPreviewRow> rows = new ConcurrentLinkedQueue<>();
+        private final AtomicReference<ImportResult> latest = new AtomicReference<>();
+        private final AtomicBoolean drainQueued = new AtomicBoolean();
+        private int taken = 0;   // import thread only
+
+        @Override
+        public void onRows(List<ImportPreviewRow> chunk, ImportResult soFar) {
+            for (ImportPreviewRow row : chunk) {
+                if (taken >= PREVIEW_MAX_ROWS) break;
+                if (taken < PREVIEW_ALL_ROWS || "Rejected".equals(row.getResult())) {
+                    rows.add(row);
+                    taken++;
+                }
+            }
+            latest.set(soFar);
+
+            if (drainQueued.compareAndSet(false, true)) {
+                Platform.runLater(this::drain);
+            }
+        }
+
+        // FX thread
+        void drain() {
+            drainQueued.set(false);
+
+            List<ImportPreviewRow> batch = new ArrayList<>();
+            ImportPreviewRow row;
+            while ((row = rows.poll()) != null) {
+                batch.add(row);
+            }
+            if (!batch.isEmpty()) previewTable.getItems().addAll(batch);
+
+            ImportResult soFar = latest.get();
+            if (soFar != null) {
+                importStatusLabel.setText("Checked " + soFar.getTotalRows() + " rows | Problems: " + soFar.getRejectedCount());
+            }
+        }
+    }
+
+    private void showPreviewTable(boolean show) {
+        previewTable.setVisible(show);
+        previewTable.setManaged(show);
+    }
+
+    // "\n\nProblems:\n  message: count" lines, most common first ("" when there were none)
+    private String problemSummary(ImportResult r) {
+        if (r.getErrorCounts().isEmpty()) return "";
+
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>(r.getErrorCounts().entrySet());
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+
+        StringBuilder sb = new StringBuilder("\n\nProblems:");
+        for (Map.Entry<String, Integer> e : counts) {
+            sb.append("\n  ").append(e.getKey()).append(": ").append(e.getValue());
+        }
+        return sb.toString();
+    }
+
     // =========================
     // VIEW ERROR REPORT
     // =========================
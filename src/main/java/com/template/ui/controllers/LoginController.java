@@ -1,6 +1,7 @@
 package com.template.ui.controllers;
 
 import com.template.service.AuthService;
+import com.template.ui.LatestRequest;
 import com.template.util.ViewNavigator;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -12,19 +13,26 @@ public class LoginController {
     @FXML private PasswordField passwordField;
     @FXML private CheckBox rememberCheck;
     @FXML private Label errorLabel;
+    @FXML private Button signInButton;
 
     private final AuthService authService = new AuthService();
 
     @FXML
     private void handleLogin(ActionEvent event) {
         errorLabel.setText("");
+        setBusy(true);
+
+        LatestRequest.onFx(authService.loginAsync(emailField.getText(), passwordField.getText()),
+                ok -> ViewNavigator.switchTo(event, "/dashboard.fxml", "Dashboard"),
+                ex -> {
+                    setBusy(false);
+                    errorLabel.setText(ex.getMessage());
+                });
+    }
 
-        try {
-            authService.login(emailField.getText(), passwordField.getText());
-            ViewNavigator.switchTo(event, "/dashboard.fxml", "Dashboard");
-        } catch (Exception ex) {
-            errorLabel.setText(ex.getMessage());
-        }
+    private void setBusy(boolean busy) {
+        signInButton.setDisable(busy);
+        signInButton.setText(busy ? "Signing in…" : "Sign in");
     }
 
     @FXML
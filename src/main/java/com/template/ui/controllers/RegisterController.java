@@ -1,6 +1,7 @@
 package com.template.ui.controllers;
 
 import com.template.service.AuthService;
+import com.template.ui.LatestRequest;
 import com.template.util.ViewNavigator;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -13,25 +14,31 @@ public class RegisterController {
     @FXML private PasswordField passwordField;
     @FXML private PasswordField confirmPasswordField;
     @FXML private Label errorLabel;
+    @FXML private Button createButton;
 
     private final AuthService authService = new AuthService();
 
     @FXML
     private void handleRegister(ActionEvent event) {
         errorLabel.setText("");
+        setBusy(true);
 
-        try {
-            authService.register(
-                    fullNameField.getText(),
-                    emailField.getText(),
-                    passwordField.getText(),
-                    confirmPasswordField.getText()
-            );
-            // After register go straight to dashboard
-            ViewNavigator.switchTo(event, "/dashboard.fxml", "Dashboard");
-        } catch (Exception ex) {
-            errorLabel.setText(ex.getMessage());
-        }
+        LatestRequest.onFx(authService.registerAsync(
+                        fullNameField.getText(),
+                        emailField.getText(),
+                        passwordField.getText(),
+                        confirmPasswordField.getText()),
+                // After register go straight to dashboard
+                ok -> ViewNavigator.switchTo(event, "/dashboard.fxml", "Dashboard"),
+                ex -> {
+                    setBusy(false);
+                    errorLabel.setText(ex.getMessage());
+                });
+    }
+
+    private void setBusy(boolean busy) {
+        createButton.setDisable(busy);
+        createButton.setText(busy ? "Creating account…" : "Create account");
     }
 
     @FXML
@@ -4,7 +4,9 @@ import com.template.Domain.ProgrammeSummaryRow;
 import com.template.Domain.Student;
 import com.template.Domain.TopPerformerRow;
 import com.template.service.ReportService;
+import com.template.service.ReportSnapshot;
 import com.template.service.SettingsService;
+import com.template.ui.LatestRequest;
 import com.template.util.ViewNavigator;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -17,6 +19,7 @@ import javafx.scene.control.cell.PropertyValueFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class ReportsController {
 
@@ -66,6 +69,13 @@ public class ReportsController {
 
     private final ReportService reportService = new ReportService();
 
+    // Background loads: a newer request replaces an older one still running
+    private final LatestRequest<ReportSnapshot> snapshotRequest = new LatestRequest<>(this::showReportLoading);
+    private final LatestRequest<List<TopPerformerRow>> topRequest = new LatestRequest<>(this::showTopLoading);
+
+    private final Label topEmptyPlaceholder = new Label("No data yet. Add students first.");
+    private final Label atRiskEmptyPlaceholder = new Label("No at-risk students for the current threshold.");
+
     private double threshold = 2.0;
 
     private final ObservableList<TopPerformerRow> topData = FXCollections.observableArrayList();
@@ -79,15 +89,8 @@ public class ReportsController {
 
         tpProgrammeFilter.getItems().clear();
         tpProgrammeFilter.getItems().add("All Programmes");
-        tpProgrammeFilter.getItems().addAll(settingsService.getProgrammes());
         tpProgrammeFilter.setValue("All Programmes");
 
-// Load threshold from settings
-        threshold = settingsService.getAtRiskThreshold();
-        thresholdField.setText(String.valueOf(threshold));
-        atRiskThresholdField.setText(String.valueOf(threshold));
-
-
         tpLevelFilter.getItems().addAll("All Levels", "100", "200", "300", "400");
         tpLevelFilter.setValue("All Levels");
 
@@ -117,7 +120,7 @@ public class ReportsController {
 
         topTable.setItems(topData);
         topTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
-        topTable.setPlaceholder(new Label("No data yet. Add students first."));
+        topTable.setPlaceholder(topEmptyPlaceholder);
 
         // Programme summary columns (card + full)
         psProgrammeCol.setCellValueFactory(new PropertyValueFactory<>("programme"));
@@ -167,17 +170,27 @@ public class ReportsController {
 
         atRiskTable.setItems(atRiskData);
         atRiskTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
-        atRiskTable.setPlaceholder(new Label("No at-risk students for the current threshold."));
+        atRiskTable.setPlaceholder(atRiskEmptyPlaceholder);
 
         // Events
-        tpProgrammeFilter.setOnAction(e -> refreshAll());
-        tpLevelFilter.setOnAction(e -> refreshAll());
+        // filter changes only re-read the leaderboard, not the whole report
+        tpProgrammeFilter.setOnAction(e -> refreshTopPerformers());
+        tpLevelFilter.setOnAction(e -> refreshTopPerformers());
 
         thresholdField.setOnAction(e -> applyAtRiskThreshold(null));
         atRiskThresholdField.setOnAction(e -> applyAtRiskThreshold(null));
 
-        // Initial load
-        refreshAll();
+        // Initial load (background): programme filter, then the saved threshold and the report
+        LatestRequest.onFx(settingsService.getProgrammesAsync(),
+                programmes -> tpProgrammeFilter.getItems().addAll(programmes),
+                e -> showError("Could not load programmes."));
+
+        LatestRequest.onFx(settingsService.getAtRiskThresholdAsync(),
+                saved -> {
+                    threshold = saved;
+                    refreshAll();
+                },
+                e -> refreshAll());
     }
 
     private void setupThresholdField(TextField tf) {
@@ -189,41 +202,77 @@ public class ReportsController {
     }
 
     private void refreshAll() {
+        // One scan gives every number on this screen
+        String prog = selectedProgramme();
+        Integer level = selectedLevel();
+
+        topRequest.cancel();
+        snapshotRequest.submit(() -> reportService.getSnapshotAsync(prog, level, 10, threshold),
+                snapshot -> showSnapshot(snapshot, prog, level),
+                e -> showError("Could not load reports: " + e.getMessage()));
+    }
 
-        // Summary values
-        List<Student> all = reportService.getAllStudents();
-        totalStudentsValue.setText(String.valueOf(all.size()));
-        avgGpaValue.setText(String.format("%.2f", reportService.averageGpa(all)));
+    private void refreshTopPerformers() {
+        String prog = selectedProgramme();
+        Integer level = selectedLevel();
 
-        // Top performers
+        topRequest.submit(() -> reportService.getTopPerformersAsync(prog, level, 10),
+                topData::setAll,
+                e -> showError("Could not load top performers: " + e.getMessage()));
+    }
+
+    private void showReportLoading(boolean loading) {
+        if (loading) {
+            totalStudentsValue.setText("…");
+            avgGpaValue.setText("…");
+            atRiskCountLabel.setText("Loading…");
+        }
+        atRiskTable.setPlaceholder(loading ? new Label("Loading…") : atRiskEmptyPlaceholder);
+        showTopLoading(loading);
+    }
+
+    private void showTopLoading(boolean loading) {
+        topTable.setPlaceholder(loading ? new Label("Loading…") : topEmptyPlaceholder);
+    }
+
+    // Top performers filter
+    private String selectedProgramme() {
         String prog = tpProgrammeFilter.getValue();
-        if ("All Programmes".equals(prog)) prog = null;
+        return "All Programmes".equals(prog) ? null : prog;
+    }
 
+    private Integer selectedLevel() {
         String levelStr = tpLevelFilter.getValue();
-        Integer level = null;
         if (levelStr != null && !"All Levels".equals(levelStr)) {
-            try { level = Integer.parseInt(levelStr); } catch (Exception ignored) {}
+            try { return Integer.parseInt(levelStr); } catch (Exception ignored) {}
         }
+        return null;
+    }
 
-        topData.setAll(reportService.getTopPerformers(prog, level, 10));
-
-        // Programme summary tables (card + full)
-        programmeData.setAll(reportService.getProgrammeSummary());
+    private void showSnapshot(ReportSnapshot snapshot, String topProgramme, Integer topLevel) {
 
-        // At risk + charts
-        updateAtRiskAndCharts();
-    }
+        // Summary values
+        totalStudentsValue.setText(String.valueOf(snapshot.getTotalStudents()));
+        avgGpaValue.setText(String.format("%.2f", snapshot.getAverageGpa()));
+
+        // Top performers (unless the filter changed while this was loading)
+        if (!topRequest.isLoading()
+                && Objects.equals(topProgramme, selectedProgramme())
+                && Objects.equals(topLevel, selectedLevel())) {
+            topData.setAll(snapshot.getTopPerformers());
+        }
 
-    private void updateAtRiskAndCharts() {
+        // Programme summary tables (card + full)
+        programmeData.setAll(snapshot.getProgrammeSummary());
 
         // At risk students
-        List<Student> atRisk = reportService.getAtRiskStudents(threshold);
+        List<Student> atRisk = snapshot.getAtRiskStudents();
         atRiskData.setAll(atRisk);
 
-        atRiskCountLabel.setText(atRisk.size() + " student(s) below " + String.format("%.1f", threshold));
+        atRiskCountLabel.setText(atRisk.size() + " student(s) below " + String.format("%.1f", snapshot.getThreshold()));
 
         // Charts
-        Map<String, Long> dist = reportService.getGpaDistribution();
+        Map<String, Long> dist = snapshot.getGpaDistribution();
 
         setChartData(gpaChart, dist);
         setChartData(gpaChartFull, dist);
@@ -259,7 +308,7 @@ public class ReportsController {
             thresholdField.setText(String.valueOf(v));
             atRiskThresholdField.setText(String.valueOf(v));
 
-            updateAtRiskAndCharts();
+            refreshAll();
 
         } catch (Exception ex) {
             Alert a = new Alert(Alert.AlertType.ERROR,
@@ -274,6 +323,12 @@ public class ReportsController {
 
 
 
+    private void showError(String msg) {
+        Alert a = new Alert(Alert.AlertType.ERROR, msg);
+        a.setHeaderText("Error");
+        a.showAndWait();
+    }
+
     // Back to Dashboard button
     @FXML
     private void goDashboard(ActionEvent event) {
@@ -1,6 +1,7 @@
 package com.template.ui.controllers;
 
 import com.template.service.SettingsService;
+import com.template.ui.LatestRequest;
 import com.template.util.ViewNavigator;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -20,16 +21,27 @@ public class SettingsController {
 
     private final SettingsService settingsService = new SettingsService();
     private final ObservableList<String> programmes = FXCollections.observableArrayList();
+    private final LatestRequest<List<String>> programmesRequest = new LatestRequest<>(this::showProgrammesLoading);
 
     @FXML
     public void initialize() {
 
-        // Spinner for threshold 0.0 to 4.0
-        double saved = settingsService.getAtRiskThreshold();
+        // Spinner for threshold 0.0 to 4.0 (locked until the saved value is loaded)
         SpinnerValueFactory<Double> vf =
-                new SpinnerValueFactory.DoubleSpinnerValueFactory(0.0, 4.0, saved, 0.1);
+                new SpinnerValueFactory.DoubleSpinnerValueFactory(0.0, 4.0, 2.0, 0.1);
         thresholdSpinner.setValueFactory(vf);
         thresholdSpinner.setEditable(true);
+        thresholdSpinner.setDisable(true);
+
+        LatestRequest.onFx(settingsService.getAtRiskThresholdAsync(),
+                saved -> {
+                    vf.setValue(saved);
+                    thresholdSpinner.setDisable(false);
+                },
+                e -> {
+                    thresholdSpinner.setDisable(false);
+                    showError("Could not load the saved threshold.");
+                });
 
         // Load programme list
         refreshProgrammes();
@@ -63,14 +75,10 @@ public class SettingsController {
                     dialog.setHeaderText("Edit Programme");
                     dialog.setContentText("Programme name:");
 
-                    dialog.showAndWait().ifPresent(newName -> {
-                        try {
-                            settingsService.updateProgramme(oldName, newName);
-                            refreshProgrammes();
-                        } catch (Exception ex) {
-                            showError(ex.getMessage());
-                        }
-                    });
+                    dialog.showAndWait().ifPresent(newName ->
+                            LatestRequest.onFx(settingsService.updateProgrammeAsync(oldName, newName),
+                                    done -> refreshProgrammes(),
+                                    ex -> showError(ex.getMessage())));
                 });
 
                 deleteBtn.setOnAction(e -> {
@@ -85,8 +93,9 @@ public class SettingsController {
 
                     confirm.showAndWait().ifPresent(btn -> {
                         if (btn == ButtonType.OK) {
-                            settingsService.deleteProgramme(name);
-                            refreshProgrammes();
+                            LatestRequest.onFx(settingsService.deleteProgrammeAsync(name),
+                                    done -> refreshProgrammes(),
+                                    ex -> showError(ex.getMessage()));
                         }
                     });
                 });
@@ -109,18 +118,16 @@ public class SettingsController {
 
     @FXML
     private void saveThreshold(ActionEvent event) {
-        try {
-            double v = thresholdSpinner.getValue();
-            settingsService.setAtRiskThreshold(v);
-
-            Alert a = new Alert(Alert.AlertType.INFORMATION,
-                    "At‑Risk GPA threshold saved successfully.");
-            a.setHeaderText("Saved");
-            a.showAndWait();
-
-        } catch (Exception ex) {
-            showError(ex.getMessage());
-        }
+        double v = thresholdSpinner.getValue();
+
+        LatestRequest.onFx(settingsService.setAtRiskThresholdAsync(v),
+                done -> {
+                    Alert a = new Alert(Alert.AlertType.INFORMATION,
+                            "At‑Risk GPA threshold saved successfully.");
+                    a.setHeaderText("Saved");
+                    a.showAndWait();
+                },
+                ex -> showError(ex.getMessage()));
     }
 
     @FXML
@@ -130,14 +137,10 @@ public class SettingsController {
         dialog.setHeaderText("Add New Programme");
         dialog.setContentText("Programme name:");
 
-        dialog.showAndWait().ifPresent(name -> {
-            try {
-                settingsService.addProgramme(name);
-                refreshProgrammes();
-            } catch (Exception ex) {
-                showError(ex.getMessage());
-            }
-        });
+        dialog.showAndWait().ifPresent(name ->
+                LatestRequest.onFx(settingsService.addProgrammeAsync(name),
+                        done -> refreshProgrammes(),
+                        ex -> showError(ex.getMessage())));
     }
 
     @FXML
@@ -146,9 +149,15 @@ public class SettingsController {
     }
 
     private void refreshProgrammes() {
-        List<String> list = settingsService.getProgrammes();
-        programmes.setAll(list);
-        programmeListView.setPlaceholder(new Label("No programmes yet. Click “Add New Programme”."));
+        programmesRequest.submit(settingsService::getProgrammesAsync,
+                programmes::setAll,
+                ex -> showError("Could not load programmes."));
+    }
+
+    private void showProgrammesLoading(boolean loading) {
+        programmeListView.setPlaceholder(new Label(loading
+                ? "Loading…"
+                : "No programmes yet. Click “Add New Programme”."));
     }
 
     private void showError(String msg) {
@@ -3,6 +3,7 @@ package com.template.ui.controllers;
 import com.template.Domain.Student;
 import com.template.service.SettingsService;
 import com.template.service.StudentService;
+import com.template.ui.LatestRequest;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
@@ -39,8 +40,14 @@ public class StudentFormController {
     @FXML
     public void initialize() {
 
-        // Load programmes dynamically
-        programmeCombo.getItems().setAll(settingsService.getProgrammes());
+        // Load programmes dynamically (keep a value set by setStudentToEdit meanwhile)
+        LatestRequest.onFx(settingsService.getProgrammesAsync(),
+                list -> {
+                    String selected = programmeCombo.getValue();
+                    programmeCombo.getItems().setAll(list);
+                    programmeCombo.setValue(selected);
+                },
+                e -> errorLabel.setText("Could not load programmes."));
 
         // Level options
         levelCombo.getItems().setAll(100, 200, 300, 400);
@@ -111,19 +118,28 @@ public class StudentFormController {
             s.setDateAdded(dateAddedPicker.getValue());
             s.setStatus(activeRadio.isSelected() ? "Active" : "Inactive");
 
-            if (editingStudent == null)
-                service.addStudent(s);
-            else
-                service.updateStudent(s);
-
-            if (onSaved != null) onSaved.run();
-            close();
+            // Validate + save in the background; the form is locked until it is done
+            setSaving(true);
+            LatestRequest.onFx(editingStudent == null ? service.addStudentAsync(s) : service.updateStudentAsync(s),
+                    done -> {
+                        if (onSaved != null) onSaved.run();
+                        close();
+                    },
+                    e -> {
+                        setSaving(false);
+                        errorLabel.setText(e.getMessage());
+                    });
 
         } catch (Exception ex) {
             errorLabel.setText(ex.getMessage());
         }
     }
 
+    private void setSaving(boolean saving) {
+        titleLabel.getScene().getRoot().setDisable(saving);
+        if (saving) errorLabel.setText("Saving…");
+    }
+
     @FXML
     private void cancel() {
         close();
@@ -1,8 +1,12 @@
 package com.template.ui.controllers;
 
 import com.template.Domain.Student;
+import com.template.repository.StudentPageQuery;
 import com.template.service.SettingsService;
 import com.template.service.StudentService;
+import com.template.ui.LatestRequest;
+import com.template.ui.StudentPageLoader;
+import com.template.util.AppConfig;
 import com.template.util.ViewNavigator;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -24,6 +28,7 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 public class StudentsController {
 
@@ -50,8 +55,31 @@ public class StudentsController {
     private final StudentService service = new StudentService();
     private final SettingsService settingsService = new SettingsService();
 
+    // Ranked keyword results (small, sorted in memory)
     private final ObservableList<Student> data = FXCollections.observableArrayList();
 
+    // Max rows shown for a ranked keyword search
+    private static final int SEARCH_LIMIT = AppConfig.getInt("search.limit", 500);
+
+    // Browsing (no keyword): rows are paged in from the DB as the user scrolls
+    private static final int PAGE_SIZE = AppConfig.getInt("ui.pageSize", 200);
+    private static final int PREFETCH = AppConfig.getInt("ui.prefetch", 50);
+
+    private final StudentPageLoader pages = new StudentPageLoader(service::getStudentPage, PREFETCH);
+
+    // Keyword searches run in the background; a newer search replaces an older one
+    private final LatestRequest<List<Student>> searchRequest = new LatestRequest<>(this::setSearching);
+    private boolean searching = false;
+
+    private final Label emptyPlaceholder = new Label("No student records yet. Click “Add New Student” to begin.");
+    private final Label loadingPlaceholder = new Label("Loading students…");
+
+    private boolean rankedMode = false;
+    private boolean adjustingSort = false;
+    private String pageProgramme;
+    private Integer pageLevel;
+    private String pageStatus;
+
     @FXML
     public void initialize() {
 
@@ -60,7 +88,9 @@ public class StudentsController {
         statusFilter.getItems().setAll("Active", "Inactive");
 
         // Programme list from Settings (dynamic)
-        programmeFilter.getItems().setAll(settingsService.getProgrammes());
+        LatestRequest.onFx(settingsService.getProgrammesAsync(),
+                list -> programmeFilter.getItems().setAll(list),
+                e -> showError("Could not load programmes."));
 
         // Columns
         idCol.setCellValueFactory(new PropertyValueFactory<>("studentId"));
@@ -144,23 +174,100 @@ public class StudentsController {
         });
 
         // Table behavior
-        studentTable.setItems(data);
+        studentTable.setItems(pages.getItems());
         studentTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
-        studentTable.setPlaceholder(new Label("No student records yet. Click “Add New Student” to begin."));
+        studentTable.setPlaceholder(emptyPlaceholder);
+        pages.loadingProperty().addListener((obs, was, now) -> updatePlaceholder());
 
         // Search enter key
         searchField.setOnAction(e -> applyFilters());
 
+        // Fetch the next page when a row near the end of the loaded rows is shown
+        studentTable.setRowFactory(tv -> new TableRow<>() {
+            @Override
+            protected void updateItem(Student item, boolean empty) {
+                super.updateItem(item, empty);
+                if (!empty && !rankedMode) pages.rowShown(getIndex());
+            }
+        });
+
+        // Paged rows are sorted by the database, ranked results in memory.
+        // (installing a policy runs it once; loadAll() below does the first load)
+        adjustingSort = true;
+        studentTable.setSortPolicy(tv -> {
+            if (rankedMode) return TableView.DEFAULT_SORT_POLICY.call(tv);
+            if (!adjustingSort) reloadPages();
+            return true;
+        });
+        adjustingSort = false;
+
         // Newest first
         dateAddedCol.setSortType(TableColumn.SortType.DESCENDING);
-        studentTable.getSortOrder().setAll(dateAddedCol);
+        setSortQuietly(dateAddedCol);
 
         loadAll();
     }
 
     private void loadAll() {
-        data.setAll(service.getAllStudents());
-        studentTable.sort();
+        showPages(null, null, null);
+    }
+
+    private void showPages(String programme, Integer level, String status) {
+        pageProgramme = programme;
+        pageLevel = level;
+        pageStatus = status;
+
+        searchRequest.cancel();
+        rankedMode = false;
+        studentTable.setItems(pages.getItems());
+        if (studentTable.getSortOrder().isEmpty()) {
+            setSortQuietly(dateAddedCol);
+        }
+        reloadPages();
+    }
+
+    private void reloadPages() {
+
+        StudentPageQuery.SortKey key = StudentPageQuery.SortKey.DATE_ADDED;
+        boolean descending = true;
+
+        // keyset paging seeks on one column: the primary sort column
+        if (!studentTable.getSortOrder().isEmpty()) {
+            TableColumn<Student, ?> col = studentTable.getSortOrder().get(0);
+            key = sortKeys().getOrDefault(col, StudentPageQuery.SortKey.DATE_ADDED);
+            descending = col.getSortType() == TableColumn.SortType.DESCENDING;
+        }
+
+        pages.reset(new StudentPageQuery(pageProgramme, pageLevel, pageStatus,
+                key, descending, null, PAGE_SIZE));
+    }
+
+    private Map<TableColumn<Student, ?>, StudentPageQuery.SortKey> sortKeys() {
+        return Map.of(
+                idCol, StudentPageQuery.SortKey.STUDENT_ID,
+                nameCol, StudentPageQuery.SortKey.FULL_NAME,
+                programmeCol, StudentPageQuery.SortKey.PROGRAMME,
+                levelCol, StudentPageQuery.SortKey.LEVEL,
+                gpaCol, StudentPageQuery.SortKey.GPA,
+                emailCol, StudentPageQuery.SortKey.EMAIL,
+                phoneCol, StudentPageQuery.SortKey.PHONE,
+                dateAddedCol, StudentPageQuery.SortKey.DATE_ADDED,
+                statusCol, StudentPageQuery.SortKey.STATUS
+        );
+    }
+
+    // Change the sort order without triggering a reload
+    private void setSortQuietly(TableColumn<Student, ?> col) {
+        adjustingSort = true;
+        try {
+            if (col == null) {
+                studentTable.getSortOrder().clear();
+            } else {
+                studentTable.getSortOrder().setAll(col);
+            }
+        } finally {
+            adjustingSort = false;
+        }
     }
 
     @FXML
@@ -171,9 +278,22 @@ public class StudentsController {
         Integer level = levelFilter.getValue();
         String status = statusFilter.getValue();
 
-        List<Student> result = service.searchStudents(keyword, programme, level, status);
-        data.setAll(result);
-        studentTable.sort();
+        if (keyword != null && !keyword.isBlank()) {
+            // Best matches first: drop the column sort so the ranking stays visible
+            pages.cancel();
+            rankedMode = true;
+            setSortQuietly(null);
+            data.clear();
+            studentTable.setItems(data);
+
+            searchRequest.submit(
+                    () -> service.searchStudentsRankedAsync(keyword, programme, level, status, SEARCH_LIMIT),
+                    data::setAll,
+                    e -> showError("Search failed: " + e.getMessage()));
+            return;
+        }
+
+        showPages(programme, level, status);
     }
 
     @FXML
@@ -242,12 +362,31 @@ public class StudentsController {
 
         confirm.showAndWait().ifPresent(btn -> {
             if (btn == ButtonType.OK) {
-                service.deleteStudent(s.getStudentId());
-                applyFilters();
+                studentTable.setDisable(true);
+                LatestRequest.onFx(service.deleteStudentAsync(s.getStudentId()),
+                        done -> {
+                            studentTable.setDisable(false);
+                            applyFilters();
+                        },
+                        e -> {
+                            studentTable.setDisable(false);
+                            showError("Could not delete student: " + e.getMessage());
+                        });
             }
         });
     }
 
+    private void setSearching(boolean loading) {
+        searching = loading;
+        updatePlaceholder();
+    }
+
+    // "Loading…" instead of "No records" while a page or a search is on its way
+    private void updatePlaceholder() {
+        boolean loading = searching || pages.loadingProperty().get();
+        studentTable.setPlaceholder(loading ? loadingPlaceholder : emptyPlaceholder);
+    }
+
     // Back button (beside Add New Student)
     @FXML
     private void goDashboard(ActionEvent event) {
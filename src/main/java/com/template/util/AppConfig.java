@@ -0,0 +1,34 @@
+package com.template.util;
+
+// Small tuning knobs, read from JVM system properties (e.g. -Dsms.db.poolSize=8)
+public class AppConfig {
+
+    private static final String PREFIX = "sms.";
+
+    private AppConfig() {}
+
+    public static String getString(String key, String defaultValue) {
+        String v = System.getProperty(PREFIX + key);
+        return (v == null || v.isBlank()) ? defaultValue : v.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(getString(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        try {
+            return Long.parseLong(getString(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(getString(key, String.valueOf(defaultValue)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.template.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Background threads for database and file work, so none of it runs on the JavaFX thread.
+// Screen loads and saves share one pool (-Dsms.async.threads=4); import / export jobs, which
+// can run for minutes, get their own (-Dsms.async.fileThreads=2) so they never hold up a
+// screen. Both are closed from Main.stop().
+public class AppExecutors {
+
+    private static ExecutorService background;
+    private static ExecutorService files;
+
+    private AppExecutors() {}
+
+    public static synchronized ExecutorService background() {
+        if (background == null || background.isShutdown()) {
+            background = newPool("sms-background-", AppConfig.getInt("async.threads", 4));
+        }
+        return background;
+    }
+
+    // Import / export (and the checks in front of them)
+    public static synchronized ExecutorService files() {
+        if (files == null || files.isShutdown()) {
+            files = newPool("sms-files-", AppConfig.getInt("async.fileThreads", 2));
+        }
+        return files;
+    }
+
+    private static ExecutorService newPool(String namePrefix, int size) {
+        int threads = Math.max(1, size);
+        AtomicInteger n = new AtomicInteger();
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, namePrefix + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    // Runs the call on the background pool
+    public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, background());
+    }
+
+    public static CompletableFuture<Void> run(Runnable call) {
+        return CompletableFuture.runAsync(call, background());
+    }
+
+    // Lets running work finish (briefly), then stops the threads
+    public static synchronized void shutdown() {
+        stop(background);
+        stop(files);
+        background = null;
+        files = null;
+    }
+
+    private static void stop(ExecutorService pool) {
+        if (pool == null) return;
+
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(2, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -1,15 +1,392 @@
 package com.template.util;
 
-import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+// Application log (data/app.log), written by one background thread.
+//
+// Callers only put a small record into a bounded queue (-Dsms.log.bufferSize=8192); the writer
+// thread formats whole batches into one reusable buffer and appends them with a single write.
+// When the queue is full, -Dsms.log.whenFull=DROP (default) drops the message and counts it,
+// BLOCK waits for room instead. Messages below -Dsms.log.level (DEBUG/INFO/WARN/ERROR, default
+// INFO) are discarded before anything is allocated.
+//
+// The file rolls over at -Dsms.log.maxBytes (5 MB) to app.log.1 .. app.log.N (-Dsms.log.files=3).
+// shutdown() (Main.stop, or the JVM shutdown hook) writes out everything still queued.
 public class AppLogger {
 
-    public static void log(String msg){
-        try(FileWriter fw =
-                    new FileWriter("data/app.log", true)) {
+    public enum Level { DEBUG, INFO, WARN, ERROR }
 
-            fw.write(msg + "\n");
+    private static final int MAX_BATCH = 512;
+    private static final DateTimeFormatter TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.").withZone(ZoneId.systemDefault());
 
-        } catch(Exception ignored){}
+    private static final Level threshold = parseLevel(AppConfig.getString("log.level", "INFO"));
+    private static final boolean blockWhenFull = AppConfig.getString("log.whenFull", "DROP").equalsIgnoreCase("BLOCK");
+
+    private static final LongAdder dropped = new LongAdder();
+    private static final LongAdder writeErrors = new LongAdder();
+
+    private static volatile Writer writer;
+    private static volatile boolean stopped = false;
+
+    private AppLogger() {}
+
+    // One queued message (formatted later, on the writer thread)
+    private static class Record {
+        final long time;
+        final Level level;
+        final String thread;
+        final String message;
+        final Throwable error;
+
+        Record(Level level, String message, Throwable error) {
+            this.time = System.currentTimeMillis();
+            this.level = level;
+            this.thread = Thread.currentThread().getName();
+            this.message = message;
+            this.error = error;
+        }
+    }
+
+    // =========================
+    // PRODUCERS
+    // =========================
+    public static void log(String msg) {
+        enqueue(Level.INFO, msg, null);
+    }
+
+    public static void debug(String msg) {
+        enqueue(Level.DEBUG, msg, null);
+    }
+
+    public static void info(String msg) {
+        enqueue(Level.INFO, msg, null);
+    }
+
+    public static void warn(String msg) {
+        enqueue(Level.WARN, msg, null);
+    }
+
+    public static void error(String msg) {
+        enqueue(Level.ERROR, msg, null);
+    }
+
+    public static void error(String msg, Throwable error) {
+        enqueue(Level.ERROR, msg, error);
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    // Messages lost because the queue was full (DROP policy)
+    public static long droppedCount() {
+        return dropped.sum();
+    }
+
+    private static void enqueue(Level level, String msg, Throwable error) {
+        if (level.compareTo(threshold) < 0) return;
+
+        Record r = new Record(level, msg, error);
+        if (stopped) {
+            writeAfterStop(r);
+            return;
+        }
+
+        ArrayBlockingQueue<Record> queue = writer().queue;
+        if (queue.offer(r)) return;
+
+        if (!blockWhenFull) {
+            dropped.increment();
+            return;
+        }
+
+        // BLOCK: wait for room (re-checking, so a shutdown can't leave us waiting forever)
+        try {
+            while (!queue.offer(r, 100, TimeUnit.MILLISECONDS)) {
+                if (stopped) {
+                    writeAfterStop(r);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+        }
+    }
+
+    private static Writer writer() {
+        Writer w = writer;
+        if (w != null) return w;
+
+        synchronized (AppLogger.class) {
+            if (writer == null) {
+                writer = new Writer(
+                        Path.of(AppConfig.getString("log.path", "data/app.log")),
+                        Math.max(16, AppConfig.getInt("log.bufferSize", 8192)),
+                        Math.max(64 * 1024, AppConfig.getLong("log.maxBytes", 5L * 1024 * 1024)),
+                        Math.max(0, AppConfig.getInt("log.files", 3)));
+                writer.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(AppLogger::shutdown, "sms-logger-shutdown"));
+            }
+            return writer;
+        }
+    }
+
+    // =========================
+    // SHUTDOWN
+    // =========================
+
+    // Drains and writes everything queued so far, then closes the file (waits up to 2s)
+    public static void shutdown() {
+        Writer w;
+        synchronized (AppLogger.class) {
+            if (stopped) return;
+            stopped = true;
+            w = writer;
+        }
+        if (w == null) return;
+
+        w.stop(2_000);
+        if (w.isAlive()) return;   // still draining (slow disk); it writes the rest itself
+
+        // anything queued after the writer finished
+        Record r;
+        while ((r = w.queue.poll()) != null) {
+            writeNow(r);
+        }
+    }
+
+    // After shutdown: while the writer thread is still draining, the record joins its queue
+    // (appending next to it would interleave with its batches); once it is done, append directly
+    private static void writeAfterStop(Record r) {
+        synchronized (AppLogger.class) {
+            Writer w = writer;
+            if (w != null && !w.finished) {
+                if (!w.queue.offer(r)) dropped.increment();
+                return;
+            }
+        }
+        writeNow(r);
+    }
+
+    private static synchronized void writeNow(Record r) {
+        Writer w = writer;
+        Path path = w != null ? w.path : Path.of(AppConfig.getString("log.path", "data/app.log"));
+
+        StringBuilder sb = new StringBuilder(128);
+        format(r, sb);
+        try {
+            Files.writeString(path, sb, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            writeErrors.increment();
+        }
+    }
+
+    // =========================
+    // WRITER THREAD
+    // =========================
+    private static class Writer extends Thread {
+
+        final Path path;
+        final ArrayBlockingQueue<Record> queue;
+        private final long maxBytes;
+        private final int files;
+
+        private final List<Record> batch = new ArrayList<>(MAX_BATCH);
+        private final StringBuilder text = new StringBuilder(16 * 1024);
+        private ByteBuffer bytes = ByteBuffer.allocate(32 * 1024);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        private FileChannel channel;
+        private long size;
+        private long reportedDrops = 0;
+        private volatile boolean running = true;
+        boolean finished = false;   // done with the file (guarded by AppLogger.class)
+
+        Writer(Path path, int capacity, long maxBytes, int files) {
+            super("sms-logger");
+            setDaemon(true);
+            this.path = path;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.maxBytes = maxBytes;
+            this.files = files;
+        }
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                try {
+                    Record first = queue.poll(200, TimeUnit.MILLISECONDS);
+                    if (first == null) continue;
+
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    writeBatch();
+                } catch (InterruptedException e) {
+                    running = false;   // the loop still drains what is left
+                }
+            }
+            closeQuietly();
+
+            synchronized (AppLogger.class) {
+                finished = true;
+            }
+            // queued by writeAfterStop() while the loop was ending
+            Record r;
+            while ((r = queue.poll()) != null) {
+                writeNow(r);
+            }
+        }
+
+        // No interrupt(): an interrupted FileChannel write closes the channel and loses the batch.
+        // The poll timeout lets the loop notice `running` within 200ms.
+        void stop(long waitMs) {
+            running = false;
+            try {
+                join(waitMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void writeBatch() {
+            text.setLength(0);
+            for (Record r : batch) {
+                format(r, text);
+            }
+            batch.clear();
+
+            long lost = dropped.sum() - reportedDrops;
+            if (lost > 0) {
+                reportedDrops += lost;
+                text.append("-- ").append(lost).append(" log message(s) dropped (queue full)\n");
+            }
+
+            try {
+                ensureOpen();
+                encode();
+                while (bytes.hasRemaining()) {
+                    size += channel.write(bytes);
+                }
+                if (size >= maxBytes) rotate();
+            } catch (IOException e) {
+                writeErrors.increment();
+                if (writeErrors.sum() == 1) {
+                    System.err.println("AppLogger: cannot write " + path + ": " + e.getMessage());
+                }
+                closeQuietly();   // reopen on the next batch
+            }
+        }
+
+        // text -> bytes (UTF-8), growing the reusable byte buffer if a batch doesn't fit
+        private void encode() {
+            int needed = (int) Math.min(Integer.MAX_VALUE - 8, (long) text.length() * 3);
+            if (bytes.capacity() < needed) bytes = ByteBuffer.allocate(needed);
+
+            bytes.clear();
+            encoder.reset();
+            CharBuffer chars = CharBuffer.wrap(text);
+            encoder.encode(chars, bytes, true);
+            encoder.flush(bytes);
+            bytes.flip();
+        }
+
+        private void ensureOpen() throws IOException {
+            if (channel != null) return;
+
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            size = channel.size();
+        }
+
+        // app.log -> app.log.1 -> app.log.2 ... (the oldest is deleted)
+        private void rotate() throws IOException {
+            closeQuietly();
+
+            if (files == 0) {
+                Files.deleteIfExists(path);
+                return;
+            }
+
+            Files.deleteIfExists(backup(files));
+            for (int i = files - 1; i >= 1; i--) {
+                Path from = backup(i);
+                if (Files.exists(from)) Files.move(from, backup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(path, backup(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        private Path backup(int n) {
+            return path.resolveSibling(path.getFileName() + "." + n);
+        }
+
+        private void closeQuietly() {
+            if (channel == null) return;
+            try {
+                channel.close();
+            } catch (IOException ignored) {}
+            channel = null;
+        }
+    }
+
+    // "yyyy-MM-dd HH:mm:ss." for the last second formatted (records arrive in time order, so
+    // most of them reuse it and only append the milliseconds)
+    private static long prefixSecond = Long.MIN_VALUE;
+    private static String prefix = "";
+
+    // 2026-01-31 14:05:09.123 INFO  [sms-background-1] message
+    // Called by the writer thread, or by writeNow() once it has stopped
+    private static void format(Record r, StringBuilder sb) {
+        long second = Math.floorDiv(r.time, 1000);
+        if (second != prefixSecond) {
+            prefix = TIME.format(Instant.ofEpochSecond(second));
+            prefixSecond = second;
+        }
+        int millis = Math.floorMod(r.time, 1000);
+        sb.append(prefix);
+        if (millis < 100) sb.append('0');
+        if (millis < 10) sb.append('0');
+        sb.append(millis).append(' ').append(r.level);
+        if (r.level.name().length() == 4) sb.append(' ');
+        sb.append(" [").append(r.thread).append("] ").append(r.message).append('\n');
+
+        if (r.error != null) {
+            sb.append("    ").append(r.error).append('\n');
+            for (StackTraceElement e : r.error.getStackTrace()) {
+                sb.append("        at ").append(e).append('\n');
+            }
+        }
+    }
+
+    private static Level parseLevel(String s) {
+        try {
+            return Level.valueOf(s.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,501 @@
+package com.template.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Bounded pool of SQLite connections plus one dedicated writer connection.
+// Connections are opened and configured (PRAGMAs) once, then reused.
+// close() on a borrowed connection hands it back instead of closing it.
+// Each physical connection keeps its own prepared statements (StatementCache), so hot SQL is
+// compiled once per connection instead of once per call.
+// The writer is reentrant: borrowing it again on the thread that holds it joins that borrow
+// (and its transaction) instead of waiting for itself - see NestedWriterHandler.
+public class ConnectionPool {
+
+    private final String url;
+    private final int maxSize;
+    private final long waitTimeoutMs;
+    private final int busyTimeoutMs;
+    private final int cacheSizeKb;
+    private final long mmapSizeBytes;
+    private final int statementCacheSize;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger openCount = new AtomicInteger();
+
+    // Single writer: SQLite only allows one writer at a time anyway
+    private final ReentrantLock writerLock = new ReentrantLock(true);
+    private Connection writer;
+
+    // writer holder only: nested savepoints open, total_changes() when the current transaction
+    // began (read by NestedWriterHandler), and actions for when the writer is given back
+    private int nestedDepth = 0;
+    long txStartChanges = -1;
+    private final List<Consumer<Boolean>> onWriterRelease = new ArrayList<>();
+    private final List<Runnable> writerReleaseListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean shutDown = false;
+
+    // physical connection -> its statement cache (only when statementCacheSize > 0)
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+
+    // Stats
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder borrowWaitNanos = new LongAdder();
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder writerBorrows = new LongAdder();
+    private final LongAdder writerWaitNanos = new LongAdder();
+    private final AtomicLong maxWriterWaitNanos = new AtomicLong();
+    private final LongAdder physicalOpens = new LongAdder();
+
+    public ConnectionPool(String url, int maxSize, long waitTimeoutMs,
+                          int busyTimeoutMs, int cacheSizeKb, long mmapSizeBytes, int statementCacheSize) {
+        this.url = url;
+        this.maxSize = Math.max(1, maxSize);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.busyTimeoutMs = busyTimeoutMs;
+        this.cacheSizeKb = cacheSizeKb;
+        this.mmapSizeBytes = mmapSizeBytes;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+        this.permits = new Semaphore(this.maxSize, true);
+    }
+
+    // =========================
+    // READ POOL
+    // =========================
+    public Connection borrow() throws SQLException {
+        if (shutDown) throw new SQLException("Connection pool is shut down.");
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(waitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLException("Timed out waiting for a database connection.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.");
+        }
+        recordWait(start, borrowWaitNanos, maxBorrowWaitNanos);
+        borrows.increment();
+
+        try {
+            Connection physical = idle.pollFirst();
+            if (physical == null || physical.isClosed()) {
+                if (physical != null) discard(physical);
+                physical = open();
+            }
+            return wrap(physical, false);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // =========================
+    // WRITER
+    // =========================
+    public Connection borrowWriter() throws SQLException {
+        if (shutDown) throw new SQLException("Connection pool is shut down.");
+
+        // this thread already has it: join that borrow
+        if (writerLock.isHeldByCurrentThread() && writer != null) {
+            writerBorrows.increment();
+            return wrapNested(writer);
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!writerLock.tryLock(waitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLException("Timed out waiting for the database writer.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the database writer.");
+        }
+        recordWait(start, writerWaitNanos, maxWriterWaitNanos);
+        writerBorrows.increment();
+
+        try {
+            if (writer == null || writer.isClosed()) {
+                if (writer != null) discard(writer);
+                writer = open();
+            }
+            return wrap(writer, true);
+        } catch (SQLException | RuntimeException e) {
+            writerLock.unlock();
+            throw e;
+        }
+    }
+
+    // =========================
+    // OPEN + CONFIGURE (once per physical connection)
+    // =========================
+    private Connection open() throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement st = conn.createStatement()) {
+            st.execute("PRAGMA journal_mode=WAL");
+            st.execute("PRAGMA synchronous=NORMAL");
+            st.execute("PRAGMA busy_timeout=" + busyTimeoutMs);
+            st.execute("PRAGMA cache_size=-" + cacheSizeKb);
+            st.execute("PRAGMA mmap_size=" + mmapSizeBytes);
+            st.execute("PRAGMA temp_store=MEMORY");
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        if (statementCacheSize > 0) {
+            statementCaches.put(conn, new StatementCache(conn, statementCacheSize, statementCounters));
+        }
+        openCount.incrementAndGet();
+        physicalOpens.increment();
+        return conn;
+    }
+
+    // Runs action(committed) when the thread holding the writer gives it back: false if that borrow
+    // called rollback() (its transaction, and whatever joined it, was undone), else true.
+    // Runs right away (true) when the writer is not held.
+    public void whenWriterReleased(Consumer<Boolean> action) {
+        if (writerLock.isHeldByCurrentThread()) {
+            onWriterRelease.add(action);
+        } else {
+            action.accept(true);
+        }
+    }
+
+    // Called after every (outermost) writer borrow, before the next writer can start
+    public void addWriterReleaseListener(Runnable listener) {
+        writerReleaseListeners.add(listener);
+    }
+
+    private void giveBack(Connection physical, boolean isWriter, boolean rolledBack) {
+        boolean healthy = resetQuietly(physical);
+
+        if (isWriter) {
+            if (!healthy) {
+                discard(physical);
+                writer = null;
+            }
+            try {
+                runReleaseActions(!rolledBack && healthy);
+            } finally {
+                writerLock.unlock();
+            }
+            return;
+        }
+
+        if (healthy && !shutDown) {
+            idle.offerFirst(physical);
+        } else {
+            discard(physical);
+        }
+        permits.release();
+    }
+
+    // Undo anything the borrower left behind (open transaction, autocommit off)
+    private boolean resetQuietly(Connection physical) {
+        try {
+            if (physical.isClosed()) return false;
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    static boolean inTransaction(Connection physical) {
+        try {
+            return !physical.isClosed() && !physical.getAutoCommit();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // called with the writer lock held
+    private void runReleaseActions(boolean committed) {
+        for (Runnable listener : writerReleaseListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        if (onWriterRelease.isEmpty()) return;
+
+        List<Consumer<Boolean>> actions = new ArrayList<>(onWriterRelease);
+        onWriterRelease.clear();
+        for (Consumer<Boolean> action : actions) {
+            try {
+                action.accept(committed);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private Connection wrap(Connection physical, boolean isWriter) {
+        PooledHandler handler = new PooledHandler(physical, isWriter);
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                handler);
+    }
+
+    private class PooledHandler implements java.lang.reflect.InvocationHandler {
+
+        private final Connection physical;
+        private final boolean isWriter;
+        private boolean closed = false;
+        private boolean rolledBack = false;   // writer: release actions see the work as undone
+
+        PooledHandler(Connection physical, boolean isWriter) {
+            this.physical = physical;
+            this.isWriter = isWriter;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.equals("close")) {
+                if (!closed) {
+                    closed = true;
+                    giveBack(physical, isWriter, rolledBack);
+                }
+                return null;
+            }
+            if (name.equals("isClosed")) return closed;
+            if (name.equals("equals")) return proxy == args[0];
+            if (name.equals("hashCode")) return System.identityHashCode(proxy);
+            if (name.equals("toString")) return "Pooled" + (isWriter ? "Writer" : "") + "[" + physical + "]";
+
+            if (closed) throw new SQLException("Connection already returned to the pool.");
+
+            if (!isWriter) return forward(physical, proxy, method, args);
+
+            if (name.equals("rollback") && args == null) rolledBack = true;
+            Object result = forward(physical, proxy, method, args);
+            if (args == null ? name.equals("commit") || name.equals("rollback") : name.equals("setAutoCommit")) {
+                txStartChanges = totalChanges(physical);   // a new transaction starts here
+            }
+            return result;
+        }
+    }
+
+    private Connection wrapNested(Connection physical) throws SQLException {
+        NestedWriterHandler handler = new NestedWriterHandler(this, physical);
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                handler);
+    }
+
+    // Any thread holds the writer
+    boolean writerBusy() {
+        return writerLock.isLocked();
+    }
+
+    // This thread holds the writer (a nested borrow is only usable while it does)
+    boolean holdsWriter() {
+        return writerLock.isHeldByCurrentThread();
+    }
+
+    // Names the next nested savepoint (writer holder only)
+    String nextSavepoint() {
+        return "sms_nested_" + (++nestedDepth);
+    }
+
+    void savepointReleased() {
+        nestedDepth--;
+    }
+
+    static long totalChanges(Connection physical) throws SQLException {
+        try (Statement st = physical.createStatement();
+             ResultSet rs = st.executeQuery("SELECT total_changes()")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    Object forward(Connection physical, Object proxy, Method method, Object[] args) throws Throwable {
+        if (StatementCache.isCacheable(method, args)) {
+            StatementCache cache = statementCaches.get(physical);
+            if (cache != null) return cache.prepare((String) args[0], (Connection) proxy);
+        }
+
+        try {
+            return method.invoke(physical, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void recordWait(long start, LongAdder total, AtomicLong max) {
+        long waited = System.nanoTime() - start;
+        total.add(waited);
+        max.accumulateAndGet(waited, Math::max);
+    }
+
+    // Closes a physical connection (and its cached statements) for good
+    private void discard(Connection physical) {
+        StatementCache cache = statementCaches.remove(physical);
+        if (cache != null) cache.clear();
+        closeQuietly(physical);
+        openCount.decrementAndGet();
+    }
+
+    private static void closeQuietly(Connection c) {
+        try {
+            c.close();
+        } catch (SQLException ignored) {}
+    }
+
+    // =========================
+    // SHUTDOWN
+    // =========================
+    public void shutdown() {
+        shutDown = true;
+
+        Connection c;
+        while ((c = idle.pollFirst()) != null) {
+            discard(c);
+        }
+
+        writerLock.lock();
+        try {
+            if (writer != null) {
+                discard(writer);
+                writer = null;
+            }
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    // =========================
+    // STATS
+    // =========================
+    public Stats stats() {
+        long b = borrows.sum();
+        long wb = writerBorrows.sum();
+        return new Stats(
+                maxSize,
+                openCount.get(),
+                idle.size(),
+                maxSize - permits.availablePermits(),
+                physicalOpens.sum(),
+                b,
+                b == 0 ? 0.0 : borrowWaitNanos.sum() / 1_000_000.0 / b,
+                maxBorrowWaitNanos.get() / 1_000_000.0,
+                wb,
+                wb == 0 ? 0.0 : writerWaitNanos.sum() / 1_000_000.0 / wb,
+                maxWriterWaitNanos.get() / 1_000_000.0,
+                timeouts.sum(),
+                statementCounters.getCached(),
+                statementCounters.getHits(),
+                statementCounters.getMisses(),
+                statementCounters.getEvictions()
+        );
+    }
+
+    public static class Stats {
+
+        private final int maxSize;
+        private final int openConnections;
+        private final int idleConnections;
+        private final int inUse;
+        private final long physicalOpens;
+        private final long borrows;
+        private final double avgWaitMs;
+        private final double maxWaitMs;
+        private final long writerBorrows;
+        private final double avgWriterWaitMs;
+        private final double maxWriterWaitMs;
+        private final long timeouts;
+        private final long cachedStatements;
+        private final long statementHits;
+        private final long statementMisses;
+        private final long statementEvictions;
+
+        public Stats(int maxSize, int openConnections, int idleConnections, int inUse,
+                     long physicalOpens, long borrows, double avgWaitMs, double maxWaitMs,
+                     long writerBorrows, double avgWriterWaitMs, double maxWriterWaitMs,
+                     long timeouts, long cachedStatements, long statementHits, long statementMisses,
+                     long statementEvictions) {
+            this.maxSize = maxSize;
+            this.openConnections = openConnections;
+            this.idleConnections = idleConnections;
+            this.inUse = inUse;
+            this.physicalOpens = physicalOpens;
+            this.borrows = borrows;
+            this.avgWaitMs = avgWaitMs;
+            this.maxWaitMs = maxWaitMs;
+            this.writerBorrows = writerBorrows;
+            this.avgWriterWaitMs = avgWriterWaitMs;
+            this.maxWriterWaitMs = maxWriterWaitMs;
+            this.timeouts = timeouts;
+            this.cachedStatements = cachedStatements;
+            this.statementHits = statementHits;
+            this.statementMisses = statementMisses;
+            this.statementEvictions = statementEvictions;
+        }
+
+        public int getMaxSize() { return maxSize; }
+        public int getOpenConnections() { return openConnections; }
+        public int getIdleConnections() { return idleConnections; }
+        public int getInUse() { return inUse; }
+        public long getPhysicalOpens() { return physicalOpens; }
+        public long getBorrows() { return borrows; }
+        public double getAvgWaitMs() { return avgWaitMs; }
+        public double getMaxWaitMs() { return maxWaitMs; }
+        public long getWriterBorrows() { return writerBorrows; }
+        public double getAvgWriterWaitMs() { return avgWriterWaitMs; }
+        public double getMaxWriterWaitMs() { return maxWriterWaitMs; }
+        public long getTimeouts() { return timeouts; }
+        public long getCachedStatements() { return cachedStatements; }
+        public long getStatementHits() { return statementHits; }
+        public long getStatementMisses() { return statementMisses; }
+        public long getStatementEvictions() { return statementEvictions; }
+
+        public double getStatementHitRate() {
+            long total = statementHits + statementMisses;
+            return total == 0 ? 0.0 : (double) statementHits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "pool[max=%d open=%d idle=%d inUse=%d opened=%d] borrows=%d wait(avg=%.3fms max=%.3fms) "
+                            + "writer[borrows=%d wait(avg=%.3fms max=%.3fms)] timeouts=%d "
+                            + "statements[cached=%d hits=%d misses=%d evictions=%d hitRate=%.1f%%]",
+                    maxSize, openConnections, idleConnections, inUse, physicalOpens, borrows, avgWaitMs, maxWaitMs,
+                    writerBorrows, avgWriterWaitMs, maxWriterWaitMs, timeouts,
+                    cachedStatements, statementHits, statementMisses, statementEvictions, getStatementHitRate() * 100);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,495 @@
+package com.template.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Reads CSV records (RFC 4180) straight from bytes: a memory-mapped file, a slice of one,
+// or any InputStream (a gzip file is decompressed as it is read). Quoted fields may contain
+// commas, "" and line breaks.
+//
+// next() only finds where the record and its fields are (offsets into reusable arrays);
+// a field is decoded from UTF-8 when field(i) asks for it. Records end at \n, \r\n or \r
+// outside quotes. A quote inside a field toggles quoting (same as CsvUtil.parseLine), so
+// a stray quote never loses text.
+//
+// Not thread-safe; split() gives each thread its own reader over a part of the file.
+public class CsvRecordReader implements AutoCloseable {
+
+    private static final int MAP_WINDOW = 1 << 30;          // 1 GB per mapping
+    private static final int STREAM_WINDOW = 1 << 20;       // 1 MB reads
+    private static final int MAX_RECORD_BYTES = 1 << 24;    // 16 MB: an unclosed quote, not a record
+
+    private final Source source;
+
+    private ByteBuffer buf;
+    private long base;            // file offset of buf index 0
+    private boolean exhausted;    // source has nothing after buf
+
+    private int pos;              // where the next record starts
+    private int mark = -1;        // bytes from here on are kept when the window moves
+
+    private int recordStart;
+    private int recordEnd;        // excluding the line break
+    private int fieldCount;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] quoted = new boolean[16];
+
+    private byte[] scratch = new byte[256];
+
+    private CsvRecordReader(Source source) throws IOException {
+        this.source = source;
+        ByteBuffer first = source.next(null, 0);
+        this.buf = first != null ? first : ByteBuffer.allocate(0);
+        this.exhausted = first == null || source.isLast(first);
+    }
+
+    // =========================
+    // OPEN
+    // =========================
+
+    // The whole file, memory-mapped (a UTF-8 BOM is skipped)
+    public static CsvRecordReader open(Path file) throws IOException {
+        return open(file, 0);
+    }
+
+    // The file from byte `from` on, which must be a record start (e.g. a nextOffset() saved
+    // earlier). Offsets stay file offsets. A gzip file is streamed instead of mapped, and its
+    // offsets count decompressed bytes.
+    public static CsvRecordReader open(Path file, long from) throws IOException {
+        if (GzipUtil.isGzip(file)) {
+            InputStream in = GzipUtil.newInputStream(file);
+            try {
+                return of(in, from);
+            } catch (IOException | RuntimeException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = ch.size();
+            return open(new SharedChannel(ch, 1), Math.min(Math.max(0, from), size), size);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    // Bytes from a stream (e.g. a decompressor), read in 1 MB windows
+    public static CsvRecordReader of(InputStream in) throws IOException {
+        return of(in, 0);
+    }
+
+    // The stream from byte `from` on (a record start). A stream cannot seek, so the bytes
+    // before it are read and dropped; offsets still count from the start of the stream.
+    public static CsvRecordReader of(InputStream in, long from) throws IOException {
+        if (from > 0) in.skipNBytes(from);
+        CsvRecordReader r = new CsvRecordReader(new StreamSource(in));
+        r.base = Math.max(0, from);
+        if (from <= 0) r.skipBom();
+        return r;
+    }
+
+    // Bytes already in memory (e.g. a chunk handed to a worker); the buffer is not modified
+    public static CsvRecordReader of(ByteBuffer bytes) throws IOException {
+        return new CsvRecordReader(new FixedSource(bytes.slice()));
+    }
+
+    private static CsvRecordReader open(SharedChannel ch, long from, long to) throws IOException {
+        CsvRecordReader r = new CsvRecordReader(new MappedSource(ch, from, to));
+        r.base = from;
+        if (from == 0) r.skipBom();
+        return r;
+    }
+
+    // Cuts the file into (up to) `parts` readers of about equal size, each starting at a record
+    // boundary. Finding the boundaries is one quick pass that only counts quotes.
+    // Plain files only (a gzip file can only be read front to back).
+    public static List<CsvRecordReader> split(Path file, int parts) throws IOException {
+        List<CsvRecordReader> readers = new ArrayList<>();
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = ch.size();
+            long[] cuts = boundaries(ch, size, Math.max(1, parts));
+            SharedChannel shared = new SharedChannel(ch, cuts.length - 1);
+            for (int i = 0; i + 1 < cuts.length; i++) {
+                readers.add(open(shared, cuts[i], cuts[i + 1]));
+            }
+            return readers;
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    // 0, record starts near size*k/parts ..., size
+    private static long[] boundaries(FileChannel ch, long size, int parts) throws IOException {
+        long[] cuts = new long[parts + 1];
+        int found = 1;
+        long target = size / parts;
+        boolean inQuotes = false;
+
+        for (long windowStart = 0; windowStart < size && found < parts; windowStart += MAP_WINDOW) {
+            int len = (int) Math.min(MAP_WINDOW, size - windowStart);
+            ByteBuffer window = ch.map(FileChannel.MapMode.READ_ONLY, windowStart, len);
+
+            for (int i = 0; i < len; i++) {
+                byte b = window.get(i);
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n' && !inQuotes && windowStart + i + 1 >= target) {
+                    cuts[found++] = windowStart + i + 1;
+                    if (found == parts) break;
+                    target = Math.max(windowStart + i + 2, size * found / parts);
+                }
+            }
+        }
+
+        cuts[found] = size;
+        return Arrays.copyOf(cuts, found + 1);
+    }
+
+    // =========================
+    // RECORDS
+    // =========================
+
+    // Moves to the next record; false at the end of the input
+    public boolean next() throws IOException {
+        while (true) {
+            int end = scan(pos);
+            if (end >= 0) {
+                pos = end;
+                return true;
+            }
+
+            if (!exhausted) {
+                refill();
+                continue;
+            }
+
+            // last record without a line break
+            if (pos < buf.limit()) {
+                recordEnd = buf.limit();
+                pos = buf.limit();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    // Finds the fields of the record at `from`; returns where the next one starts,
+    // or -1 when the record runs past the window
+    private int scan(int from) {
+        ByteBuffer b = buf;
+        int limit = b.limit();
+
+        recordStart = from;
+        fieldCount = 0;
+        int fieldStart = from;
+        boolean inQuotes = false;
+        boolean hasQuote = false;
+
+        for (int i = from; i < limit; i++) {
+            byte c = b.get(i);
+
+            if (c == '"') {
+                inQuotes = !inQuotes;
+                hasQuote = true;
+            } else if (!inQuotes) {
+                if (c == ',') {
+                    addField(fieldStart, i, hasQuote);
+                    fieldStart = i + 1;
+                    hasQuote = false;
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r' && i + 1 == limit && !exhausted) return -1;   // \n may follow
+                    addField(fieldStart, i, hasQuote);
+                    recordEnd = i;
+                    return (c == '\r' && i + 1 < limit && b.get(i + 1) == '\n') ? i + 2 : i + 1;
+                }
+            }
+        }
+
+        if (limit - from > MAX_RECORD_BYTES) {
+            throw new RuntimeException("CSV record at byte " + (base + from) + " is longer than "
+                    + MAX_RECORD_BYTES + " bytes (unclosed quote?)");
+        }
+
+        // ran out of bytes: a complete record only if nothing follows
+        addField(fieldStart, limit, hasQuote);
+        return -1;
+    }
+
+    private void addField(int start, int end, boolean hasQuote) {
+        if (fieldCount == starts.length) {
+            int n = fieldCount * 2;
+            starts = Arrays.copyOf(starts, n);
+            ends = Arrays.copyOf(ends, n);
+            quoted = Arrays.copyOf(quoted, n);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        quoted[fieldCount] = hasQuote;
+        fieldCount++;
+    }
+
+    // Moves the window forward, keeping the current record (and the mark)
+    private void refill() throws IOException {
+        int keep = mark >= 0 ? Math.min(mark, pos) : pos;
+
+        ByteBuffer next = source.next(buf, keep);
+        if (next == null) {
+            exhausted = true;
+            return;
+        }
+
+        base += keep;
+        pos -= keep;
+        if (mark >= 0) mark -= keep;
+        buf = next;
+        exhausted = source.isLast(next);
+    }
+
+    private void skipBom() {
+        if (buf.limit() >= 3 && buf.get(0) == (byte) 0xEF && buf.get(1) == (byte) 0xBB && buf.get(2) == (byte) 0xBF) {
+            pos = 3;
+        }
+    }
+
+    // =========================
+    // CURRENT RECORD
+    // =========================
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    // Field i, unquoted and decoded ("" when there is no such field)
+    public String field(int i) {
+        if (i < 0 || i >= fieldCount) return "";
+
+        int start = starts[i];
+        int len = ends[i] - start;
+        if (len == 0) return "";
+
+        if (scratch.length < len) scratch = new byte[Math.max(len, scratch.length * 2)];
+        buf.get(start, scratch, 0, len);
+        if (quoted[i]) len = unquote(scratch, len);
+
+        return new String(scratch, 0, len, StandardCharsets.UTF_8);
+    }
+
+    // Blank or whitespace-only line
+    public boolean isBlank() {
+        for (int i = recordStart; i < recordEnd; i++) {
+            if ((buf.get(i) & 0xFF) > ' ') return false;
+        }
+        return true;
+    }
+
+    // The record as written in the file (for error reports)
+    public String record() {
+        int len = recordEnd - recordStart;
+        byte[] bytes = new byte[len];
+        buf.get(recordStart, bytes, 0, len);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // The record's bytes as a read-only view, without copying (decode later, if at all)
+    public ByteBuffer recordBytes() {
+        ByteBuffer view = buf.asReadOnlyBuffer();
+        view.position(recordStart).limit(recordEnd);
+        return view.slice();
+    }
+
+    // File offset of the record, and of whatever follows it
+    public long recordOffset() {
+        return base + recordStart;
+    }
+
+    public long nextOffset() {
+        return base + pos;
+    }
+
+    // =========================
+    // CHUNKS (hand records to other threads without copying)
+    // =========================
+
+    // Remember the start of the next record; bytes from here on stay in the window
+    public void mark() {
+        mark = pos;
+    }
+
+    public long markOffset() {
+        return base + mark;
+    }
+
+    // Read-only view of the records since mark(); the bytes are never changed afterwards
+    public ByteBuffer sliceSinceMark() {
+        ByteBuffer view = buf.asReadOnlyBuffer();
+        view.position(mark).limit(pos);
+        return view.slice();
+    }
+
+    // Quotes toggle quoting; "" inside quotes is one quote
+    private static int unquote(byte[] b, int len) {
+        int out = 0;
+        boolean inQuotes = false;
+        for (int i = 0; i < len; i++) {
+            byte c = b[i];
+            if (c == '"') {
+                if (inQuotes && i + 1 < len && b[i + 1] == '"') {
+                    b[out++] = '"';
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else {
+                b[out++] = c;
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    // =========================
+    // BYTE SOURCES
+    // =========================
+
+    // next(current, keep): a new window holding current's bytes from `keep` on, followed by more
+    // input (null = nothing more). Windows handed out are never written to again, so slices of
+    // them stay valid while other threads read them.
+    private interface Source extends AutoCloseable {
+        ByteBuffer next(ByteBuffer current, int keep) throws IOException;
+
+        boolean isLast(ByteBuffer window);
+
+        @Override
+        void close() throws IOException;
+    }
+
+    // One file channel for all the readers of a split(); closed with the last of them
+    private static class SharedChannel {
+        final FileChannel channel;
+        private int open;
+
+        SharedChannel(FileChannel channel, int readers) {
+            this.channel = channel;
+            this.open = readers;
+        }
+
+        synchronized void release() throws IOException {
+            if (--open == 0) channel.close();
+        }
+    }
+
+    private static class MappedSource implements Source {
+        private final SharedChannel shared;
+        private final long end;
+        private long windowStart;
+        private boolean closed;
+
+        MappedSource(SharedChannel shared, long from, long to) {
+            this.shared = shared;
+            this.windowStart = from;
+            this.end = to;
+        }
+
+        @Override
+        public ByteBuffer next(ByteBuffer current, int keep) throws IOException {
+            if (current != null) {
+                if (windowStart + current.limit() >= end) return null;
+                windowStart += keep;
+            }
+            int kept = current == null ? 0 : current.limit() - keep;
+            long len = Math.min(end - windowStart, Math.max(MAP_WINDOW, 2L * kept));
+            return shared.channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(len, Integer.MAX_VALUE - 8));
+        }
+
+        @Override
+        public boolean isLast(ByteBuffer window) {
+            return windowStart + window.limit() >= end;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) return;
+            closed = true;
+            shared.release();
+        }
+    }
+
+    private static class StreamSource implements Source {
+        private final InputStream in;
+        private boolean eof;
+
+        StreamSource(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public ByteBuffer next(ByteBuffer current, int keep) throws IOException {
+            if (eof) return null;
+
+            int kept = current == null ? 0 : current.limit() - keep;
+            byte[] bytes = new byte[Math.max(STREAM_WINDOW, kept * 2)];
+            if (kept > 0) current.get(keep, bytes, 0, kept);
+
+            int len = kept;
+            while (len < bytes.length) {
+                int n = in.read(bytes, len, bytes.length - len);
+                if (n < 0) {
+                    eof = true;
+                    break;
+                }
+                len += n;
+            }
+            return ByteBuffer.wrap(bytes, 0, len).slice();
+        }
+
+        @Override
+        public boolean isLast(ByteBuffer window) {
+            return eof;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static class FixedSource implements Source {
+        private ByteBuffer bytes;
+
+        FixedSource(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public ByteBuffer next(ByteBuffer current, int keep) {
+            ByteBuffer b = bytes;
+            bytes = null;
+            return b;
+        }
+
+        @Override
+        public boolean isLast(ByteBuffer window) {
+            return true;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
\ No newline at end of file
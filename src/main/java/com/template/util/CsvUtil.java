@@ -6,24 +6,33 @@ import java.util.List;
 
 public class CsvUtil {
 
-    // Writes one CSV row safely
+    // Writes one CSV row safely (for many rows prefer CsvWriter)
     public static void writeRow(BufferedWriter bw, List<String> values) throws Exception {
-        StringBuilder sb = new StringBuilder();
         for (int i = 0; i < values.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append(escape(values.get(i)));
+            if (i > 0) bw.write(',');
+            bw.write(escape(values.get(i)));
         }
-        sb.append("\n");
-        bw.write(sb.toString());
+        bw.write('\n');
     }
 
-    // Escapes values for CSV (quotes, commas, newlines)
+    // Escapes values for CSV (quotes, commas, newlines) in one scan.
+    // Plain values (the usual case) are returned as-is.
     public static String escape(String v) {
         if (v == null) return "";
-        String s = v;
-        boolean mustQuote = s.contains(",") || s.contains("\"") || s.contains("\n") || s.contains("\r");
-        if (s.contains("\"")) s = s.replace("\"", "\"\"");
-        return mustQuote ? ("\"" + s + "\"") : s;
+
+        StringBuilder sb = null;
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            if (c == '"' || c == ',' || c == '\n' || c == '\r') {
+                if (sb == null) {
+                    sb = new StringBuilder(v.length() + 8).append('"').append(v, 0, i);
+                }
+                if (c == '"') sb.append('"');
+            }
+            if (sb != null) sb.append(c);
+        }
+
+        return sb == null ? v : sb.append('"').toString();
     }
 
     // Parses a CSV line (supports quotes)
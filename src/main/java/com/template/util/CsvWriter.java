@@ -0,0 +1,146 @@
+package com.template.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Streaming CSV writer. Fields are escaped straight into one reusable char buffer
+// (single pass per field, no per-row Strings/lists); the buffer goes to the
+// underlying Writer only when it fills up.
+public class CsvWriter implements AutoCloseable {
+
+    private static final int DEFAULT_BUFFER = 64 * 1024;
+
+    private final Writer out;
+    private char[] buf;
+    private int pos = 0;
+    private boolean firstField = true;
+
+    public CsvWriter(Writer out) {
+        this(out, DEFAULT_BUFFER);
+    }
+
+    public CsvWriter(Writer out, int bufferSize) {
+        this.out = out;
+        this.buf = new char[Math.max(1024, bufferSize)];
+    }
+
+    public CsvWriter field(String v) throws IOException {
+        separator();
+        if (v == null) return this;
+
+        int len = v.length();
+        // worst case: every char is a quote (doubled) + 2 surrounding quotes
+        ensure(len * 2 + 2);
+
+        int start = pos;
+        boolean quoted = false;
+
+        for (int i = 0; i < len; i++) {
+            char c = v.charAt(i);
+
+            if (c == '"' || c == ',' || c == '\n' || c == '\r') {
+                if (!quoted) {
+                    // first special char: open the quote in front of what we copied so far
+                    System.arraycopy(buf, start, buf, start + 1, pos - start);
+                    buf[start] = '"';
+                    pos++;
+                    quoted = true;
+                }
+                if (c == '"') buf[pos++] = '"';
+            }
+            buf[pos++] = c;
+        }
+
+        if (quoted) buf[pos++] = '"';
+        return this;
+    }
+
+    public CsvWriter field(int v) throws IOException {
+        separator();
+        ensure(11);
+
+        if (v == Integer.MIN_VALUE) {
+            return rawAppend(String.valueOf(v));
+        }
+        if (v < 0) {
+            buf[pos++] = '-';
+            v = -v;
+        }
+
+        // digits right to left
+        int digits = 1;
+        for (int x = v; x >= 10; x /= 10) digits++;
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        pos = end;
+        return this;
+    }
+
+    public CsvWriter field(double v) throws IOException {
+        separator();
+        // same text as String.valueOf(double) (what the exports always wrote)
+        return rawAppend(Double.toString(v));
+    }
+
+    public void endRow() throws IOException {
+        ensure(1);
+        buf[pos++] = '\n';
+        firstField = true;
+    }
+
+    public CsvWriter row(String... values) throws IOException {
+        for (String v : values) field(v);
+        endRow();
+        return this;
+    }
+
+    public void flush() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void separator() throws IOException {
+        if (firstField) {
+            firstField = false;
+            return;
+        }
+        ensure(1);
+        buf[pos++] = ',';
+    }
+
+    // appends text that never needs escaping (numbers)
+    private CsvWriter rawAppend(String s) throws IOException {
+        int len = s.length();
+        ensure(len);
+        s.getChars(0, len, buf, pos);
+        pos += len;
+        return this;
+    }
+
+    private void ensure(int needed) throws IOException {
+        if (pos + needed <= buf.length) return;
+
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+        if (needed > buf.length) {
+            buf = new char[needed];
+        }
+    }
+}
\ No newline at end of file
@@ -21,8 +21,13 @@ public class DataFolderUtil {
     }
 
     public static Path newCsvFile(String prefix) {
+        return newCsvFile(prefix, false);
+    }
+
+    // gzip: name ends in .csv.gz
+    public static Path newCsvFile(String prefix, boolean gzip) {
         String ts = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss").format(LocalDateTime.now());
-        return dataDir().resolve(prefix + "_" + ts + ".csv");
+        return dataDir().resolve(prefix + "_" + ts + ".csv" + (gzip ? GzipUtil.EXTENSION : ""));
     }
 
     // safe component for filename (e.g. 2.0 -> 2_0)
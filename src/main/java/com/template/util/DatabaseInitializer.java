@@ -1,13 +1,15 @@
 package com.template.util;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.Statement;
 
 public class DatabaseInitializer {
 
     public static void initialize() {
 
-        try (Connection conn = DatabaseUtil.connect();
+        try (Connection conn = DatabaseUtil.connectWriter();
              Statement stmt = conn.createStatement()) {
 
             // STUDENTS table
@@ -53,6 +55,15 @@ public class DatabaseInitializer {
 // Default threshold (2.0)
             stmt.execute("INSERT OR IGNORE INTO settings(key, value) VALUES('at_risk_threshold','2.0');");
 
+// Indexes and later schema changes (versioned)
+            SchemaMigrator.migrate(conn);
+
+// Full-text index still pointing at the right rows (a VACUUM can renumber them)
+            checkFullTextIndex(conn);
+
+// Refresh planner statistics if they have gone stale (cheap when nothing changed)
+            stmt.execute("PRAGMA optimize;");
+
 
             System.out.println("✅ students table is ready.");
             System.out.println("✅ users table is ready.");
@@ -61,4 +72,34 @@ public class DatabaseInitializer {
             e.printStackTrace();
         }
     }
+
+    // students_fts is keyed on the students rowid, and a VACUUM may renumber rowids (student_id is
+    // not an INTEGER PRIMARY KEY). Any renumbering moves the last row, so checking the first and
+    // last row is enough to tell; the index is then rebuilt from the table.
+    private static void checkFullTextIndex(Connection conn) throws Exception {
+        String rowsSql = "SELECT rowid, student_id FROM students "
+                + "WHERE rowid IN ((SELECT MIN(rowid) FROM students), (SELECT MAX(rowid) FROM students))";
+        String ftsSql = "SELECT 1 FROM students_fts WHERE students_fts MATCH ? AND rowid = ?";
+
+        boolean inSync = true;
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(rowsSql);
+             PreparedStatement ps = conn.prepareStatement(ftsSql)) {
+
+            while (rs.next() && inSync) {
+                ps.setString(1, "student_id : \"" + rs.getString(2).replace("\"", "\"\"") + "\"");
+                ps.setLong(2, rs.getLong(1));
+                try (ResultSet hit = ps.executeQuery()) {
+                    inSync = hit.next();
+                }
+            }
+        }
+
+        if (!inSync) {
+            try (Statement st = conn.createStatement()) {
+                st.execute("INSERT INTO students_fts(students_fts) VALUES('rebuild')");
+            }
+            AppLogger.log("Full-text index rebuilt: student rowids had changed");
+        }
+    }
 }
\ No newline at end of file
@@ -3,18 +3,116 @@ package com.template.util;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class DatabaseUtil {
 
     private static final String DB_FOLDER = "data";
     private static final String DB_FILE = "students.db";
 
+    private static volatile ConnectionPool pool;
+    private static final List<Runnable> writerReleaseListeners = new CopyOnWriteArrayList<>();
+
+    public interface WriteWork<T> {
+        T run() throws Exception;
+    }
+
+    // Pooled connection for reads (close() returns it to the pool)
     public static Connection connect() throws Exception {
-        // Make sure the data folder exists
-        Files.createDirectories(Path.of(DB_FOLDER));
+        return pool().borrow();
+    }
+
+    // The single writer connection (close() releases it for the next writer)
+    public static Connection connectWriter() throws Exception {
+        return pool().borrowWriter();
+    }
+
+    // Runs work as one write transaction. Repository writes it makes on this thread
+    // (connectWriter() again) join the transaction, so they all commit or roll back together.
+    public static <T> T inWriteTransaction(WriteWork<T> work) throws Exception {
+        try (Connection conn = connectWriter()) {
+            conn.setAutoCommit(false);
+            try {
+                T result = work.run();
+                conn.commit();
+                return result;
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // action(committed) once this thread's write (or the write transaction it is part of) is over
+    public static void whenWriterReleased(Consumer<Boolean> action) {
+        pool().whenWriterReleased(action);
+    }
+
+    // listener.run() after every write the app makes (once per write transaction), while no
+    // other write can start yet: whatever changed in the DB file up to then was the app's doing
+    public static void addWriterReleaseListener(Runnable listener) {
+        writerReleaseListeners.add(listener);
+    }
+
+    // Some thread holds the writer right now (its changes to the DB file are the app's own)
+    public static boolean writerBusy() {
+        return pool().writerBusy();
+    }
+
+    public static void removeWriterReleaseListener(Runnable listener) {
+        writerReleaseListeners.remove(listener);
+    }
+
+    public static ConnectionPool.Stats poolStats() {
+        return pool().stats();
+    }
+
+    // Rows per fetch for long forward-only reads (exports, report scans)
+    public static int fetchSize() {
+        return AppConfig.getInt("db.fetchSize", 1000);
+    }
+
+    public static Path databaseFile() {
+        return Path.of(AppConfig.getString("db.path", DB_FOLDER + "/" + DB_FILE));
+    }
+
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            AppLogger.log("DB pool closed: " + pool.stats());
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private static ConnectionPool pool() {
+        ConnectionPool p = pool;
+        if (p != null) return p;
+
+        synchronized (DatabaseUtil.class) {
+            if (pool == null) {
+                Path dbFile = databaseFile();
+                try {
+                    // Make sure the data folder exists (once, not per connection)
+                    Path parent = dbFile.toAbsolutePath().getParent();
+                    if (parent != null) Files.createDirectories(parent);
+                } catch (Exception e) {
+                    throw new RuntimeException("Could not create/access database folder.");
+                }
 
-        String url = "jdbc:sqlite:" + DB_FOLDER + "/" + DB_FILE;
-        return DriverManager.getConnection(url);
+                pool = new ConnectionPool(
+                        "jdbc:sqlite:" + dbFile,
+                        AppConfig.getInt("db.poolSize", Math.max(2, Runtime.getRuntime().availableProcessors())),
+                        AppConfig.getLong("db.waitTimeoutMs", 10_000),
+                        AppConfig.getInt("db.busyTimeoutMs", 5_000),
+                        AppConfig.getInt("db.cacheSizeKb", 16_384),
+                        AppConfig.getLong("db.mmapSizeBytes", 256L * 1024 * 1024),
+                        AppConfig.getInt("db.statementCacheSize", 64)
+                );
+                pool.addWriterReleaseListener(() -> writerReleaseListeners.forEach(Runnable::run));
+            }
+            return pool;
+        }
     }
 }
\ No newline at end of file
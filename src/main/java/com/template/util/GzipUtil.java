@@ -0,0 +1,62 @@
+package com.template.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// gzip streams for CSV exports and imports. Files are written / read front to back in one
+// pass, so the (de)compressor gets large buffers and nothing is held in memory.
+public class GzipUtil {
+
+    public static final String EXTENSION = ".gz";
+
+    private static final int BUFFER = 256 * 1024;
+
+    private GzipUtil() {}
+
+    // By content (the gzip magic bytes), whatever the file is called
+    public static boolean isGzip(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return in.read() == 0x1f && in.read() == 0x8b;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // UTF-8 text, compressed at `level` (1 fastest .. 9 smallest; anything else: the default, 6)
+    public static Writer newWriter(Path file, int level) throws IOException {
+        int deflateLevel = level >= 1 && level <= 9 ? level : Deflater.DEFAULT_COMPRESSION;
+
+        OutputStream out = Files.newOutputStream(file);
+        try {
+            GZIPOutputStream gz = new GZIPOutputStream(out, BUFFER) {
+                {
+                    def.setLevel(deflateLevel);
+                }
+            };
+            return new OutputStreamWriter(gz, StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    // The decompressed bytes
+    public static InputStream newInputStream(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        try {
+            return new GZIPInputStream(in, BUFFER);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,250 @@
+package com.template.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Process-wide metrics: named timers (count, errors, latency histogram) and plain counters.
+// Recording is a few LongAdder / atomic increments; nothing is locked or allocated per call.
+//
+// snapshot() reads them from code; start() also writes a report to data/metrics.txt every
+// -Dsms.metrics.intervalSec (60) seconds, and shutdown() writes a last one.
+// -Dsms.metrics.enabled=false turns off the repository decorators and the file.
+public class Metrics {
+
+    private static final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final long startedAt = System.nanoTime();
+
+    private static ScheduledExecutorService reporter;
+
+    private Metrics() {}
+
+    public static boolean isEnabled() {
+        return AppConfig.getBoolean("metrics.enabled", true);
+    }
+
+    // Same name -> same timer (keep the reference on hot paths instead of looking it up per call)
+    public static Timer timer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    public static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    // =========================
+    // TIMER
+    // =========================
+    public static class Timer {
+
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        // for the rate since the previous snapshot
+        private long lastCount = 0;
+        private long lastAt = startedAt;
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        public void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            histogram.record(nanos);
+        }
+
+        public void error() {
+            errors.increment();
+        }
+
+        // Times the call; an exception counts as an error (and is rethrown)
+        public <T> T time(Supplier<T> call) {
+            long start = System.nanoTime();
+            try {
+                return call.get();
+            } catch (RuntimeException | Error e) {
+                errors.increment();
+                throw e;
+            } finally {
+                record(System.nanoTime() - start);
+            }
+        }
+
+        public void time(Runnable call) {
+            long start = System.nanoTime();
+            try {
+                call.run();
+            } catch (RuntimeException | Error e) {
+                errors.increment();
+                throw e;
+            } finally {
+                record(System.nanoTime() - start);
+            }
+        }
+
+        synchronized TimerSnapshot snapshot(long now) {
+            long n = count.sum();
+            long[] counts = histogram.counts();
+
+            double sinceStart = Math.max(1, now - startedAt) / 1e9;
+            double sinceLast = Math.max(1, now - lastAt) / 1e9;
+            double recentRate = (n - lastCount) / sinceLast;
+            lastCount = n;
+            lastAt = now;
+
+            // a bucket's midpoint can be above the largest value actually seen
+            long max = maxNanos.get();
+            return new TimerSnapshot(name, n, errors.sum(), n / sinceStart, recentRate,
+                    n == 0 ? 0 : totalNanos.sum() / n,
+                    Math.min(max, LatencyHistogram.valueAt(counts, 0.50)),
+                    Math.min(max, LatencyHistogram.valueAt(counts, 0.95)),
+                    Math.min(max, LatencyHistogram.valueAt(counts, 0.99)),
+                    max);
+        }
+    }
+
+    public static class TimerSnapshot {
+
+        private final String name;
+        private final long count;
+        private final long errors;
+        private final double ratePerSec;
+        private final double recentRatePerSec;
+        private final long meanNanos;
+        private final long p50Nanos;
+        private final long p95Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+
+        public TimerSnapshot(String name, long count, long errors, double ratePerSec, double recentRatePerSec,
+                             long meanNanos, long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+            this.name = name;
+            this.count = count;
+            this.errors = errors;
+            this.ratePerSec = ratePerSec;
+            this.recentRatePerSec = recentRatePerSec;
+            this.meanNanos = meanNanos;
+            this.p50Nanos = p50Nanos;
+            this.p95Nanos = p95Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return count; }
+        public long getErrors() { return errors; }
+        public double getRatePerSec() { return ratePerSec; }
+        public double getRecentRatePerSec() { return recentRatePerSec; }
+        public long getMeanNanos() { return meanNanos; }
+        public long getP50Nanos() { return p50Nanos; }
+        public long getP95Nanos() { return p95Nanos; }
+        public long getP99Nanos() { return p99Nanos; }
+        public long getMaxNanos() { return maxNanos; }
+
+        @Override
+        public String toString() {
+            return String.format("%-36s count=%-9d errors=%-5d rate=%.2f/s (recent %.2f/s) "
+                            + "mean=%s p50=%s p95=%s p99=%s max=%s",
+                    name, count, errors, ratePerSec, recentRatePerSec,
+                    ms(meanNanos), ms(p50Nanos), ms(p95Nanos), ms(p99Nanos), ms(maxNanos));
+        }
+
+        private static String ms(long nanos) {
+            return String.format("%.3fms", nanos / 1_000_000.0);
+        }
+    }
+
+    // =========================
+    // SNAPSHOT / REPORT
+    // =========================
+
+    // Every timer, by name (also resets the "recent" rate window)
+    public static List<TimerSnapshot> snapshot() {
+        long now = System.nanoTime();
+        List<TimerSnapshot> list = new ArrayList<>();
+        for (Timer t : new TreeMap<>(timers).values()) {
+            list.add(t.snapshot(now));
+        }
+        return list;
+    }
+
+    public static Map<String, Long> counterValues() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, c) -> values.put(name, c.sum()));
+        return values;
+    }
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# metrics ").append(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append('\n');
+
+        sb.append("\n# timers (unused ones omitted)\n");
+        for (TimerSnapshot s : snapshot()) {
+            if (s.getCount() > 0) sb.append(s).append('\n');
+        }
+
+        sb.append("\n# counters\n");
+        counterValues().forEach((name, value) -> sb.append(name).append('=').append(value).append('\n'));
+        return sb.toString();
+    }
+
+    // Writes report() to data/metrics.txt (via a temp file, so readers never see half a report)
+    public static void writeReport() {
+        Path out = Path.of(AppConfig.getString("metrics.path", "data/metrics.txt"));
+        try {
+            Path parent = out.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+
+            Path tmp = out.resolveSibling(out.getFileName() + ".tmp");
+            Files.writeString(tmp, report(), StandardCharsets.UTF_8);
+            Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            AppLogger.warn("Failed to write metrics: " + e.getMessage());
+        }
+    }
+
+    // =========================
+    // PERIODIC REPORT
+    // =========================
+    public static synchronized void start() {
+        if (reporter != null || !isEnabled()) return;
+
+        long interval = Math.max(1, AppConfig.getLong("metrics.intervalSec", 60));
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sms-metrics");
+            t.setDaemon(true);
+            return t;
+        });
+        reporter.scheduleWithFixedDelay(Metrics::writeReport, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public static synchronized void shutdown() {
+        if (reporter == null) return;
+
+        reporter.shutdownNow();
+        reporter = null;
+        writeReport();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.template.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// A writer borrow made while this thread already holds the writer (ConnectionPool.borrowWriter).
+// Same physical connection, and close() never gives the writer back (the outer borrow does that),
+// so an inner close can no longer roll back the outer borrow's open transaction.
+//
+// If the outer borrow has a transaction open, this one joins it: commit() keeps the work so
+// far (it commits with the outer transaction), rollback() undoes only what came after this
+// borrow's last commit(), and closing with autocommit off undoes what was not committed,
+// just like a real connection. Without an outer transaction it behaves like the connection,
+// and hands it back with autocommit on.
+//
+// The rollback point is a SAVEPOINT, set only once the transaction holds work that must
+// survive this borrow's rollback: while a savepoint is open SQLite copies every page a
+// write touches into a sub-journal, which makes index- and FTS-heavy batches several times
+// slower. A borrow that joins a transaction with no changes yet runs without one (undoing
+// the whole transaction undoes only its own work).
+//
+// Only usable on the thread holding the writer, and only until the outer borrow is closed.
+class NestedWriterHandler implements InvocationHandler {
+
+    private final ConnectionPool pool;
+    private final Connection physical;
+    private final boolean joined;     // false: no outer transaction, behave like the connection
+    private String savepoint;         // current rollback point (joined only)
+    private boolean autoCommit = true;
+    private boolean closed = false;
+
+    NestedWriterHandler(ConnectionPool pool, Connection physical) throws SQLException {
+        this.pool = pool;
+        this.physical = physical;
+        this.joined = ConnectionPool.inTransaction(physical);
+        if (joined && ConnectionPool.totalChanges(physical) != pool.txStartChanges) setSavepoint();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+
+        if (name.equals("close")) {
+            if (!closed) {
+                closed = true;
+                if (pool.holdsWriter()) end();   // else the outer borrow already reset it
+            }
+            return null;
+        }
+        if (name.equals("isClosed")) return closed;
+        if (name.equals("equals")) return proxy == args[0];
+        if (name.equals("hashCode")) return System.identityHashCode(proxy);
+        if (name.equals("toString")) return "NestedWriter[" + physical + "]";
+
+        if (closed) throw new SQLException("Connection already returned to the pool.");
+        if (!pool.holdsWriter()) {
+            throw new SQLException("The writer borrow this connection joined was already returned.");
+        }
+
+        if (joined && args == null) {
+            switch (name) {
+                case "getAutoCommit":
+                    return autoCommit;
+                case "commit":
+                    releaseSavepoint();
+                    setSavepoint();
+                    return null;
+                case "rollback":
+                    rollbackOwn();
+                    return null;
+                default:
+                    break;
+            }
+        }
+        if (joined && name.equals("setAutoCommit")) {
+            autoCommit = (Boolean) args[0];
+            return null;
+        }
+
+        return pool.forward(physical, proxy, method, args);
+    }
+
+    private void end() throws SQLException {
+        if (!joined) {
+            // the outer borrow expects autocommit back on, as it lent it
+            if (ConnectionPool.inTransaction(physical)) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            return;
+        }
+        if (!autoCommit) rollbackOwn();
+        releaseSavepoint();
+    }
+
+    private void rollbackOwn() throws SQLException {
+        if (savepoint != null) {
+            execute("ROLLBACK TO " + savepoint);
+        } else {
+            // nothing else in the transaction yet
+            physical.rollback();
+            pool.txStartChanges = ConnectionPool.totalChanges(physical);
+        }
+    }
+
+    private void setSavepoint() throws SQLException {
+        savepoint = pool.nextSavepoint();
+        execute("SAVEPOINT " + savepoint);
+    }
+
+    private void releaseSavepoint() throws SQLException {
+        if (savepoint == null) return;
+        execute("RELEASE " + savepoint);
+        savepoint = null;
+        pool.savepointReleased();
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement st = physical.createStatement()) {
+            st.execute(sql);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.template.util;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// Salted, iterated password hashes (PBKDF2 with HMAC-SHA256, from the JDK).
+//
+// Stored format: pbkdf2-sha256$<iterations>$<salt, base64>$<hash, base64>
+// Hashes written before this format (plain base64 SHA-256, see PasswordUtil) still verify, and
+// needsRehash() says so, so AuthService can replace them on the next successful login.
+//
+// The iteration count is calibrated once per run so one hash takes about
+// -Dsms.password.budgetMs (default 150) on this machine, or fixed with -Dsms.password.iterations.
+// Hashing costs that long on purpose: call it off the FX thread.
+public class PasswordHasher {
+
+    private static final String ALGORITHM = "pbkdf2-sha256";
+    private static final String JCA_NAME = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    // Never go below this, however slow the machine (OWASP floor for PBKDF2-SHA256 is higher;
+    // the budget normally lands well above it)
+    private static final int MIN_ITERATIONS = 100_000;
+    private static final int MAX_ITERATIONS = 10_000_000;
+
+    // A stored hash within this fraction of the policy is kept (calibration varies run to run)
+    private static final double REHASH_TOLERANCE = 0.8;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static volatile int iterations;
+
+    private PasswordHasher() {}
+
+    // =========================
+    // HASH / VERIFY
+    // =========================
+    public static String hash(String rawPassword) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+
+        int n = iterations();
+        byte[] hash = pbkdf2(rawPassword, salt, n);
+
+        Base64.Encoder b64 = Base64.getEncoder();
+        return ALGORITHM + "$" + n + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(hash);
+    }
+
+    public static boolean verify(String rawPassword, String stored) {
+        if (rawPassword == null || stored == null) return false;
+
+        if (isLegacy(stored)) {
+            return constantTimeEquals(PasswordUtil.hash(rawPassword), stored);
+        }
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4 || !parts[0].equals(ALGORITHM)) return false;
+
+        try {
+            int n = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(pbkdf2(rawPassword, salt, n), expected);
+        } catch (IllegalArgumentException e) {
+            return false;   // corrupt hash (bad number / base64)
+        }
+    }
+
+    // True when the stored hash is weaker than the current policy (legacy SHA-256, another
+    // algorithm, or clearly fewer iterations than this run would use)
+    public static boolean needsRehash(String stored) {
+        if (stored == null || isLegacy(stored)) return true;
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4 || !parts[0].equals(ALGORITHM)) return true;
+
+        try {
+            return Integer.parseInt(parts[1]) < iterations() * REHASH_TOLERANCE;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    // =========================
+    // POLICY (iterations)
+    // =========================
+    public static int iterations() {
+        int n = iterations;
+        if (n > 0) return n;
+        return calibrate();
+    }
+
+    // Measures this machine once (later calls return the cached result).
+    // Main starts it in the background so the first login doesn't pay for it.
+    public static synchronized int calibrate() {
+        if (iterations > 0) return iterations;
+
+        int fixed = AppConfig.getInt("password.iterations", 0);
+        if (fixed > 0) {
+            iterations = Math.max(MIN_ITERATIONS, fixed);
+            return iterations;
+        }
+
+        long budgetMs = Math.max(1, AppConfig.getLong("password.budgetMs", 150));
+        int probe = 20_000;
+        byte[] salt = new byte[SALT_BYTES];
+
+        // best of a few runs (the first ones include JIT warm-up)
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            long start = System.nanoTime();
+            pbkdf2("calibration", salt, probe);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double perIteration = (double) Math.max(1, best) / probe;
+        long target = (long) (budgetMs * 1_000_000L / perIteration);
+        target = (target / 10_000) * 10_000;   // round so runs on the same machine usually agree
+
+        iterations = (int) Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS, target));
+        AppLogger.log("Password hashing: " + ALGORITHM + ", " + iterations + " iterations (budget " + budgetMs + "ms)");
+        return iterations;
+    }
+
+    // =========================
+    // INTERNALS
+    // =========================
+    private static byte[] pbkdf2(String rawPassword, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(rawPassword.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(JCA_NAME).generateSecret(spec).getEncoded();
+        } catch (Exception e) {
+            throw new RuntimeException("Password hashing failed.");
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    // Pre-PBKDF2 hashes: bare base64 SHA-256, no '$' separators
+    private static boolean isLegacy(String stored) {
+        return stored.indexOf('$') < 0;
+    }
+
+    private static boolean constantTimeEquals(String a, String b) {
+        return MessageDigest.isEqual(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
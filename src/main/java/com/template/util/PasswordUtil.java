@@ -4,6 +4,7 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.util.Base64;
 
+// Legacy unsalted SHA-256. Only used to verify hashes stored before PasswordHasher existed.
 public class PasswordUtil {
 
     public static String hash(String rawPassword) {
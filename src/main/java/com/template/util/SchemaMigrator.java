@@ -0,0 +1,254 @@
+package com.template.util;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Ordered schema migrations. The applied version is kept in PRAGMA user_version,
+// so each migration runs exactly once per database file.
+public class SchemaMigrator {
+
+    private static class Migration {
+        final int version;
+        final String description;
+        final String[] statements;
+
+        Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+        }
+    }
+
+    private static final List<Migration> MIGRATIONS = new ArrayList<>();
+
+    static {
+        // Indexes matched to the real query shapes:
+        //  search:          programme=? COLLATE NOCASE AND programme=? [AND level=?] [AND status=?]
+        //  top performers:  programme=? COLLATE NOCASE [AND level=?] ORDER BY gpa DESC
+        //  level filters:   level=? [ORDER BY gpa]
+        //  at risk:         gpa < ? ORDER BY gpa
+        //  students table:  status filter, newest first / name sort
+        MIGRATIONS.add(new Migration(1, "student query indexes",
+                "CREATE INDEX IF NOT EXISTS idx_students_programme_nocase_level_gpa ON students(programme COLLATE NOCASE, level, gpa)",
+                "CREATE INDEX IF NOT EXISTS idx_students_level_gpa ON students(level, gpa)",
+                "CREATE INDEX IF NOT EXISTS idx_students_status_date_added ON students(status, date_added)",
+                "CREATE INDEX IF NOT EXISTS idx_students_gpa ON students(gpa)",
+                "CREATE INDEX IF NOT EXISTS idx_students_full_name ON students(full_name COLLATE NOCASE)"
+        ));
+
+        // Planner statistics for the new indexes
+        MIGRATIONS.add(new Migration(2, "planner statistics",
+                "ANALYZE"
+        ));
+
+        // Full-text search over student_id + full_name (external content = students rowid).
+        // Triggers keep it in sync; after a VACUUM, DatabaseInitializer rebuilds it on the next start.
+        MIGRATIONS.add(new Migration(3, "student full-text search",
+                """
+                CREATE VIRTUAL TABLE IF NOT EXISTS students_fts USING fts5(
+                    student_id, full_name,
+                    content='students', content_rowid='rowid',
+                    tokenize='unicode61', prefix='2 3'
+                )
+                """,
+                """
+                CREATE TRIGGER IF NOT EXISTS students_fts_ai AFTER INSERT ON students BEGIN
+                    INSERT INTO students_fts(rowid, student_id, full_name)
+                    VALUES (new.rowid, new.student_id, new.full_name);
+                END
+                """,
+                """
+                CREATE TRIGGER IF NOT EXISTS students_fts_ad AFTER DELETE ON students BEGIN
+                    INSERT INTO students_fts(students_fts, rowid, student_id, full_name)
+                    VALUES ('delete', old.rowid, old.student_id, old.full_name);
+                END
+                """,
+                """
+                CREATE TRIGGER IF NOT EXISTS students_fts_au AFTER UPDATE OF student_id, full_name ON students BEGIN
+                    INSERT INTO students_fts(students_fts, rowid, student_id, full_name)
+                    VALUES ('delete', old.rowid, old.student_id, old.full_name);
+                    INSERT INTO students_fts(rowid, student_id, full_name)
+                    VALUES (new.rowid, new.student_id, new.full_name);
+                END
+                """,
+                "INSERT INTO students_fts(students_fts) VALUES('rebuild')"
+        ));
+
+        // Students table pages: newest first is the default sort (date_added, rowid tie-breaker)
+        MIGRATIONS.add(new Migration(4, "students table paging index",
+                "CREATE INDEX IF NOT EXISTS idx_students_date_added ON students(date_added)"
+        ));
+
+        // Dashboard / programme totals kept by triggers, so reading them is one row (or one row per
+        // programme) instead of a scan. GPA sums are integers (GPA x 10000) so adding and subtracting
+        // never drifts from the table. That is exact because StudentValidator (form and import)
+        // accepts at most 4 decimal places; a row written before that rule with more is rounded here.
+        MIGRATIONS.add(new Migration(5, "materialized student stats",
+                """
+                CREATE TABLE IF NOT EXISTS student_stats(
+                    id INTEGER PRIMARY KEY CHECK(id = 1),
+                    total INTEGER NOT NULL,
+                    active INTEGER NOT NULL,
+                    inactive INTEGER NOT NULL,
+                    gpa_sum_e4 INTEGER NOT NULL
+                )
+                """,
+                """
+                CREATE TABLE IF NOT EXISTS programme_stats(
+                    programme TEXT PRIMARY KEY,
+                    total INTEGER NOT NULL,
+                    gpa_sum_e4 INTEGER NOT NULL
+                )
+                """,
+                """
+                INSERT OR REPLACE INTO student_stats(id, total, active, inactive, gpa_sum_e4)
+                SELECT 1, COUNT(*),
+                       COALESCE(SUM(status = 'Active'), 0),
+                       COALESCE(SUM(status = 'Inactive'), 0),
+                       COALESCE(SUM(CAST(ROUND(COALESCE(gpa, 0.0) * 10000) AS INTEGER)), 0)
+                FROM students
+                """,
+                "DELETE FROM programme_stats",
+                """
+                INSERT INTO programme_stats(programme, total, gpa_sum_e4)
+                SELECT programme, COUNT(*), SUM(CAST(ROUND(COALESCE(gpa, 0.0) * 10000) AS INTEGER))
+                FROM students
+                GROUP BY programme
+                """,
+                """
+                CREATE TRIGGER IF NOT EXISTS students_stats_ai AFTER INSERT ON students BEGIN
+                    UPDATE student_stats SET
+                        total = total + 1,
+                        active = active + (new.status = 'Active'),
+                        inactive = inactive + (new.status = 'Inactive'),
+                        gpa_sum_e4 = gpa_sum_e4 + CAST(ROUND(COALESCE(new.gpa, 0.0) * 10000) AS INTEGER)
+                    WHERE id = 1;
+                    INSERT INTO programme_stats(programme, total, gpa_sum_e4)
+                    VALUES (new.programme, 1, CAST(ROUND(COALESCE(new.gpa, 0.0) * 10000) AS INTEGER))
+                    ON CONFLICT(programme) DO UPDATE SET
+                        total = total + 1,
+                        gpa_sum_e4 = gpa_sum_e4 + excluded.gpa_sum_e4;
+                END
+                """,
+                """
+                CREATE TRIGGER IF NOT EXISTS students_stats_ad AFTER DELETE ON students BEGIN
+                    UPDATE student_stats SET
+                        total = total - 1,
+                        active = active - (old.status = 'Active'),
+                        inactive = inactive - (old.status = 'Inactive'),
+                        gpa_sum_e4 = gpa_sum_e4 - CAST(ROUND(COALESCE(old.gpa, 0.0) * 10000) AS INTEGER)
+                    WHERE id = 1;
+                    UPDATE programme_stats SET
+                        total = total - 1,
+                        gpa_sum_e4 = gpa_sum_e4 - CAST(ROUND(COALESCE(old.gpa, 0.0) * 10000) AS INTEGER)
+                    WHERE programme = old.programme;
+                    DELETE FROM programme_stats WHERE programme = old.programme AND total = 0;
+                END
+                """,
+                """
+                CREATE TRIGGER IF NOT EXISTS students_stats_au AFTER UPDATE OF programme, gpa, status ON students BEGIN
+                    UPDATE student_stats SET
+                        active = active - (old.status = 'Active') + (new.status = 'Active'),
+                        inactive = inactive - (old.status = 'Inactive') + (new.status = 'Inactive'),
+                        gpa_sum_e4 = gpa_sum_e4 - CAST(ROUND(COALESCE(old.gpa, 0.0) * 10000) AS INTEGER) + CAST(ROUND(COALESCE(new.gpa, 0.0) * 10000) AS INTEGER)
+                    WHERE id = 1;
+                    UPDATE programme_stats SET
+                        total = total - 1,
+                        gpa_sum_e4 = gpa_sum_e4 - CAST(ROUND(COALESCE(old.gpa, 0.0) * 10000) AS INTEGER)
+                    WHERE programme = old.programme;
+                    DELETE FROM programme_stats WHERE programme = old.programme AND total = 0;
+                    INSERT INTO programme_stats(programme, total, gpa_sum_e4)
+                    VALUES (new.programme, 1, CAST(ROUND(COALESCE(new.gpa, 0.0) * 10000) AS INTEGER))
+                    ON CONFLICT(programme) DO UPDATE SET
+                        total = total + 1,
+                        gpa_sum_e4 = gpa_sum_e4 + excluded.gpa_sum_e4;
+                END
+                """
+        ));
+
+        // Per-row content hash (StudentHash) so a merge import can skip rows that did not change.
+        // Older rows stay NULL until they are next written.
+        MIGRATIONS.add(new Migration(6, "student content hash",
+                "ALTER TABLE students ADD COLUMN content_hash INTEGER"
+        ));
+
+        // Progress of unfinished imports (one row per file), written in the same transaction
+        // as each committed batch so a resumed import starts exactly where the data stops
+        MIGRATIONS.add(new Migration(7, "import checkpoints",
+                """
+                CREATE TABLE IF NOT EXISTS import_checkpoints(
+                    file_size INTEGER NOT NULL,
+                    file_modified INTEGER NOT NULL,
+                    head_hash TEXT NOT NULL,
+                    file_path TEXT NOT NULL,
+                    mode TEXT NOT NULL,
+                    byte_offset INTEGER NOT NULL,
+                    row_number INTEGER NOT NULL,
+                    inserted INTEGER NOT NULL,
+                    updated INTEGER NOT NULL,
+                    unchanged INTEGER NOT NULL,
+                    rejected INTEGER NOT NULL,
+                    duplicates INTEGER NOT NULL,
+                    error_report TEXT,
+                    error_report_bytes INTEGER NOT NULL,
+                    updated_at TEXT NOT NULL,
+                    PRIMARY KEY(file_size, file_modified, head_hash)
+                )
+                """
+        ));
+
+        // Per-problem rejected row counts (ImportResult.getErrorCounts), so a resumed import
+        // reports the whole file. One CSV line: problem,count,problem,count,...
+        MIGRATIONS.add(new Migration(8, "import checkpoint error counts",
+                "ALTER TABLE import_checkpoints ADD COLUMN error_counts TEXT"
+        ));
+
+        // Exact programme filters now seek the NOCASE index and re-check the exact value,
+        // so the BINARY copy of it (programme, level, gpa) is no longer used by any query
+        MIGRATIONS.add(new Migration(9, "drop duplicate programme index",
+                "DROP INDEX IF EXISTS idx_students_programme_level_gpa"
+        ));
+    }
+
+    private SchemaMigrator() {}
+
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    public static void migrate(Connection conn) throws Exception {
+
+        int current = currentVersion(conn);
+
+        for (Migration m : MIGRATIONS) {
+            if (m.version <= current) continue;
+
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement st = conn.createStatement()) {
+                for (String sql : m.statements) {
+                    st.execute(sql);
+                }
+                st.execute("PRAGMA user_version = " + m.version);
+                conn.commit();
+            } catch (Exception e) {
+                conn.rollback();
+                throw new RuntimeException("Schema migration " + m.version + " (" + m.description + ") failed.");
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+
+            AppLogger.log("Schema migrated to version " + m.version + ": " + m.description);
+        }
+    }
+
+    public static int currentVersion(Connection conn) throws Exception {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
\ No newline at end of file
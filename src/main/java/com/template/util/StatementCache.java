@@ -0,0 +1,194 @@
+package com.template.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Prepared statements kept open on one physical connection, keyed by SQL text (LRU bound).
+// prepareStatement() on a pooled connection takes a compiled statement from here instead of
+// parsing the SQL again; close() resets it and puts it back.
+//
+// A statement is removed from the map while it is borrowed, so the same SQL prepared twice
+// in one borrow simply gets a second (uncached) statement. Only one thread uses a connection
+// at a time, but the stats are shared by the whole pool, hence the synchronized methods.
+public class StatementCache {
+
+    private final Connection physical;
+    private final int maxSize;
+    private final Counters counters;
+
+    private final LinkedHashMap<String, PreparedStatement> idle = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Pool-wide totals (every connection's cache adds to the same counters)
+    public static class Counters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder cached = new LongAdder();
+
+        public long getHits() { return hits.sum(); }
+        public long getMisses() { return misses.sum(); }
+        public long getEvictions() { return evictions.sum(); }
+        public long getCached() { return cached.sum(); }
+    }
+
+    public StatementCache(Connection physical, int maxSize, Counters counters) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.counters = counters;
+    }
+
+    // Only plain forward-only / read-only statements are cached (the defaults)
+    public static boolean isCacheable(Method method, Object[] args) {
+        if (!method.getName().equals("prepareStatement") || args == null || !(args[0] instanceof String)) return false;
+        if (args.length == 1) return true;
+        return args.length == 3
+                && Integer.valueOf(ResultSet.TYPE_FORWARD_ONLY).equals(args[1])
+                && Integer.valueOf(ResultSet.CONCUR_READ_ONLY).equals(args[2]);
+    }
+
+    // `owner` = the pooled connection handed to the caller (returned by getConnection())
+    public PreparedStatement prepare(String sql, Connection owner) throws SQLException {
+        PreparedStatement ps;
+        synchronized (this) {
+            ps = idle.remove(sql);
+        }
+
+        if (ps != null) {
+            counters.hits.increment();
+            counters.cached.decrement();
+        } else {
+            counters.misses.increment();
+            ps = physical.prepareStatement(sql);
+        }
+        return wrap(sql, ps, owner);
+    }
+
+    // Closes every idle statement (before the physical connection is closed)
+    public synchronized void clear() {
+        for (PreparedStatement ps : idle.values()) {
+            closeQuietly(ps);
+            counters.cached.decrement();
+        }
+        idle.clear();
+    }
+
+    private void giveBack(String sql, PreparedStatement ps, boolean reusable) {
+        if (!reusable) {
+            closeQuietly(ps);
+            return;
+        }
+
+        List<PreparedStatement> evicted = new ArrayList<>(1);
+        synchronized (this) {
+            if (idle.containsKey(sql)) {
+                // a second copy of a statement already cached (same SQL used twice in one borrow)
+                evicted.add(ps);
+            } else {
+                idle.put(sql, ps);
+                counters.cached.increment();
+
+                Iterator<PreparedStatement> oldest = idle.values().iterator();
+                while (idle.size() > maxSize && oldest.hasNext()) {
+                    evicted.add(oldest.next());
+                    oldest.remove();
+                    counters.cached.decrement();
+                    counters.evictions.increment();
+                }
+            }
+        }
+
+        for (PreparedStatement e : evicted) {
+            closeQuietly(e);
+        }
+    }
+
+    private PreparedStatement wrap(String sql, PreparedStatement ps, Connection owner) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                StatementCache.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new CachedHandler(sql, ps, owner));
+    }
+
+    // The caller's view of a cached statement: close() resets and returns it instead of closing
+    private class CachedHandler implements java.lang.reflect.InvocationHandler {
+
+        private final String sql;
+        private final PreparedStatement ps;
+        private final Connection owner;
+        private final List<ResultSet> results = new ArrayList<>(1);
+        private boolean closed = false;
+        private boolean reusable = true;
+
+        CachedHandler(String sql, PreparedStatement ps, Connection owner) {
+            this.sql = sql;
+            this.ps = ps;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.equals("close")) {
+                if (!closed) {
+                    closed = true;
+                    giveBack(sql, ps, reset());
+                }
+                return null;
+            }
+            if (name.equals("isClosed")) return closed;
+            if (name.equals("getConnection")) return owner;
+            if (name.equals("equals")) return proxy == args[0];
+            if (name.equals("hashCode")) return System.identityHashCode(proxy);
+            if (name.equals("toString")) return "Cached[" + ps + "]";
+
+            if (closed) throw new SQLException("Statement already closed.");
+
+            // settings that would leak into the next borrower: don't put this one back
+            if (name.equals("setMaxRows") || name.equals("setQueryTimeout") || name.equals("setEscapeProcessing")
+                    || name.equals("setPoolable") || name.equals("closeOnCompletion")) {
+                reusable = false;
+            }
+
+            try {
+                Object result = method.invoke(ps, args);
+                if (result instanceof ResultSet) results.add((ResultSet) result);
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        // Closes open result sets (an unreset statement keeps its read snapshot) and clears bindings
+        private boolean reset() {
+            if (!reusable) return false;
+            try {
+                if (ps.isClosed()) return false;
+                for (ResultSet rs : results) {
+                    rs.close();
+                }
+                ps.clearBatch();
+                ps.clearParameters();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException ignored) {}
+    }
+}
\ No newline at end of file
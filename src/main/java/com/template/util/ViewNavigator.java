@@ -11,7 +11,12 @@ import java.io.IOException;
 
 public class ViewNavigator {
 
+    // Screen switches, timed per screen (Metrics "view.<fxml>")
     public static void switchTo(ActionEvent event, String fxmlPath, String title) {
+        Metrics.timer("view." + fxmlPath).time(() -> load(event, fxmlPath, title));
+    }
+
+    private static void load(ActionEvent event, String fxmlPath, String title) {
         try {
             Parent root = FXMLLoader.load(ViewNavigator.class.getResource(fxmlPath));
 
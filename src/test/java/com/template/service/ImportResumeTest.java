@@ -0,0 +1,191 @@
+package com.template.service;
+
+import com.template.Domain.ImportCheckpoint;
+import com.template.repository.Repositories;
+import com.template.util.DatabaseInitializer;
+import com.template.util.DatabaseUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// An import stopped after some committed batches and then resumed ends with the same table,
+// counts and error report as one that ran straight through
+class ImportResumeTest {
+
+    // batches of 10 rows; the checkpoint after row 70 fails, so the last one kept is at row 60
+    private static final Map<String, String> PROPERTIES = Map.of(
+            "sms.import.batchSize", "10",
+            "sms.import.chunkSize", "7",
+            "sms.import.workers", "3");
+    private static final int CRASH_AFTER_ROW = 60;
+
+    private static final Map<String, String> saved = new HashMap<>();
+
+    @TempDir
+    static Path dir;
+
+    @BeforeAll
+    static void configure() {
+        Map<String, String> all = new HashMap<>(PROPERTIES);
+        all.put("sms.log.path", dir.resolve("app.log").toString());
+        all.put("user.dir", dir.toString());   // error reports go to <user.dir>/data
+        for (Map.Entry<String, String> p : all.entrySet()) {
+            saved.put(p.getKey(), System.getProperty(p.getKey()));
+            System.setProperty(p.getKey(), p.getValue());
+        }
+    }
+
+    @AfterAll
+    static void restore() {
+        DatabaseUtil.shutdown();
+        Repositories.reset();
+        for (Map.Entry<String, String> p : saved.entrySet()) {
+            if (p.getValue() == null) System.clearProperty(p.getKey());
+            else System.setProperty(p.getKey(), p.getValue());
+        }
+        System.clearProperty("sms.db.path");
+    }
+
+    // =========================
+    // TESTS
+    // =========================
+
+    @Test
+    void resumedMergeMatchesUninterrupted() throws Exception {
+        compareRuns(ImportOptions.merge());
+    }
+
+    @Test
+    void resumedInsertMatchesUninterrupted() throws Exception {
+        compareRuns(ImportOptions.insert());
+    }
+
+    private void compareRuns(ImportOptions options) throws Exception {
+        Path csv = importFile();
+        String mode = options.getMode().name();
+
+        // straight through
+        ImportExportService straight = useNewDatabase("straight-" + mode);
+        ImportResult expected = straight.importStudentsFromCsv(csv, options);
+        List<String> expectedTable = table();
+
+        // stopped, then resumed from the checkpoint it left
+        ImportExportService service = useNewDatabase("resumed-" + mode);
+        execute("CREATE TRIGGER crash_insert BEFORE INSERT ON import_checkpoints WHEN new.row_number > "
+                + CRASH_AFTER_ROW + " BEGIN SELECT RAISE(ABORT, 'crash'); END");
+        execute("CREATE TRIGGER crash_update BEFORE UPDATE ON import_checkpoints WHEN new.row_number > "
+                + CRASH_AFTER_ROW + " BEGIN SELECT RAISE(ABORT, 'crash'); END");
+        assertThrows(RuntimeException.class, () -> service.importStudentsFromCsv(csv, options));
+        execute("DROP TRIGGER crash_insert");
+        execute("DROP TRIGGER crash_update");
+
+        ImportCheckpoint checkpoint = service.findCheckpoint(csv);
+        assertNotNull(checkpoint);
+        assertEquals(CRASH_AFTER_ROW, checkpoint.getRowNumber());
+
+        ImportResult actual = service.importStudentsFromCsv(csv, ImportOptions.resume(checkpoint));
+
+        assertEquals(expectedTable, table());
+        assertEquals(expected.getTotalRows(), actual.getTotalRows());
+        assertEquals(expected.getInsertedCount(), actual.getInsertedCount());
+        assertEquals(expected.getUpdatedCount(), actual.getUpdatedCount());
+        assertEquals(expected.getUnchangedCount(), actual.getUnchangedCount());
+        assertEquals(expected.getRejectedCount(), actual.getRejectedCount());
+        assertEquals(expected.getDuplicateCount(), actual.getDuplicateCount());
+        assertEquals(expected.getErrorCounts(), actual.getErrorCounts());
+        assertArrayEquals(Files.readAllBytes(expected.getErrorReportPath()),
+                Files.readAllBytes(actual.getErrorReportPath()));
+        assertNull(service.findCheckpoint(csv));
+    }
+
+    // =========================
+    // DATA
+    // =========================
+
+    // 20 students already stored (S0001..S0020)
+    private static void seed(ImportExportService service) throws Exception {
+        StringBuilder sb = new StringBuilder("student_id,full_name,programme,level,gpa,email,phone,date_added,status\n");
+        for (int i = 1; i <= 20; i++) {
+            sb.append(row(String.format("S%04d", i), 200, "2.50"));
+        }
+        Path seed = Files.writeString(dir.resolve("seed.csv"), sb.toString());
+        ImportResult r = service.importStudentsFromCsv(seed, ImportOptions.insert());
+        assertEquals(20, r.getInsertedCount());
+    }
+
+    // 120 rows: new students, changed and unchanged stored ones, invalid rows, and IDs that
+    // repeat on both sides of the crash point
+    private static Path importFile() throws Exception {
+        Path csv = dir.resolve("import.csv");
+        if (Files.exists(csv)) return csv;
+
+        StringBuilder sb = new StringBuilder("student_id,full_name,programme,level,gpa,email,phone,date_added,status\n");
+        for (int n = 1; n <= 120; n++) {
+            if (n == 5 || n == 95) sb.append(row("DUP0001", 300, n == 5 ? "3.00" : "3.90"));
+            else if (n == 15 || n == 85) sb.append(row("S0003", 300, n == 15 ? "3.10" : "3.20"));
+            else if (n == 50 || n == 100) sb.append(row(String.format("BAD%04d", n), 150, "3.00"));
+            else if (n <= 10) sb.append(row(String.format("S%04d", n + 10), 200, "2.50"));   // unchanged
+            else if (n % 9 == 0) sb.append(row(String.format("S%04d", n % 10 + 1), 400, "1.75"));
+            else sb.append(row(String.format("N%04d", n), 100 * (n % 4 + 1), "3.25"));
+        }
+        return Files.writeString(csv, sb.toString());
+    }
+
+    private static String row(String id, int level, String gpa) {
+        return id + ",Ama Mensah,Computer Science," + level + "," + gpa + ",ama@ug.edu.gh,0241234567,2024-01-02,Active\n";
+    }
+
+    // =========================
+    // DATABASE
+    // =========================
+
+    private static ImportExportService useNewDatabase(String name) throws Exception {
+        DatabaseUtil.shutdown();
+        Repositories.reset();
+        System.setProperty("sms.db.path", dir.resolve(name + ".db").toString());
+        DatabaseInitializer.initialize();
+
+        ImportExportService service = new ImportExportService();
+        seed(service);
+        return service;
+    }
+
+    private static List<String> table() throws Exception {
+        List<String> rows = new ArrayList<>();
+        try (Connection conn = DatabaseUtil.connect();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT student_id, full_name, programme, level, gpa, email, phone, "
+                     + "date_added, status FROM students ORDER BY student_id")) {
+            while (rs.next()) {
+                StringBuilder sb = new StringBuilder();
+                for (int i = 1; i <= 9; i++) sb.append(rs.getString(i)).append('|');
+                rows.add(sb.toString());
+            }
+        }
+        return rows;
+    }
+
+    private static void execute(String sql) throws Exception {
+        try (Connection conn = DatabaseUtil.connectWriter();
+             Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,233 @@
+package com.template.service;
+
+import com.template.Domain.Student;
+import com.template.service.StudentValidator.ErrorCode;
+import com.template.service.StudentValidator.Parsed;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentValidatorTest {
+
+    // =========================
+    // FORM (validate)
+    // =========================
+
+    @Test
+    void validStudent() {
+        assertEquals(List.of(), StudentValidator.validate(student()));
+    }
+
+    @Test
+    void everyProblemIsReported() {
+        Student s = student();
+        s.setStudentId("ab!");
+        s.setFullName("A1");
+        s.setLevel(150);
+        s.setGpa(4.5);
+        s.setEmail("ama");
+        s.setPhone("02412345x7");
+        s.setStatus("Graduated");
+
+        assertEquals(List.of(ErrorCode.ID_LENGTH, ErrorCode.ID_CHARACTERS, ErrorCode.NAME_HAS_DIGITS,
+                        ErrorCode.LEVEL_INVALID, ErrorCode.GPA_OUT_OF_RANGE, ErrorCode.EMAIL_INVALID,
+                        ErrorCode.PHONE_INVALID, ErrorCode.STATUS_INVALID),
+                StudentValidator.validate(s));
+    }
+
+    @Test
+    void requiredFields() {
+        Student s = new Student();
+        s.setLevel(100);
+        s.setFullName("  ");
+
+        assertEquals(List.of(ErrorCode.ID_REQUIRED, ErrorCode.NAME_REQUIRED, ErrorCode.PROGRAMME_REQUIRED,
+                        ErrorCode.EMAIL_REQUIRED, ErrorCode.PHONE_REQUIRED),
+                StudentValidator.validate(s));
+    }
+
+    @Test
+    void boundaries() {
+        assertEquals(List.of(), errorsFor(s -> s.setStudentId("A123")));
+        assertEquals(List.of(), errorsFor(s -> s.setStudentId("A".repeat(20))));
+        assertEquals(List.of(ErrorCode.ID_LENGTH), errorsFor(s -> s.setStudentId("A12")));
+        assertEquals(List.of(ErrorCode.ID_LENGTH), errorsFor(s -> s.setStudentId("A".repeat(21))));
+        assertEquals(List.of(ErrorCode.ID_CHARACTERS), errorsFor(s -> s.setStudentId("ÄBCD1")));
+
+        assertEquals(List.of(), errorsFor(s -> s.setFullName("Al")));
+        assertEquals(List.of(), errorsFor(s -> s.setFullName("A".repeat(60))));
+        assertEquals(List.of(ErrorCode.NAME_LENGTH), errorsFor(s -> s.setFullName("A")));
+        assertEquals(List.of(ErrorCode.NAME_LENGTH), errorsFor(s -> s.setFullName("A".repeat(61))));
+
+        assertEquals(List.of(), errorsFor(s -> s.setGpa(0.0)));
+        assertEquals(List.of(), errorsFor(s -> s.setGpa(4.0)));
+        assertEquals(List.of(ErrorCode.GPA_OUT_OF_RANGE), errorsFor(s -> s.setGpa(-0.01)));
+        assertEquals(List.of(ErrorCode.GPA_OUT_OF_RANGE), errorsFor(s -> s.setGpa(Double.NaN)));
+
+        assertEquals(List.of(ErrorCode.PHONE_INVALID), errorsFor(s -> s.setPhone("024123456")));
+        assertEquals(List.of(ErrorCode.PHONE_INVALID), errorsFor(s -> s.setPhone("02412345678")));
+
+        assertEquals(List.of(), errorsFor(s -> s.setStatus(" inactive ")));
+        assertEquals(List.of(), errorsFor(s -> s.setStatus(null)));
+    }
+
+    // =========================
+    // MESSAGES
+    // =========================
+
+    @Test
+    void formMessage() {
+        assertEquals("Student ID must be 4–20 characters (letters and digits only).\n"
+                        + "Phone number must be exactly 10 digits (digits only).",
+                StudentValidator.formMessage(List.of(ErrorCode.ID_LENGTH, ErrorCode.ID_CHARACTERS,
+                        ErrorCode.PHONE_INVALID)));
+        assertEquals("Full name must be 2–60 characters.", StudentValidator.formMessage(List.of(ErrorCode.NAME_LENGTH)));
+        assertEquals("", StudentValidator.formMessage(List.of()));
+    }
+
+    @Test
+    void importMessage() {
+        Parsed p = parse("A1", "Ama Mensah", "CS", "100", "3.5", "ama@ug.edu.gh", "12345", "", "");
+
+        assertEquals("Student ID must be 4 to 20 characters; Phone number must be 10 digits (digits only)",
+                p.getMessage());
+        assertEquals("Full name must be 2 to 60 characters", ErrorCode.NAME_LENGTH.getMessage());
+    }
+
+    // =========================
+    // IMPORT (parse)
+    // =========================
+
+    @Test
+    void parseValidRow() {
+        Parsed p = parse("UG1234", "Ama Mensah", "Computer Science", "300", "3.45",
+                "ama@ug.edu.gh", "0241234567", "2026-02-23", "inactive");
+
+        assertTrue(p.isValid());
+        assertEquals(List.of(), p.getErrors());
+
+        Student s = p.getStudent();
+        assertEquals("UG1234", s.getStudentId());
+        assertEquals(300, s.getLevel());
+        assertEquals(3.45, s.getGpa());
+        assertEquals(LocalDate.of(2026, 2, 23), s.getDateAdded());
+        assertEquals("Inactive", s.getStatus());
+    }
+
+    @Test
+    void parseDefaults() {
+        Student s = parse("UG1234", "Ama Mensah", "CS", "100", "3", "ama@ug.edu.gh", "0241234567", "", "").getStudent();
+
+        assertEquals(LocalDate.now(), s.getDateAdded());
+        assertEquals("Active", s.getStatus());
+        assertEquals(3.0, s.getGpa());
+    }
+
+    @Test
+    void parseInvalidRow() {
+        Parsed p = parse("UG1234", "Ama Mensah", "CS", "abc", "x", "ama@ug.edu.gh", "0241234567", "2026-02-30", "");
+
+        assertFalse(p.isValid());
+        assertNull(p.getStudent());
+        assertEquals(List.of(ErrorCode.LEVEL_NOT_A_NUMBER, ErrorCode.GPA_NOT_A_NUMBER, ErrorCode.DATE_INVALID),
+                p.getErrors());
+    }
+
+    @Test
+    void levelParsesLikeParseInt() {
+        assertEquals(List.of(), levelErrors("+200"));
+        assertEquals(List.of(), levelErrors("0400"));
+        assertEquals(List.of(ErrorCode.LEVEL_INVALID), levelErrors("-100"));
+        assertEquals(List.of(ErrorCode.LEVEL_INVALID), levelErrors("150"));
+        assertEquals(List.of(ErrorCode.LEVEL_NOT_A_NUMBER), levelErrors("+"));
+        assertEquals(List.of(ErrorCode.LEVEL_NOT_A_NUMBER), levelErrors("100.0"));
+        assertEquals(List.of(ErrorCode.LEVEL_NOT_A_NUMBER), levelErrors("99999999999"));
+    }
+
+    @Test
+    void gpaParsesLikeParseDouble() {
+        String[] inputs = {"0", "4", "3.45", ".5", "3.", "2.9999", "3.1000000000000",
+                "1e0", "+3.5", "0.1", "3.3", "2.675", "0.0001", "1.5e-1"};
+        for (String in : inputs) {
+            Parsed p = parse("UG1234", "Ama Mensah", "CS", "100", in, "ama@ug.edu.gh", "0241234567", "", "");
+            assertTrue(p.isValid(), in);
+            assertEquals(Double.parseDouble(in), p.getStudent().getGpa(), 0.0, in);
+        }
+
+        assertEquals(List.of(ErrorCode.GPA_NOT_A_NUMBER), gpaErrors("NaN"));
+        assertEquals(List.of(ErrorCode.GPA_NOT_A_NUMBER), gpaErrors("."));
+        assertEquals(List.of(ErrorCode.GPA_NOT_A_NUMBER), gpaErrors("3,5"));
+        assertEquals(List.of(ErrorCode.GPA_OUT_OF_RANGE), gpaErrors("4.01"));
+        assertEquals(List.of(ErrorCode.GPA_OUT_OF_RANGE), gpaErrors("-0.5"));
+    }
+
+    @Test
+    void gpaPrecision() {
+        assertEquals(List.of(ErrorCode.GPA_TOO_PRECISE), gpaErrors("3.14159"));
+        assertEquals(List.of(ErrorCode.GPA_TOO_PRECISE), gpaErrors("2.999999999999999"));
+        assertEquals(List.of(ErrorCode.GPA_TOO_PRECISE), gpaErrors("1e-5"));
+        assertEquals(List.of(), gpaErrors("3.1416"));
+
+        assertEquals(List.of(ErrorCode.GPA_TOO_PRECISE), errorsFor(s -> s.setGpa(3.14159)));
+        assertEquals(List.of(), errorsFor(s -> s.setGpa(3.1416)));
+    }
+
+    @Test
+    void dates() {
+        assertEquals(LocalDate.of(2024, 2, 29), dateOf("2024-02-29"));
+        assertEquals(LocalDate.of(10000, 1, 1), dateOf("+10000-01-01"));
+        assertNull(dateOf("2023-02-29"));
+        assertNull(dateOf("2026-13-01"));
+        assertNull(dateOf("2026/02/23"));
+        assertNull(dateOf("23-02-2026"));
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+
+    private static Student student() {
+        Student s = new Student();
+        s.setStudentId("UG1234");
+        s.setFullName("Ama Mensah");
+        s.setProgramme("Computer Science");
+        s.setLevel(200);
+        s.setGpa(3.2);
+        s.setEmail("ama@ug.edu.gh");
+        s.setPhone("0241234567");
+        s.setDateAdded(LocalDate.of(2026, 2, 23));
+        s.setStatus("Active");
+        return s;
+    }
+
+    private static List<ErrorCode> errorsFor(Consumer<Student> change) {
+        Student s = student();
+        change.accept(s);
+        return StudentValidator.validate(s);
+    }
+
+    private static Parsed parse(String id, String name, String programme, String level, String gpa,
+                                String email, String phone, String date, String status) {
+        return StudentValidator.parse(id, name, programme, level, gpa, email, phone, date, status);
+    }
+
+    private static List<ErrorCode> levelErrors(String level) {
+        return parse("UG1234", "Ama Mensah", "CS", level, "3.0", "ama@ug.edu.gh", "0241234567", "", "").getErrors();
+    }
+
+    private static List<ErrorCode> gpaErrors(String gpa) {
+        return parse("UG1234", "Ama Mensah", "CS", "100", gpa, "ama@ug.edu.gh", "0241234567", "", "").getErrors();
+    }
+
+    private static LocalDate dateOf(String date) {
+        Parsed p = parse("UG1234", "Ama Mensah", "CS", "100", "3.0", "ama@ug.edu.gh", "0241234567", date, "");
+        return p.isValid() ? p.getStudent().getDateAdded() : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,298 @@
+package com.template.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvRecordReaderTest {
+
+    @TempDir
+    Path dir;
+
+    // =========================
+    // RECORDS AND FIELDS
+    // =========================
+
+    @Test
+    void lineBreaks() throws IOException {
+        String csv = "a,b\nc,d\r\ne,f\rg,h";
+        List<List<String>> expected = List.of(
+                List.of("a", "b"), List.of("c", "d"), List.of("e", "f"), List.of("g", "h"));
+
+        assertEquals(expected, readAll(file(csv)));
+        assertEquals(expected, readAll(CsvRecordReader.of(stream(csv))));
+    }
+
+    @Test
+    void crlfAtEndOfFile() throws IOException {
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d")), readAll(file("a,b\r\nc,d\r\n")));
+    }
+
+    @Test
+    void quotedFields() throws IOException {
+        String csv = "\"Mensah, Ama\",\"say \"\"hi\"\"\",\"\"\n"
+                + "\"line one\nline two\",\"cr\r\nlf\",x\n";
+
+        List<List<String>> records = readAll(file(csv));
+
+        assertEquals(List.of("Mensah, Ama", "say \"hi\"", ""), records.get(0));
+        assertEquals(List.of("line one\nline two", "cr\r\nlf", "x"), records.get(1));
+        assertEquals(2, records.size());
+    }
+
+    @Test
+    void bomIsSkipped() throws IOException {
+        byte[] csv = concat(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, bytes("Student ID,Name\n1,Ama\n"));
+
+        Path f = dir.resolve("bom.csv");
+        Files.write(f, csv);
+
+        assertEquals(List.of(List.of("Student ID", "Name"), List.of("1", "Ama")), readAll(CsvRecordReader.open(f)));
+        assertEquals(List.of(List.of("Student ID", "Name"), List.of("1", "Ama")),
+                readAll(CsvRecordReader.of(new ByteArrayInputStream(csv))));
+    }
+
+    @Test
+    void utf8AndMissingFields() throws IOException {
+        try (CsvRecordReader r = CsvRecordReader.open(file("Kwabena Ɔsei,é\n\n   \n"))) {
+            assertTrue(r.next());
+            assertEquals("Kwabena Ɔsei", r.field(0));
+            assertEquals("é", r.field(1));
+            assertEquals("", r.field(2));
+            assertFalse(r.isBlank());
+
+            assertTrue(r.next());
+            assertTrue(r.isBlank());
+            assertTrue(r.next());
+            assertTrue(r.isBlank());
+            assertFalse(r.next());
+        }
+    }
+
+    @Test
+    void recordIsTheRawLine() throws IOException {
+        try (CsvRecordReader r = CsvRecordReader.open(file("\"a,b\",c\r\nd\n"))) {
+            assertTrue(r.next());
+            assertEquals("\"a,b\",c", r.record());
+            assertEquals("\"a,b\",c", StandardCharsets.UTF_8.decode(r.recordBytes()).toString());
+        }
+    }
+
+    @Test
+    void recordsAcrossStreamWindows() throws IOException {
+        // longer than one 1 MB read, with a quoted line break and a \r\n near every boundary
+        StringBuilder sb = new StringBuilder();
+        int n = 0;
+        while (sb.length() < 3 * (1 << 20)) {
+            sb.append(n).append(",\"x\ny\",").append("z".repeat(n % 97)).append("\r\n");
+            n++;
+        }
+
+        int count = 0;
+        try (CsvRecordReader r = CsvRecordReader.of(stream(sb.toString()))) {
+            while (r.next()) {
+                assertEquals(String.valueOf(count), r.field(0));
+                assertEquals("x\ny", r.field(1));
+                assertEquals(count % 97, r.field(2).length());
+                count++;
+            }
+        }
+        assertEquals(n, count);
+    }
+
+    @Test
+    void bufferInput() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(bytes("a,b\nc,d\n"));
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d")), readAll(CsvRecordReader.of(bytes)));
+        assertEquals(0, bytes.position());
+    }
+
+    // =========================
+    // OFFSETS AND RESUME
+    // =========================
+
+    @Test
+    void offsetsAreFileOffsets() throws IOException {
+        String csv = "﻿h1,h2\r\n\"a\nb\",c\rd,e";
+        Path f = file(csv);
+
+        List<Long> starts = new ArrayList<>();
+        List<Long> nexts = new ArrayList<>();
+        try (CsvRecordReader r = CsvRecordReader.open(f)) {
+            while (r.next()) {
+                starts.add(r.recordOffset());
+                nexts.add(r.nextOffset());
+            }
+        }
+
+        assertEquals(List.of(3L, 10L, 18L), starts);
+        assertEquals(List.of(10L, 18L, 21L), nexts);
+    }
+
+    @Test
+    void resumeFromSavedOffset() throws IOException {
+        String csv = "﻿id,name\n1,\"Ama\nMensah\"\r\n2,Kofi\r3,Esi\n";
+        Path f = file(csv);
+
+        long after;
+        try (CsvRecordReader r = CsvRecordReader.open(f)) {
+            r.next();
+            r.next();
+            after = r.nextOffset();
+        }
+
+        try (CsvRecordReader r = CsvRecordReader.open(f, after)) {
+            assertTrue(r.next());
+            assertEquals("2", r.field(0));
+            assertEquals(after, r.recordOffset());
+            assertTrue(r.next());
+            assertEquals("Esi", r.field(1));
+            assertFalse(r.next());
+        }
+
+        try (CsvRecordReader r = CsvRecordReader.of(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), after)) {
+            assertTrue(r.next());
+            assertEquals("2", r.field(0));
+            assertEquals(after, r.recordOffset());
+        }
+    }
+
+    @Test
+    void resumeGzipCountsDecompressedBytes() throws IOException {
+        String csv = "id,name\n1,Ama\n2,Kofi\n";
+        Path gz = dir.resolve("students.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz))) {
+            out.write(bytes(csv));
+        }
+
+        long after;
+        try (CsvRecordReader r = CsvRecordReader.open(gz)) {
+            assertTrue(r.next());
+            assertTrue(r.next());
+            assertEquals("Ama", r.field(1));
+            after = r.nextOffset();
+        }
+        assertEquals(csv.indexOf("2,Kofi"), after);
+
+        try (CsvRecordReader r = CsvRecordReader.open(gz, after)) {
+            assertTrue(r.next());
+            assertEquals("Kofi", r.field(1));
+            assertFalse(r.next());
+        }
+    }
+
+    @Test
+    void resumeAtEndOfFile() throws IOException {
+        Path f = file("a,b\n");
+        try (CsvRecordReader r = CsvRecordReader.open(f, Files.size(f))) {
+            assertFalse(r.next());
+        }
+    }
+
+    // =========================
+    // SPLIT
+    // =========================
+
+    @Test
+    void splitGivesEveryRecordOnce() throws IOException {
+        StringBuilder sb = new StringBuilder("﻿id,note\r\n");
+        for (int i = 0; i < 500; i++) {
+            sb.append(i).append(',');
+            if (i % 7 == 0) sb.append("\"has\nline, break\"");
+            else if (i % 5 == 0) sb.append("\"\"\"quoted\"\"\"");
+            else sb.append("plain");
+            sb.append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Path f = file(sb.toString());
+        List<List<String>> whole = readAll(CsvRecordReader.open(f));
+        assertEquals(501, whole.size());
+
+        for (int parts = 1; parts <= 4; parts++) {
+            List<CsvRecordReader> readers = CsvRecordReader.split(f, parts);
+            assertEquals(parts, readers.size());
+
+            List<List<String>> joined = new ArrayList<>();
+            long expectedStart = 3;
+            for (CsvRecordReader r : readers) {
+                try (r) {
+                    boolean first = true;
+                    while (r.next()) {
+                        if (first) assertEquals(expectedStart, r.recordOffset(), "parts=" + parts);
+                        first = false;
+                        joined.add(fields(r));
+                        expectedStart = r.nextOffset();
+                    }
+                }
+            }
+            assertEquals(whole, joined, "parts=" + parts);
+            assertEquals(Files.size(f), expectedStart);
+        }
+    }
+
+    @Test
+    void splitSmallFileIntoMorePartsThanRecords() throws IOException {
+        Path f = file("a,b\nc,d\n");
+        List<List<String>> joined = new ArrayList<>();
+        for (CsvRecordReader r : CsvRecordReader.split(f, 4)) {
+            joined.addAll(readAll(r));
+        }
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d")), joined);
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+
+    private Path file(String content) throws IOException {
+        Path f = Files.createTempFile(dir, "records", ".csv");
+        Files.write(f, bytes(content));
+        return f;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(bytes(content));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] out = new byte[a.length + b.length];
+        System.arraycopy(a, 0, out, 0, a.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
+        return out;
+    }
+
+    private static List<List<String>> readAll(Path f) throws IOException {
+        return readAll(CsvRecordReader.open(f));
+    }
+
+    private static List<List<String>> readAll(CsvRecordReader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (reader) {
+            while (reader.next()) records.add(fields(reader));
+        }
+        return records;
+    }
+
+    private static List<String> fields(CsvRecordReader r) {
+        List<String> out = new ArrayList<>(r.fieldCount());
+        for (int i = 0; i < r.fieldCount(); i++) out.add(r.field(i));
+        return out;
+    }
+}
\ No newline at end of file
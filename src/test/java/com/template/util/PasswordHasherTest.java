@@ -0,0 +1,133 @@
+package com.template.util;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    private static final int ITERATIONS = 100_000;
+
+    // base64 SHA-256 of "password", as stored before PasswordHasher
+    private static final String LEGACY_PASSWORD = "XohImNooBHFR0OVvjcYpJ3NgPQ1qq73WKhHvch0VQtg=";
+
+    private static String savedIterations;
+
+    @BeforeAll
+    static void fixIterations() {
+        // no calibration run: the policy is fixed for the whole test
+        savedIterations = System.getProperty("sms.password.iterations");
+        System.setProperty("sms.password.iterations", String.valueOf(ITERATIONS));
+        assertEquals(ITERATIONS, PasswordHasher.iterations());
+    }
+
+    @AfterAll
+    static void restoreIterations() {
+        if (savedIterations == null) System.clearProperty("sms.password.iterations");
+        else System.setProperty("sms.password.iterations", savedIterations);
+    }
+
+    // =========================
+    // HASH / VERIFY
+    // =========================
+
+    @Test
+    void hashFormat() {
+        String[] parts = PasswordHasher.hash("secret123").split("\\$");
+
+        assertEquals(4, parts.length);
+        assertEquals("pbkdf2-sha256", parts[0]);
+        assertEquals(String.valueOf(ITERATIONS), parts[1]);
+        assertEquals(16, Base64.getDecoder().decode(parts[2]).length);
+        assertEquals(32, Base64.getDecoder().decode(parts[3]).length);
+    }
+
+    @Test
+    void verifiesOnlyTheRightPassword() {
+        String stored = PasswordHasher.hash("secret123");
+
+        assertTrue(PasswordHasher.verify("secret123", stored));
+        assertFalse(PasswordHasher.verify("secret124", stored));
+        assertFalse(PasswordHasher.verify("", stored));
+        assertFalse(PasswordHasher.verify(null, stored));
+        assertFalse(PasswordHasher.verify("secret123", null));
+    }
+
+    @Test
+    void saltDiffersPerHash() {
+        String a = PasswordHasher.hash("secret123");
+        String b = PasswordHasher.hash("secret123");
+
+        assertNotEquals(a, b);
+        assertTrue(PasswordHasher.verify("secret123", a));
+        assertTrue(PasswordHasher.verify("secret123", b));
+    }
+
+    @Test
+    void verifiesHashWithOtherIterationCount() throws Exception {
+        // a hash stored under an older policy still verifies with its own count
+        byte[] salt = new byte[16];
+        for (int i = 0; i < salt.length; i++) salt[i] = (byte) i;
+        byte[] hash = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+                .generateSecret(new PBEKeySpec("secret123".toCharArray(), salt, 1_000, 256))
+                .getEncoded();
+
+        Base64.Encoder b64 = Base64.getEncoder();
+        String stored = "pbkdf2-sha256$1000$" + b64.encodeToString(salt) + "$" + b64.encodeToString(hash);
+
+        assertTrue(PasswordHasher.verify("secret123", stored));
+        assertFalse(PasswordHasher.verify("secret12", stored));
+        assertTrue(PasswordHasher.needsRehash(stored));
+    }
+
+    @Test
+    void legacyHashes() {
+        assertEquals(LEGACY_PASSWORD, PasswordUtil.hash("password"));
+
+        assertTrue(PasswordHasher.verify("password", LEGACY_PASSWORD));
+        assertFalse(PasswordHasher.verify("Password", LEGACY_PASSWORD));
+        assertTrue(PasswordHasher.needsRehash(LEGACY_PASSWORD));
+    }
+
+    @Test
+    void corruptHashesNeverVerify() {
+        String good = PasswordHasher.hash("secret123");
+        String[] parts = good.split("\\$");
+
+        assertFalse(PasswordHasher.verify("secret123", "pbkdf2-sha256$abc$" + parts[2] + "$" + parts[3]));
+        assertFalse(PasswordHasher.verify("secret123", "pbkdf2-sha256$" + parts[1] + "$%%%$" + parts[3]));
+        assertFalse(PasswordHasher.verify("secret123", "md5$" + parts[1] + "$" + parts[2] + "$" + parts[3]));
+        assertFalse(PasswordHasher.verify("secret123", parts[0] + "$" + parts[1] + "$" + parts[2]));
+        assertFalse(PasswordHasher.verify("secret123", ""));
+    }
+
+    // =========================
+    // REHASH POLICY
+    // =========================
+
+    @Test
+    void needsRehash() {
+        assertFalse(PasswordHasher.needsRehash(PasswordHasher.hash("secret123")));
+
+        String salt = Base64.getEncoder().encodeToString(new byte[16]);
+        String hash = Base64.getEncoder().encodeToString(new byte[32]);
+
+        // within 80% of the policy: kept
+        assertFalse(PasswordHasher.needsRehash("pbkdf2-sha256$" + (ITERATIONS * 8 / 10) + "$" + salt + "$" + hash));
+        assertTrue(PasswordHasher.needsRehash("pbkdf2-sha256$" + (ITERATIONS * 8 / 10 - 1) + "$" + salt + "$" + hash));
+        assertFalse(PasswordHasher.needsRehash("pbkdf2-sha256$" + (ITERATIONS * 2) + "$" + salt + "$" + hash));
+
+        assertTrue(PasswordHasher.needsRehash(null));
+        assertTrue(PasswordHasher.needsRehash("pbkdf2-sha256$lots$" + salt + "$" + hash));
+        assertTrue(PasswordHasher.needsRehash("bcrypt$" + ITERATIONS + "$" + salt + "$" + hash));
+    }
+}
\ No newline at end of file